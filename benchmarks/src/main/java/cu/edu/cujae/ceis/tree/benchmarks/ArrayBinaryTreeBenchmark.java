@@ -0,0 +1,101 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cu.edu.cujae.ceis.tree.binary.ArrayBinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+
+/**
+ * Full traversals of the same tree stored as node objects (NODES) and in parallel arrays
+ * (ARRAYS).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArrayBinaryTreeBenchmark {
+
+	/**
+	 * Tree implementation under test.
+	 */
+	public enum Implementation {NODES, ARRAYS}
+
+	@Param({"1000", "100000", "10000000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	@Param({"NODES", "ARRAYS"})
+	private Implementation implementation;
+
+	private BinaryTree<Integer> nodeTree;
+	private ArrayBinaryTree<Integer> arrayTree;
+
+	@Setup
+	public void setUp() {
+		nodeTree = new BinaryTree<Integer>(TreeShapes.binary(size, shape, NodeType.PLAIN)[0]);
+
+		if (implementation == Implementation.ARRAYS) {
+			arrayTree = ArrayBinaryTree.of(nodeTree);
+			nodeTree = null;
+		}
+	}
+
+	@Benchmark
+	public int preOrder(Blackhole blackhole) {
+		return (implementation == Implementation.NODES) ? drain(nodeTree.preOrderIterator(), blackhole)
+				: drain(arrayTree.preOrderNodes(), blackhole);
+	}
+
+	@Benchmark
+	public int symmetric(Blackhole blackhole) {
+		return (implementation == Implementation.NODES) ? drain(nodeTree.symmetricIterator(), blackhole)
+				: drain(arrayTree.symmetricNodes(), blackhole);
+	}
+
+	@Benchmark
+	public int posOrder(Blackhole blackhole) {
+		return (implementation == Implementation.NODES) ? drain(nodeTree.posOrderIterator(), blackhole)
+				: drain(arrayTree.posOrderNodes(), blackhole);
+	}
+
+	private static int drain(Iterator<Integer> iterator, Blackhole blackhole) {
+		int count = 0;
+
+		while (iterator.hasNext()) {
+			blackhole.consume(iterator.next());
+			count++;
+		}
+
+		return count;
+	}
+
+	private int drain(PrimitiveIterator.OfInt nodes, Blackhole blackhole) {
+		int count = 0;
+
+		while (nodes.hasNext()) {
+			blackhole.consume(arrayTree.getInfo(nodes.nextInt()));
+			count++;
+		}
+
+		return count;
+	}
+}
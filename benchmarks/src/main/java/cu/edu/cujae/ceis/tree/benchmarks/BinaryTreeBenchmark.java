@@ -0,0 +1,75 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * insertNode, getFather and deleteNode on a binary tree. Every insertion adds a left son
+ * to a random leaf and is undone by deleting the new node, so the tree keeps its shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BinaryTreeBenchmark {
+
+	@Param({"1000", "100000", "10000000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	@Param({"PLAIN", "WITH_FATHER"})
+	private NodeType nodeType;
+
+	private BinaryTree<Integer> tree;
+	private BinaryTreeNode<Integer>[] nodes;
+	private List<BinaryTreeNode<Integer>> leaves;
+	private Random random;
+
+	@Setup
+	public void setUp() {
+		random = new Random(42);
+		nodes = TreeShapes.binary(size, shape, nodeType);
+		tree = new BinaryTree<Integer>(nodes[0]);
+		leaves = new ArrayList<BinaryTreeNode<Integer>>();
+
+		for (BinaryTreeNode<Integer> node : nodes) {
+			if (node.getLeft() == null && node.getRight() == null)
+				leaves.add(node);
+		}
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> getFather() {
+		return tree.getFather(nodes[random.nextInt(size)]);
+	}
+
+	@Benchmark
+	public Integer insertAndDelete() {
+		BinaryTreeNode<Integer> node = nodeType.create(-1);
+
+		tree.insertNode(node, 'L', leaves.get(random.nextInt(leaves.size())));
+
+		return tree.deleteNode(node);
+	}
+}
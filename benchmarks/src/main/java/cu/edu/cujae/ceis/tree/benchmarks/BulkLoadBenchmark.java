@@ -0,0 +1,91 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.lexicographical.DoesNotImplementsComparable;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Builds an AVL lexicographic tree from n sorted or shuffled elements, inserting them one
+ * by one or in a single bulk operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BulkLoadBenchmark {
+
+	@Param({"100000", "1000000"})
+	private int size;
+
+	private List<Integer> sorted;
+	private List<Integer> shuffled;
+
+	@Setup
+	public void setUp() {
+		sorted = new ArrayList<Integer>(size);
+
+		for (int i = 0; i < size; i++)
+			sorted.add(i);
+
+		shuffled = new ArrayList<Integer>(sorted);
+		Collections.shuffle(shuffled, new Random(42));
+	}
+
+	@Benchmark
+	public LexicographicTree<Integer> insertValueSorted() throws DoesNotImplementsComparable {
+		return insertEach(sorted);
+	}
+
+	@Benchmark
+	public LexicographicTree<Integer> loadSorted() throws DoesNotImplementsComparable {
+		LexicographicTree<Integer> tree = LexicographicTree.ofComparable(Order.ASC, Balance.AVL);
+
+		tree.loadSorted(sorted);
+
+		return tree;
+	}
+
+	@Benchmark
+	public LexicographicTree<Integer> insertValueShuffled() throws DoesNotImplementsComparable {
+		return insertEach(shuffled);
+	}
+
+	@Benchmark
+	public LexicographicTree<Integer> insertAllShuffled() throws DoesNotImplementsComparable {
+		LexicographicTree<Integer> tree = LexicographicTree.ofComparable(Order.ASC, Balance.AVL);
+
+		tree.insertAll(shuffled);
+
+		return tree;
+	}
+
+	private static LexicographicTree<Integer> insertEach(List<Integer> values) throws DoesNotImplementsComparable {
+		LexicographicTree<Integer> tree = LexicographicTree.ofComparable(Order.ASC, Balance.AVL);
+
+		for (Integer value : values)
+			tree.insertValue(value);
+
+		return tree;
+	}
+}
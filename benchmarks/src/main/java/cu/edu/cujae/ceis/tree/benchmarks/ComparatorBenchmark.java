@@ -0,0 +1,124 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cu.edu.cujae.ceis.tree.lexicographical.DoesNotImplementsComparable;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Compares the lexicographic tree built through the Comparable check with the one built
+ * with a comparator, and the old reflective Comparable check with the instanceof check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ComparatorBenchmark {
+
+	@Param({"1000", "100000"})
+	private int size;
+
+	@Param({"NONE", "AVL"})
+	private Balance balance;
+
+	private Integer[] keys;
+	private LexicographicTree<Integer> comparableTree;
+	private LexicographicTree<Integer> comparatorTree;
+
+	@Setup
+	public void setUp() throws DoesNotImplementsComparable {
+		keys = new Integer[size];
+
+		for (int i = 0; i < size; i++)
+			keys[i] = i;
+
+		Random random = new Random(42);
+
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Integer aux = keys[i];
+			keys[i] = keys[j];
+			keys[j] = aux;
+		}
+
+		comparableTree = insertAll(new LexicographicTree<Integer>(Order.ASC, balance));
+		comparatorTree = insertAll(LexicographicTree.<Integer>ofComparable(Order.ASC, balance));
+	}
+
+	@Benchmark
+	public LexicographicTree<Integer> insertWithComparableCheck() throws DoesNotImplementsComparable {
+		return insertAll(new LexicographicTree<Integer>(Order.ASC, balance));
+	}
+
+	@Benchmark
+	public LexicographicTree<Integer> insertWithComparator() throws DoesNotImplementsComparable {
+		return insertAll(LexicographicTree.<Integer>ofComparable(Order.ASC, balance));
+	}
+
+	@Benchmark
+	public void lookupWithComparableCheck(Blackhole blackhole) throws DoesNotImplementsComparable {
+		for (Integer key : keys)
+			blackhole.consume(comparableTree.rank(key));
+	}
+
+	@Benchmark
+	public void lookupWithComparator(Blackhole blackhole) throws DoesNotImplementsComparable {
+		for (Integer key : keys)
+			blackhole.consume(comparatorTree.rank(key));
+	}
+
+	@Benchmark
+	public void reflectiveComparableCheck(Blackhole blackhole) {
+		for (Integer key : keys)
+			blackhole.consume(reflectiveCheck(key));
+	}
+
+	@Benchmark
+	public void instanceofComparableCheck(Blackhole blackhole) {
+		for (Integer key : keys)
+			blackhole.consume(key instanceof Comparable);
+	}
+
+	private LexicographicTree<Integer> insertAll(LexicographicTree<Integer> tree) throws DoesNotImplementsComparable {
+		for (Integer key : keys)
+			tree.insertValue(key);
+
+		return tree;
+	}
+
+	/**
+	 * Check used by the tree before the comparator support, kept as the baseline.
+	 */
+	private static boolean reflectiveCheck(Object object) {
+		boolean doesImplements = false;
+		Class<?>[] classes = object.getClass().getInterfaces();
+		int pos = 0;
+
+		while (pos < classes.length && !doesImplements) {
+			if (classes[pos].getCanonicalName().equals("java.lang.Comparable"))
+				doesImplements = true;
+
+			pos++;
+		}
+
+		return doesImplements;
+	}
+}
@@ -0,0 +1,111 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.lexicographical.ConcurrentLexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.DoesNotImplementsComparable;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Mixed lookups, insertions and deletions on a tree shared by all the benchmark threads.
+ * LOCKED is an AVL lexicographic tree behind a single lock, CONCURRENT the concurrent tree.
+ * Run it with {@link ThreadScalingRunner} to measure from 1 to 64 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentLexicographicTreeBenchmark {
+
+	/**
+	 * Tree implementation under test.
+	 */
+	public enum Implementation {LOCKED, CONCURRENT}
+
+	@Param({"1000000"})
+	private int size;
+
+	@Param({"90", "50"})
+	private int readPercent;
+
+	@Param({"LOCKED", "CONCURRENT"})
+	private Implementation implementation;
+
+	private LexicographicTree<Integer> lockedTree;
+	private ConcurrentLexicographicTree<Integer> concurrentTree;
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		private final SplittableRandom random = new SplittableRandom();
+	}
+
+	@Setup
+	public void setUp() throws DoesNotImplementsComparable {
+		if (implementation == Implementation.LOCKED) {
+			lockedTree = LexicographicTree.ofComparable(Order.ASC, Balance.AVL);
+
+			for (int i = 0; i < size; i += 2)
+				lockedTree.insertValue(i);
+		} else {
+			concurrentTree = ConcurrentLexicographicTree.ofComparable(Order.ASC);
+
+			for (int i = 0; i < size; i += 2)
+				concurrentTree.insertValue(i);
+		}
+	}
+
+	@Benchmark
+	public Object mixed(ThreadState state) throws DoesNotImplementsComparable {
+		Integer key = state.random.nextInt(size);
+		boolean read = state.random.nextInt(100) < readPercent;
+
+		return (implementation == Implementation.LOCKED) ? lockedOperation(key, read) : concurrentOperation(key, read);
+	}
+
+	private Object lockedOperation(Integer key, boolean read) throws DoesNotImplementsComparable {
+		synchronized (lockedTree) {
+			Object result;
+
+			if (read)
+				result = lockedTree.contains(key);
+			else if (lockedTree.contains(key))
+				result = lockedTree.deleteNode(key);
+			else {
+				lockedTree.insertValue(key);
+				result = key;
+			}
+
+			return result;
+		}
+	}
+
+	private Object concurrentOperation(Integer key, boolean read) throws DoesNotImplementsComparable {
+		Object result;
+
+		if (read)
+			result = concurrentTree.contains(key);
+		else if (!concurrentTree.insertValue(key))
+			result = concurrentTree.deleteNode(key);
+		else
+			result = key;
+
+		return result;
+	}
+}
@@ -0,0 +1,66 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+
+/**
+ * insertNode, getFather and deleteNode on a general tree. Every insertion appends a son
+ * to a random node and is undone by deleting the new node, so the tree keeps its shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeneralTreeBenchmark {
+
+	@Param({"1000", "100000", "10000000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	@Param({"PLAIN", "WITH_FATHER"})
+	private NodeType nodeType;
+
+	private GeneralTree<Integer> tree;
+	private BinaryTreeNode<Integer>[] nodes;
+	private Random random;
+
+	@Setup
+	public void setUp() {
+		random = new Random(42);
+		nodes = TreeShapes.general(size, shape, nodeType);
+		tree = new GeneralTree<Integer>(nodes[0]);
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> getFather() {
+		return tree.getFather(nodes[random.nextInt(size)]);
+	}
+
+	@Benchmark
+	public Integer insertAndDelete() {
+		BinaryTreeNode<Integer> node = nodeType.create(-1);
+
+		tree.insertNode(node, nodes[random.nextInt(size)]);
+
+		return tree.deleteNode(node);
+	}
+}
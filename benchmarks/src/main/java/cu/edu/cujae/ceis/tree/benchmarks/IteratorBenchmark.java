@@ -0,0 +1,117 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.iterators.LevelTraversal;
+
+/**
+ * Full traversals with every iterator of the library.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IteratorBenchmark {
+
+	@Param({"1000", "100000", "10000000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	private BinaryTree<Integer> binaryTree;
+	private GeneralTree<Integer> generalTree;
+
+	@Setup
+	public void setUp() {
+		binaryTree = new BinaryTree<Integer>(TreeShapes.binary(size, shape, NodeType.PLAIN)[0]);
+		generalTree = new GeneralTree<Integer>(TreeShapes.general(size, shape, NodeType.PLAIN)[0]);
+	}
+
+	@Benchmark
+	public int preOrder(Blackhole blackhole) {
+		return drain(binaryTree.preOrderIterator(), blackhole);
+	}
+
+	@Benchmark
+	public int symmetric(Blackhole blackhole) {
+		return drain(binaryTree.symmetricIterator(), blackhole);
+	}
+
+	@Benchmark
+	public int posOrder(Blackhole blackhole) {
+		return drain(binaryTree.posOrderIterator(), blackhole);
+	}
+
+	@Benchmark
+	public int inDepth(Blackhole blackhole) {
+		return drain(generalTree.inDepthIterator(), blackhole);
+	}
+
+	@Benchmark
+	public int inBreadth(Blackhole blackhole) {
+		return drain(generalTree.inBreadthIterator(), blackhole);
+	}
+
+	@Benchmark
+	public int inBreadthWithLevels(Blackhole blackhole) {
+		return drain(generalTree.inBreadthIteratorWithLevels(), blackhole);
+	}
+
+	@Benchmark
+	public int levelTraversal(Blackhole blackhole) {
+		return drain(generalTree.levelTraversal(), blackhole);
+	}
+
+	/**
+	 * The first levels only, as a view that shows the top of the tree.
+	 */
+	@Benchmark
+	public int levelTraversalFirstLevels(Blackhole blackhole) {
+		return drain(generalTree.levelTraversal(3), blackhole);
+	}
+
+	private static int drain(LevelTraversal<Integer> levels, Blackhole blackhole) {
+		int count = 0;
+
+		while (levels.hasNextLevel()) {
+			levels.nextLevel();
+
+			for (int i = 0; i < levels.getWidth(); i++)
+				blackhole.consume(levels.getInfo(i));
+
+			count += levels.getWidth();
+		}
+
+		return count;
+	}
+
+	private static int drain(Iterator<Integer> iterator, Blackhole blackhole) {
+		int count = 0;
+
+		while (iterator.hasNext()) {
+			blackhole.consume(iterator.next());
+			count++;
+		}
+
+		return count;
+	}
+}
@@ -0,0 +1,83 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.lexicographical.DoesNotImplementsComparable;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Insert, lookup and delete on a lexicographic tree holding the even numbers from 0 to 2(n - 1).
+ * The balanced shape is an AVL tree and the degenerate shape is the chain an unbalanced tree
+ * gets from sorted input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LexicographicTreeBenchmark {
+
+	@Param({"1000", "100000", "10000000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	private LexicographicTree<Integer> tree;
+	private Random random;
+
+	@Setup
+	public void setUp() throws DoesNotImplementsComparable {
+		random = new Random(42);
+
+		if (shape == Shape.BALANCED) {
+			tree = LexicographicTree.ofComparable(Order.ASC, Balance.AVL);
+
+			for (int i = 0; i < size; i++)
+				tree.insertValue(2 * i);
+		} else {
+			tree = LexicographicTree.ofComparable(Order.ASC, Balance.NONE);
+
+			AugmentedBinaryTreeNode<Integer> next = null;
+
+			for (int i = size - 1; i >= 0; i--) {
+				AugmentedBinaryTreeNode<Integer> node = new AugmentedBinaryTreeNode<Integer>(2 * i);
+				node.setRight(next);
+				next = node;
+			}
+
+			tree.setRoot(next);
+		}
+	}
+
+	@Benchmark
+	public boolean lookup() {
+		return tree.contains(2 * random.nextInt(size));
+	}
+
+	@Benchmark
+	public Integer insertAndDelete() throws DoesNotImplementsComparable {
+		Integer key = 2 * random.nextInt(size) + 1;
+
+		tree.insertValue(key);
+
+		return tree.deleteNode(key);
+	}
+}
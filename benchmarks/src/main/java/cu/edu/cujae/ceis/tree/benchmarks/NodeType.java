@@ -0,0 +1,37 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNodeWithFather;
+
+/**
+ * Kinds of nodes used to build the benchmark trees.
+ */
+public enum NodeType {
+	PLAIN,
+	WITH_FATHER,
+	AUGMENTED;
+
+	/**
+	 * Creates a node of this type.
+	 *
+	 * @param info the information of the node
+	 * @return the new node
+	 */
+	public BinaryTreeNode<Integer> create(Integer info) {
+		BinaryTreeNode<Integer> node;
+
+		switch (this) {
+		case WITH_FATHER:
+			node = new BinaryTreeNodeWithFather<Integer>(info);
+			break;
+		case AUGMENTED:
+			node = new AugmentedBinaryTreeNode<Integer>(info);
+			break;
+		default:
+			node = new BinaryTreeNode<Integer>(info);
+		}
+
+		return node;
+	}
+}
@@ -0,0 +1,93 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.parallel.ParallelTreeOperations;
+
+/**
+ * Sequential aggregates of the trees against the fork/join ones, on trees of plain nodes
+ * so neither side can use cached sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelTreeBenchmark {
+
+	@Param({"100000", "10000000"})
+	private int size;
+
+	private BinaryTree<Integer> binaryTree;
+	private GeneralTree<Integer> generalTree;
+	private ParallelTreeOperations operations;
+
+	@Setup
+	public void setUp() {
+		binaryTree = new BinaryTree<Integer>(TreeShapes.binary(size, Shape.BALANCED, NodeType.PLAIN)[0]);
+		generalTree = new GeneralTree<Integer>(TreeShapes.general(size, Shape.BALANCED, NodeType.PLAIN)[0]);
+		operations = new ParallelTreeOperations();
+	}
+
+	@Benchmark
+	public int sequentialTotalNodes() {
+		return binaryTree.totalNodes();
+	}
+
+	@Benchmark
+	public int parallelTotalNodes() {
+		return operations.totalNodes(binaryTree);
+	}
+
+	@Benchmark
+	public int sequentialBinaryHeight() {
+		return binaryTree.treeHeight();
+	}
+
+	@Benchmark
+	public int parallelBinaryHeight() {
+		return operations.treeHeight(binaryTree);
+	}
+
+	@Benchmark
+	public int sequentialGeneralHeight() {
+		return generalTree.treeHeight();
+	}
+
+	@Benchmark
+	public int parallelGeneralHeight() {
+		return operations.treeHeight(generalTree);
+	}
+
+	@Benchmark
+	public List<TreeNode<Integer>> sequentialGeneralLeaves() {
+		return generalTree.getLeaves();
+	}
+
+	@Benchmark
+	public List<TreeNode<Integer>> parallelGeneralLeaves() {
+		return operations.getLeaves(generalTree);
+	}
+
+	@Benchmark
+	public long parallelSum() {
+		return operations.fold(binaryTree, 0L, x -> (long)x, Long::sum);
+	}
+}
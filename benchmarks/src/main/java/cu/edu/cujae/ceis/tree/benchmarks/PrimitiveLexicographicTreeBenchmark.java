@@ -0,0 +1,100 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cu.edu.cujae.ceis.tree.lexicographical.DoesNotImplementsComparable;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+import cu.edu.cujae.ceis.tree.lexicographical.LongLexicographicTree;
+
+/**
+ * Lookup, insert and delete, and in-order iteration on trees holding the even numbers from
+ * 0 to 2(n - 1). BOXED is an AVL lexicographic tree of Long, PRIMITIVE the long tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrimitiveLexicographicTreeBenchmark {
+
+	/**
+	 * Tree implementation under test.
+	 */
+	public enum Implementation {BOXED, PRIMITIVE}
+
+	@Param({"1000", "100000", "10000000"})
+	private int size;
+
+	@Param({"BOXED", "PRIMITIVE"})
+	private Implementation implementation;
+
+	private LexicographicTree<Long> boxedTree;
+	private LongLexicographicTree primitiveTree;
+	private Random random;
+
+	@Setup
+	public void setUp() throws DoesNotImplementsComparable {
+		random = new Random(42);
+
+		if (implementation == Implementation.BOXED) {
+			boxedTree = LexicographicTree.ofComparable(Order.ASC, Balance.AVL);
+
+			for (int i = 0; i < size; i++)
+				boxedTree.insertValue(2L * i);
+		} else {
+			primitiveTree = new LongLexicographicTree(Order.ASC, size);
+
+			for (int i = 0; i < size; i++)
+				primitiveTree.insert(2L * i);
+		}
+	}
+
+	@Benchmark
+	public boolean lookup() {
+		long key = 2L * random.nextInt(size);
+
+		return (implementation == Implementation.BOXED) ? boxedTree.contains(key) : primitiveTree.contains(key);
+	}
+
+	@Benchmark
+	public boolean insertAndDelete() throws DoesNotImplementsComparable {
+		long key = 2L * random.nextInt(size) + 1;
+		boolean deleted;
+
+		if (implementation == Implementation.BOXED) {
+			boxedTree.insertValue(key);
+			deleted = boxedTree.deleteNode(Long.valueOf(key)) != null;
+		} else {
+			primitiveTree.insert(key);
+			deleted = primitiveTree.delete(key);
+		}
+
+		return deleted;
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		if (implementation == Implementation.BOXED) {
+			for (Long key : boxedTree)
+				blackhole.consume(key.longValue());
+		} else
+			primitiveTree.forEach(blackhole::consume);
+	}
+}
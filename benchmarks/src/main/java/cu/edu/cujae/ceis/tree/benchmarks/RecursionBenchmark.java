@@ -0,0 +1,285 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.lexicographical.DoesNotImplementsComparable;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Compares the iterative height, subtree copy and degree of the trees, and the iterative
+ * insertion and deletion helpers of the unbalanced lexicographic tree, with the recursive
+ * versions they replaced, kept here as reference. The private helpers are called through
+ * method handles, so the copy is measured without the membership check of getSubTree and
+ * both versions of the lexicographic helpers work on the same nodes. The fork runs with a
+ * large thread stack so the recursive versions can go through the degenerate trees.
+ * <p>
+ * The lexicographic benchmarks undo their change in the same invocation: an odd number is
+ * inserted and deleted in a tree of even numbers, and the first element is deleted and
+ * inserted again. The degenerate insertion tree is the right chain of sorted input and the
+ * degenerate deletion tree the left chain of reverse sorted input, so both walk the chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xss1g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RecursionBenchmark {
+
+	private static final MethodHandle BUILD_SUB_TREE = handle(BinaryTree.class, "buildSubTree", void.class, BinaryTreeNode.class, BinaryTreeNode.class);
+	private static final MethodHandle INSERT_IN_TREE = handle(LexicographicTree.class, "insertInTree", void.class, BinaryTreeNode.class, BinaryTreeNode.class);
+	private static final MethodHandle DELETE = handle(LexicographicTree.class, "delete", BinaryTreeNode.class, BinaryTreeNode.class, BinaryTreeNode.class);
+	private static final MethodHandle DELETE_MIN = handle(LexicographicTree.class, "deleteMin", BinaryTreeNode.class, BinaryTreeNode.class);
+
+	@Param({"1000", "100000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	private BinaryTree<Integer> tree;
+	private BinaryTreeNode<Integer> root;
+	private GeneralTree<Integer> wideTree;
+	private BinaryTreeNode<Integer> wideRoot;
+	private LexicographicTree<Integer> insertTree;
+	private LexicographicTree<Integer> deleteTree;
+	private BinaryTreeNode<Integer> firstNode;
+	private Random random;
+
+	@Setup
+	public void setUp() throws DoesNotImplementsComparable {
+		root = TreeShapes.binary(size, shape, NodeType.PLAIN)[0];
+		tree = new BinaryTree<Integer>(root);
+
+		wideRoot = new BinaryTreeNode<Integer>(-1);
+		wideTree = new GeneralTree<Integer>(wideRoot);
+
+		BinaryTreeNode<Integer> son = null;
+
+		for (int i = size - 1; i >= 0; i--) {
+			BinaryTreeNode<Integer> brother = son;
+
+			son = new BinaryTreeNode<Integer>(i);
+			son.setRight(brother);
+		}
+
+		wideRoot.setLeft(son);
+
+		random = new Random(42);
+		insertTree = LexicographicTree.ofComparable(Order.ASC, Balance.NONE);
+		deleteTree = LexicographicTree.ofComparable(Order.ASC, Balance.NONE);
+
+		if (shape == Shape.BALANCED) {
+			List<Integer> evens = new ArrayList<Integer>(size);
+
+			for (int i = 0; i < size; i++)
+				evens.add(2 * i);
+
+			insertTree.loadSorted(evens);
+			deleteTree.loadSorted(evens);
+		} else {
+			AugmentedBinaryTreeNode<Integer> rightChain = null;
+			AugmentedBinaryTreeNode<Integer> leftChain = null;
+
+			for (int i = size - 1; i >= 0; i--) {
+				AugmentedBinaryTreeNode<Integer> node = new AugmentedBinaryTreeNode<Integer>(2 * i);
+				node.setRight(rightChain);
+				rightChain = node;
+
+				node = new AugmentedBinaryTreeNode<Integer>(2 * (size - 1 - i));
+				node.setLeft(leftChain);
+				leftChain = node;
+			}
+
+			insertTree.setRoot(rightChain);
+			deleteTree.setRoot(leftChain);
+		}
+
+		firstNode = deleteTree.findNode(0);
+	}
+
+	@Benchmark
+	public int heightIterative() {
+		return tree.treeHeight();
+	}
+
+	@Benchmark
+	public int heightRecursive() {
+		return level(root);
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> subTreeIterative() throws Throwable {
+		BinaryTreeNode<Integer> copy = new BinaryTreeNode<Integer>(root.getInfo());
+
+		BUILD_SUB_TREE.invokeExact(tree, root, copy);
+
+		return copy;
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> subTreeRecursive() {
+		BinaryTreeNode<Integer> copy = new BinaryTreeNode<Integer>(root.getInfo());
+
+		buildSubTree(root, copy);
+
+		return copy;
+	}
+
+	@Benchmark
+	public int degreeIterative() {
+		return wideTree.nodeDegree(wideRoot);
+	}
+
+	@Benchmark
+	public int degreeRecursive() {
+		return 1 + rightBrotherCount(wideRoot.getLeft());
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> insertAndDeleteIterative() throws Throwable {
+		BinaryTreeNode<Integer> lexicographicRoot = (BinaryTreeNode<Integer>)insertTree.getRoot();
+		BinaryTreeNode<Integer> node = new AugmentedBinaryTreeNode<Integer>(2 * random.nextInt(size) + 1);
+
+		INSERT_IN_TREE.invokeExact(insertTree, lexicographicRoot, node);
+
+		return (BinaryTreeNode<Integer>)DELETE.invokeExact(insertTree, node, lexicographicRoot);
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> insertAndDeleteRecursive() {
+		BinaryTreeNode<Integer> lexicographicRoot = (BinaryTreeNode<Integer>)insertTree.getRoot();
+		BinaryTreeNode<Integer> node = new AugmentedBinaryTreeNode<Integer>(2 * random.nextInt(size) + 1);
+
+		insertInTree(lexicographicRoot, node);
+
+		return delete(node, lexicographicRoot);
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> deleteMinIterative() throws Throwable {
+		BinaryTreeNode<Integer> lexicographicRoot = (BinaryTreeNode<Integer>)deleteTree.getRoot();
+		BinaryTreeNode<Integer> newRoot = (BinaryTreeNode<Integer>)DELETE_MIN.invokeExact(deleteTree, lexicographicRoot);
+
+		INSERT_IN_TREE.invokeExact(deleteTree, lexicographicRoot, firstNode);
+
+		return newRoot;
+	}
+
+	@Benchmark
+	public BinaryTreeNode<Integer> deleteMinRecursive() {
+		BinaryTreeNode<Integer> lexicographicRoot = (BinaryTreeNode<Integer>)deleteTree.getRoot();
+		BinaryTreeNode<Integer> newRoot = deleteMin(lexicographicRoot);
+
+		insertInTree(lexicographicRoot, firstNode);
+
+		return newRoot;
+	}
+
+	private static MethodHandle handle(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+		try {
+			Method method = owner.getDeclaredMethod(name, parameterTypes);
+
+			method.setAccessible(true);
+
+			return MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(returnType, owner, parameterTypes));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Missing " + owner.getSimpleName() + "." + name, e);
+		}
+	}
+
+	private static int level(BinaryTreeNode<Integer> cursor) {
+		if (cursor != null) {
+			int levelLST = level(cursor.getLeft());
+			int levelRST = level(cursor.getRight());
+			return ((levelLST >= levelRST) ? levelLST : levelRST) + 1;
+		}
+		return -1;
+	}
+
+	private static void buildSubTree(BinaryTreeNode<Integer> srcFather, BinaryTreeNode<Integer> newFather) {
+		if (srcFather.getLeft() != null) {
+			newFather.setLeft(new BinaryTreeNode<Integer>(srcFather.getLeft().getInfo()));
+			buildSubTree(srcFather.getLeft(), newFather.getLeft());
+		}
+
+		if (srcFather.getRight() != null) {
+			newFather.setRight(new BinaryTreeNode<Integer>(srcFather.getRight().getInfo()));
+			buildSubTree(srcFather.getRight(), newFather.getRight());
+		}
+	}
+
+	private static void insertInTree(BinaryTreeNode<Integer> root, BinaryTreeNode<Integer> node) {
+		if (root.getInfo().compareTo(node.getInfo()) < 0) {
+			if (root.getRight() != null)
+				insertInTree(root.getRight(), node);
+			else
+				root.setRight(node);
+		} else {
+			if (root.getLeft() != null)
+				insertInTree(root.getLeft(), node);
+			else
+				root.setLeft(node);
+		}
+	}
+
+	private static BinaryTreeNode<Integer> deleteMin(BinaryTreeNode<Integer> subTreeRoot) {
+		if (subTreeRoot.getLeft() != null)
+			subTreeRoot.setLeft(deleteMin(subTreeRoot.getLeft()));
+		else
+			subTreeRoot = subTreeRoot.getRight();
+
+		return subTreeRoot;
+	}
+
+	private static BinaryTreeNode<Integer> delete(BinaryTreeNode<Integer> nodeToDelete, BinaryTreeNode<Integer> subTreeRoot) {
+		if (nodeToDelete.getInfo().compareTo(subTreeRoot.getInfo()) < 0)
+			subTreeRoot.setLeft(delete(nodeToDelete, subTreeRoot.getLeft()));
+		else if (nodeToDelete.getInfo().compareTo(subTreeRoot.getInfo()) > 0)
+			subTreeRoot.setRight(delete(nodeToDelete, subTreeRoot.getRight()));
+		else if (subTreeRoot.getLeft() != null && subTreeRoot.getRight() != null) {
+			BinaryTreeNode<Integer> minor = subTreeRoot.getRight();
+
+			while (minor.getLeft() != null)
+				minor = minor.getLeft();
+
+			subTreeRoot.setInfo(minor.getInfo());
+			subTreeRoot.setRight(deleteMin(subTreeRoot.getRight()));
+		} else
+			subTreeRoot = (subTreeRoot.getLeft() != null) ? subTreeRoot.getLeft() : subTreeRoot.getRight();
+
+		return subTreeRoot;
+	}
+
+	private static int rightBrotherCount(BinaryTreeNode<Integer> node) {
+		int brother = 0;
+		if (node.getRight() != null)
+			brother = 1 + rightBrotherCount(node.getRight());
+		return brother;
+	}
+}
@@ -0,0 +1,15 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+/**
+ * Shapes of the trees built for the benchmarks.
+ */
+public enum Shape {
+	/**
+	 * Complete tree, height O(log n).
+	 */
+	BALANCED,
+	/**
+	 * Single chain of nodes, height n - 1.
+	 */
+	DEGENERATE
+}
@@ -0,0 +1,50 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.Collection;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link ConcurrentLexicographicTreeBenchmark} with 1, 2, 4 and so on up to 64 threads
+ * and prints the throughput of every configuration. Accepts the usual JMH command line
+ * options, for example {@code -p readPercent=90} or {@code -wi 1}.
+ */
+public final class ThreadScalingRunner {
+
+	private static final int MAX_THREADS = 64;
+
+	private ThreadScalingRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		StringBuilder summary = new StringBuilder();
+
+		summary.append(String.format("%-8s %-40s %15s%n", "threads", "configuration", "ops/ms"));
+
+		for (int threads = 1; threads <= MAX_THREADS; threads <<= 1) {
+			Options options = new OptionsBuilder()
+					.parent(commandLine)
+					.include(ConcurrentLexicographicTreeBenchmark.class.getSimpleName())
+					.threads(threads)
+					.build();
+
+			Collection<RunResult> results = new Runner(options).run();
+
+			for (RunResult result : results) {
+				summary.append(String.format("%-8d %-40s %15.1f%n", threads,
+						result.getParams().getParam("implementation") + " read=" + result.getParams().getParam("readPercent") + "%",
+						result.getPrimaryResult().getScore()));
+			}
+		}
+
+		System.out.println();
+		System.out.print(summary);
+	}
+}
@@ -0,0 +1,89 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.io.ElementCodecs;
+import cu.edu.cujae.ceis.tree.io.TreeCodec;
+
+/**
+ * Writes and reads a binary tree with {@link TreeCodec} and with Java serialization, which
+ * stores the elements as serialized objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TreeCodecBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	private int size;
+
+	@Param({"BALANCED", "DEGENERATE"})
+	private Shape shape;
+
+	private BinaryTree<Integer> tree;
+	private TreeCodec<Integer> codec;
+	private byte[] encoded;
+	private byte[] serialized;
+
+	@Setup
+	public void setUp() throws IOException {
+		tree = new BinaryTree<Integer>(TreeShapes.binary(size, shape, NodeType.PLAIN)[0]);
+		codec = new TreeCodec<Integer>(ElementCodecs.INTEGER);
+		encoded = codecWrite().toByteArray();
+		serialized = serializationWrite().toByteArray();
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream codecWrite() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(encoded != null ? encoded.length : 32);
+
+		codec.write(tree, Channels.newChannel(out));
+
+		return out;
+	}
+
+	@Benchmark
+	public BinaryTree<Integer> codecRead() throws IOException {
+		return codec.readBinaryTree(Channels.newChannel(new ByteArrayInputStream(encoded)));
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream serializationWrite() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(serialized != null ? serialized.length : 32);
+		ObjectOutputStream objectOut = new ObjectOutputStream(out);
+
+		objectOut.writeObject(tree);
+		objectOut.close();
+
+		return out;
+	}
+
+	@Benchmark
+	public Object serializationRead() throws IOException, ClassNotFoundException {
+		ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized));
+
+		return objectIn.readObject();
+	}
+}
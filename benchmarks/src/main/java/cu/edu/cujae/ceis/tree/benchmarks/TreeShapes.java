@@ -0,0 +1,82 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * Builds the node structures used by the benchmarks. Nodes are linked directly, from the
+ * last one to the first one, so building a tree costs O(n) for every shape and node type.
+ * The node at position 0 is always the root.
+ */
+public final class TreeShapes {
+
+	/**
+	 * Number of sons of every internal node of a balanced general tree.
+	 */
+	public static final int GENERAL_DEGREE = 4;
+
+	private TreeShapes() {
+	}
+
+	/**
+	 * Builds a binary tree. The balanced shape is a complete binary tree and the
+	 * degenerate shape is a chain of left sons.
+	 *
+	 * @param size the number of nodes
+	 * @param shape the shape of the tree
+	 * @param type the type of the nodes
+	 * @return the nodes of the tree, in pre-order for the degenerate shape and level order for the balanced one
+	 */
+	public static BinaryTreeNode<Integer>[] binary(int size, Shape shape, NodeType type) {
+		BinaryTreeNode<Integer>[] nodes = createNodes(size, type);
+
+		for (int i = size - 1; i >= 0; i--) {
+			if (shape == Shape.BALANCED) {
+				if (2 * i + 1 < size)
+					nodes[i].setLeft(nodes[2 * i + 1]);
+				if (2 * i + 2 < size)
+					nodes[i].setRight(nodes[2 * i + 2]);
+			} else if (i + 1 < size)
+				nodes[i].setLeft(nodes[i + 1]);
+		}
+
+		return nodes;
+	}
+
+	/**
+	 * Builds a general tree in its first son, next brother representation. The balanced
+	 * shape is a complete tree of degree {@link #GENERAL_DEGREE} and the degenerate shape
+	 * is a chain of first sons.
+	 *
+	 * @param size the number of nodes
+	 * @param shape the shape of the tree
+	 * @param type the type of the nodes
+	 * @return the nodes of the tree
+	 */
+	public static BinaryTreeNode<Integer>[] general(int size, Shape shape, NodeType type) {
+		BinaryTreeNode<Integer>[] nodes = createNodes(size, type);
+
+		for (int i = size - 1; i >= 0; i--) {
+			if (shape == Shape.BALANCED) {
+				int firstSon = GENERAL_DEGREE * i + 1;
+
+				if (i > 0 && i % GENERAL_DEGREE != 0 && i + 1 < size)
+					nodes[i].setRight(nodes[i + 1]);
+				if (firstSon < size)
+					nodes[i].setLeft(nodes[firstSon]);
+			} else if (i + 1 < size)
+				nodes[i].setLeft(nodes[i + 1]);
+		}
+
+		return nodes;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static BinaryTreeNode<Integer>[] createNodes(int size, NodeType type) {
+		BinaryTreeNode<Integer>[] nodes = new BinaryTreeNode[size];
+
+		for (int i = 0; i < size; i++)
+			nodes[i] = type.create(i);
+
+		return nodes;
+	}
+}
@@ -0,0 +1,100 @@
+package cu.edu.cujae.ceis.tree.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.general.ArrayGeneralTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+
+/**
+ * Builds and queries a general tree whose root has n sons, with the chain of brothers of
+ * {@link BinaryTreeNode} and with the son array of {@link ArrayGeneralTreeNode}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WideNodeBenchmark {
+
+	@Param({"1000", "10000"})
+	private int size;
+
+	private GeneralTree<Integer> chainTree;
+	private GeneralTree<Integer> arrayTree;
+	private BinaryTreeNode<Integer> chainRoot;
+	private ArrayGeneralTreeNode<Integer> arrayRoot;
+
+	@Setup
+	public void setUp() {
+		chainTree = buildChain();
+		chainRoot = (BinaryTreeNode<Integer>)chainTree.getRoot();
+		arrayTree = buildArray();
+		arrayRoot = (ArrayGeneralTreeNode<Integer>)arrayTree.getRoot();
+	}
+
+	@Benchmark
+	public GeneralTree<Integer> buildChain() {
+		GeneralTree<Integer> tree = new GeneralTree<Integer>(new BinaryTreeNode<Integer>(-1));
+		BinaryTreeNode<Integer> root = (BinaryTreeNode<Integer>)tree.getRoot();
+
+		for (int i = 0; i < size; i++)
+			tree.insertNode(new BinaryTreeNode<Integer>(i), root);
+
+		return tree;
+	}
+
+	@Benchmark
+	public GeneralTree<Integer> buildArray() {
+		GeneralTree<Integer> tree = new GeneralTree<Integer>(new ArrayGeneralTreeNode<Integer>(-1));
+		BinaryTreeNode<Integer> root = (BinaryTreeNode<Integer>)tree.getRoot();
+
+		for (int i = 0; i < size; i++)
+			tree.insertNode(new ArrayGeneralTreeNode<Integer>(i), root);
+
+		return tree;
+	}
+
+	@Benchmark
+	public int degreeChain() {
+		return chainTree.nodeDegree(chainRoot);
+	}
+
+	@Benchmark
+	public int degreeArray() {
+		return arrayTree.nodeDegree(arrayRoot);
+	}
+
+	@Benchmark
+	public long sumSonsChain() {
+		long sum = 0;
+
+		for (BinaryTreeNode<Integer> son : chainTree.getSons(chainRoot))
+			sum += son.getInfo();
+
+		return sum;
+	}
+
+	@Benchmark
+	public long sumSonsArray() {
+		long sum = 0;
+
+		for (int i = 0; i < arrayRoot.getDegree(); i++)
+			sum += arrayRoot.getSon(i).getInfo();
+
+		return sum;
+	}
+}
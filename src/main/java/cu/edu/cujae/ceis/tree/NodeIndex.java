@@ -0,0 +1,119 @@
+package cu.edu.cujae.ceis.tree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * Index of the nodes of a tree by the key of their information, used by {@link Tree}.
+ * Every node is kept with the key it had when it was indexed, so it can be removed even if
+ * its information changed later. Several nodes may share a key.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+final class NodeIndex<E> {
+
+	private final Function<? super E, ?> keyFunction;
+
+	//node -> key it was indexed with
+	private final Map<BinaryTreeNode<E>, Object> keys;
+
+	//key -> node, or list of nodes when several nodes share the key
+	private final Map<Object, Object> nodes;
+
+	NodeIndex(Function<? super E, ?> keyFunction) {
+		this.keyFunction = keyFunction;
+		this.keys = new IdentityHashMap<BinaryTreeNode<E>, Object>();
+		this.nodes = new HashMap<Object, Object>();
+	}
+
+	Object keyOf(E info) {
+		return keyFunction.apply(info);
+	}
+
+	boolean contains(BinaryTreeNode<E> node) {
+		return keys.containsKey(node);
+	}
+
+	@SuppressWarnings("unchecked")
+	BinaryTreeNode<E> find(Object key) {
+		Object found = nodes.get(key);
+
+		if(found instanceof NodeList)
+			found = ((NodeList<E>)found).get(0);
+
+		return (BinaryTreeNode<E>)found;
+	}
+
+	/**
+	 * Adds a node to the index. A node that is already indexed is ignored.
+	 */
+	@SuppressWarnings("unchecked")
+	void add(BinaryTreeNode<E> node) {
+		if(!keys.containsKey(node)){
+			Object key = keyOf(node.getInfo());
+			Object found = nodes.get(key);
+
+			keys.put(node, key);
+
+			if(found == null)
+				nodes.put(key, node);
+			else if(found instanceof NodeList)
+				((NodeList<E>)found).add(node);
+			else{
+				NodeList<E> list = new NodeList<E>();
+
+				list.add((BinaryTreeNode<E>)found);
+				list.add(node);
+				nodes.put(key, list);
+			}
+		}
+	}
+
+	/**
+	 * Removes a node from the index. A node that is not indexed is ignored.
+	 */
+	@SuppressWarnings("unchecked")
+	void remove(BinaryTreeNode<E> node) {
+		if(keys.containsKey(node)){
+			Object key = keys.remove(node);
+			Object found = nodes.get(key);
+
+			if(found instanceof NodeList){
+				List<BinaryTreeNode<E>> list = (NodeList<E>)found;
+
+				list.remove(node);
+
+				if(list.size() == 1)
+					nodes.put(key, list.get(0));
+			}
+			else
+				nodes.remove(key);
+		}
+	}
+
+	int size() {
+		return keys.size();
+	}
+
+	void clear() {
+		keys.clear();
+		nodes.clear();
+	}
+
+	/**
+	 * Nodes that share a key. A class of its own so it is not confused with a node.
+	 */
+	private static final class NodeList<E> extends ArrayList<BinaryTreeNode<E>> {
+		private static final long serialVersionUID = 1L;
+
+		NodeList() {
+			super(2);
+		}
+	}
+}
@@ -1,17 +1,35 @@
 package cu.edu.cujae.ceis.tree;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNodeWithFather;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
 
 /**
  * Abstract base class representing a generic tree data structure.
  * Provides common tree operations and defines the interface for tree implementations.
+ * Trees are iterable and can be traversed with sequential or parallel streams, in the
+ * order defined by each implementation.
+ * <p>
+ * A tree may keep an index from the information of its nodes to the nodes, enabled with
+ * {@link #enableIndex()}, that finds a node and checks if a node is in the tree in O(1).
+ * The operations of the tree keep the index up to date, but nodes linked or unlinked
+ * directly through the nodes, or whose information changes, need {@link #rebuildIndex()}.
+ * The index is not serialized.
  * 
  * @param <E> the type of elements stored in the tree
  */
-abstract public class Tree<E> {
+abstract public class Tree<E> implements Iterable<E> {
 
 	protected TreeNode<E> root;
+
+	private NodeIndex<E> index;
 	
 	/**
 	 * Constructs an empty tree.
@@ -40,11 +58,208 @@ abstract public class Tree<E> {
 
 	/**
 	 * Sets the root node of the tree.
+	 * If the node keeps a reference to its father, the reference is cleared, and if the
+	 * index is enabled it is built again from the new root.
 	 * 
 	 * @param root the new root node
 	 */
 	public void setRoot(TreeNode<E> root) {
+		linkRoot(root);
+		rebuildIndex();
+	}
+
+	/**
+	 * Sets the root node of the tree without touching the index, for operations that keep
+	 * the index up to date themselves because the new root keeps the nodes already indexed.
+	 * If the node keeps a reference to its father, the reference is cleared.
+	 * 
+	 * @param root the new root node
+	 */
+	protected void linkRoot(TreeNode<E> root) {
 		this.root = root;
+		
+		if(root instanceof BinaryTreeNodeWithFather)
+			((BinaryTreeNodeWithFather<E>)root).setFather(null);
+	}
+
+	/**
+	 * Enables the index of the nodes by their information, compared with equals.
+	 */
+	public void enableIndex() {
+		enableIndex(Function.identity());
+	}
+
+	/**
+	 * Enables the index of the nodes by a key computed from their information, replacing the
+	 * previous index. The index is built with a traversal of the tree.
+	 * 
+	 * @param keyFunction the function that computes the key of the information of a node
+	 * @throws IllegalArgumentException if the key function is null
+	 */
+	public void enableIndex(Function<? super E, ?> keyFunction) {
+		if(keyFunction == null)
+			throw new IllegalArgumentException("The key function can not be null");
+
+		index = new NodeIndex<E>(keyFunction);
+		rebuildIndex();
+	}
+
+	/**
+	 * Disables the index of the nodes and releases its memory.
+	 */
+	public void disableIndex() {
+		index = null;
+	}
+
+	/**
+	 * Checks if the tree keeps an index of its nodes.
+	 * 
+	 * @return true if the index is enabled, false otherwise
+	 */
+	public boolean isIndexed() {
+		return index != null;
+	}
+
+	/**
+	 * Builds the index again from the nodes of the tree. Needed after linking or unlinking
+	 * nodes directly or changing the information of indexed nodes. Does nothing if the index
+	 * is not enabled.
+	 */
+	public void rebuildIndex() {
+		if(index != null){
+			index.clear();
+			indexSubTree((BinaryTreeNode<E>)root);
+		}
+	}
+
+	/**
+	 * Returns a node of the tree with the specified information. With the index enabled the
+	 * node is found in O(1) and it is a node whose key is the key of the information;
+	 * otherwise the tree is traversed comparing the information with equals.
+	 * 
+	 * @param info the information to search
+	 * @return a node with the information, or null if there is none
+	 */
+	public BinaryTreeNode<E> findNode(E info) {
+		BinaryTreeNode<E> found = null;
+
+		if(index != null)
+			found = index.find(index.keyOf(info));
+		else
+			found = searchSubTree((BinaryTreeNode<E>)root, cursor -> Objects.equals(info, cursor.getInfo()));
+
+		return found;
+	}
+
+	/**
+	 * Returns a node of the tree whose information has the specified key in the index.
+	 * 
+	 * @param key the key to search
+	 * @return a node with the key, or null if there is none or the index is not enabled
+	 */
+	public BinaryTreeNode<E> findNodeByKey(Object key) {
+		return (index != null) ? index.find(key) : null;
+	}
+
+	/**
+	 * Checks if the specified node belongs to the tree. With the index enabled the check
+	 * takes O(1); otherwise the tree is traversed.
+	 * 
+	 * @param node the node to check
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	public boolean containsNode(BinaryTreeNode<E> node) {
+		boolean contains = false;
+
+		if(index != null)
+			contains = node != null && index.contains(node);
+		else if(node != null)
+			contains = searchSubTree((BinaryTreeNode<E>)root, cursor -> cursor.equals(node)) != null;
+
+		return contains;
+	}
+
+	/**
+	 * Adds a node to the index, without its descendants. Does nothing if the index is not
+	 * enabled.
+	 * 
+	 * @param node the node linked to the tree
+	 */
+	protected void indexNode(BinaryTreeNode<E> node) {
+		if(index != null && node != null)
+			index.add(node);
+	}
+
+	/**
+	 * Adds a node and every node reachable from it through left and right links to the
+	 * index. Does nothing if the index is not enabled.
+	 * 
+	 * @param node the first node linked to the tree
+	 */
+	protected void indexSubTree(BinaryTreeNode<E> node) {
+		if(index != null)
+			searchSubTree(node, cursor -> {
+				index.add(cursor);
+				return false;
+			});
+	}
+
+	/**
+	 * Removes a node and every node reachable from it through left and right links from the
+	 * index. Does nothing if the index is not enabled.
+	 * 
+	 * @param node the first node unlinked from the tree
+	 */
+	protected void unindexSubTree(BinaryTreeNode<E> node) {
+		if(index != null)
+			searchSubTree(node, cursor -> {
+				index.remove(cursor);
+				return false;
+			});
+	}
+
+	/**
+	 * Removes a node from the index, without its descendants. Does nothing if the index is
+	 * not enabled.
+	 * 
+	 * @param node the node unlinked from the tree
+	 */
+	protected void unindexNode(BinaryTreeNode<E> node) {
+		if(index != null && node != null)
+			index.remove(node);
+	}
+
+	/**
+	 * Traverses in pre-order the node and every node reachable from it through left and
+	 * right links, without recursion, until a node satisfies the condition.
+	 * 
+	 * @param node the first node, may be null
+	 * @param condition the condition to check on every node
+	 * @return the first node that satisfies the condition, or null if there is none
+	 */
+	private BinaryTreeNode<E> searchSubTree(BinaryTreeNode<E> node, Predicate<BinaryTreeNode<E>> condition) {
+		NodeStack<E> pending = new NodeStack<E>();
+		BinaryTreeNode<E> cursor = node;
+
+		while(cursor != null && !condition.test(cursor)){
+			if(cursor.getRight() != null)
+				pending.push(cursor.getRight());
+			if(cursor.getLeft() != null)
+				pending.push(cursor.getLeft());
+
+			cursor = pending.pop();
+		}
+
+		return cursor;
+	}
+
+	/**
+	 * Empties the index, when the whole tree is deleted. Does nothing if the index is not
+	 * enabled.
+	 */
+	protected void clearIndex() {
+		if(index != null)
+			index.clear();
 	}
 
 	/**
@@ -115,4 +330,23 @@ abstract public class Tree<E> {
 	 * @return the information stored in the deleted node
 	 */
 	public abstract E deleteNode(BinaryTreeNode<E> node);	
+
+	/**
+	 * Returns a sequential stream over the elements of the tree, in the order of its iterator.
+	 * 
+	 * @return a sequential stream of the elements
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/**
+	 * Returns a parallel stream over the elements of the tree, in the order of its iterator.
+	 * The tree is split by subtrees, so it must not be modified while the stream runs.
+	 * 
+	 * @return a parallel stream of the elements
+	 */
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
 }
\ No newline at end of file
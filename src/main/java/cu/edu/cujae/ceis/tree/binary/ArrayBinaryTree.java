@@ -0,0 +1,717 @@
+package cu.edu.cujae.ceis.tree.binary;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+
+/**
+ * Binary tree stored in parallel arrays instead of node objects.
+ * Every node is an int handle that indexes the arrays of left children, right children,
+ * fathers and information, so a node takes 12 bytes plus the reference to its information
+ * and the nodes of the tree are contiguous in memory. The handles of deleted nodes are
+ * reused by later insertions, so a handle must not be used after its node is deleted.
+ * <p>
+ * The operations mirror those of {@link BinaryTree}, with handles in place of nodes and
+ * {@link #NONE} in place of null. Since every node knows its father, the level, father and
+ * deletion of a node do not search the tree and the iterators do not need a stack.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class ArrayBinaryTree<E> implements Iterable<E>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Handle that stands for no node, like null in a tree of node objects.
+	 */
+	public static final int NONE = -1;
+
+	//Marca en el arreglo de padres de los nodos eliminados
+	private static final int FREE = -2;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	private int[] left;
+	private int[] right;
+	private int[] father;
+	private Object[] info;
+
+	private int root;
+	private int size;
+	private int next;
+
+	//Primer nodo eliminado, enlazado con los siguientes por el arreglo de hijos derechos
+	private int free;
+
+	/**
+	 * Constructs an empty tree.
+	 */
+	public ArrayBinaryTree() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty tree with room for the specified number of nodes before its
+	 * arrays grow.
+	 *
+	 * @param initialCapacity the initial capacity
+	 */
+	public ArrayBinaryTree(int initialCapacity) {
+		int capacity = (initialCapacity > 0) ? initialCapacity : DEFAULT_CAPACITY;
+
+		left = new int[capacity];
+		right = new int[capacity];
+		father = new int[capacity];
+		info = new Object[capacity];
+		root = NONE;
+		size = 0;
+		next = 0;
+		free = NONE;
+	}
+
+	/**
+	 * Creates a tree with the same shape and information as the specified tree.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param tree the tree to copy
+	 * @return the array tree
+	 */
+	public static <E> ArrayBinaryTree<E> of(BinaryTree<E> tree) {
+		ArrayBinaryTree<E> copy = new ArrayBinaryTree<E>(tree.totalNodes());
+		BinaryTreeNode<E> source = (BinaryTreeNode<E>)tree.getRoot();
+
+		if(source != null){
+			NodeStack<E> stack = new NodeStack<E>();
+			int[] handles = new int[16];
+			int top = 0;
+			int handle = copy.insertNode(source.getInfo(), 'R', NONE);
+
+			//Recorrido en preorden, asi los nodos quedan contiguos en ese orden. Se baja por los
+			//hijos izquierdos apilando los nodos con hijo derecho junto a su copia
+			while(source != null){
+				if(source.getRight() != null){
+					if(top == handles.length)
+						handles = Arrays.copyOf(handles, top << 1);
+
+					stack.push(source);
+					handles[top++] = handle;
+				}
+
+				if(source.getLeft() != null){
+					source = source.getLeft();
+					handle = copy.insertNode(source.getInfo(), 'L', handle);
+				}
+				else{
+					source = stack.pop();
+
+					if(source != null){
+						source = source.getRight();
+						handle = copy.insertNode(source.getInfo(), 'R', handles[--top]);
+					}
+				}
+			}
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Creates a tree of node objects with the same shape and information as this tree.
+	 *
+	 * @return the binary tree
+	 */
+	public BinaryTree<E> toBinaryTree() {
+		BinaryTree<E> tree = new BinaryTree<E>();
+
+		if(root != NONE){
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			BinaryTreeNode<E>[] nodes = new BinaryTreeNode[next];
+			int node = root;
+
+			//Preorden: el padre de cada nodo se crea antes que el nodo
+			while(node != NONE){
+				nodes[node] = new BinaryTreeNode<E>(getInfo(node));
+
+				if(father[node] == NONE)
+					tree.setRoot(nodes[node]);
+				else if(left[father[node]] == node)
+					nodes[father[node]].setLeft(nodes[node]);
+				else
+					nodes[father[node]].setRight(nodes[node]);
+
+				node = preOrderSuccessor(node);
+			}
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Returns the root of the tree.
+	 *
+	 * @return the handle of the root, or {@link #NONE} if the tree is empty
+	 */
+	public int getRoot() {
+		return root;
+	}
+
+	/**
+	 * Checks if the tree is empty.
+	 *
+	 * @return true if the tree has no nodes, false otherwise
+	 */
+	public boolean isEmpty() {
+		return root == NONE;
+	}
+
+	/**
+	 * Returns the total number of nodes in the tree.
+	 *
+	 * @return the total number of nodes
+	 */
+	public int totalNodes() {
+		return size;
+	}
+
+	/**
+	 * Checks if the handle belongs to a node of the tree.
+	 *
+	 * @param node the handle to check
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	public boolean existsNode(int node) {
+		return node >= 0 && node < next && father[node] != FREE;
+	}
+
+	/**
+	 * Returns the information stored in the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the node information, or null if the node is not in the tree
+	 */
+	@SuppressWarnings("unchecked")
+	public E getInfo(int node) {
+		return existsNode(node) ? (E)info[node] : null;
+	}
+
+	/**
+	 * Sets the information stored in the node.
+	 *
+	 * @param node the handle of the node
+	 * @param info the new information
+	 * @return true if the information was set, false if the node is not in the tree
+	 */
+	public boolean setInfo(int node, E info) {
+		boolean exists = existsNode(node);
+
+		if(exists)
+			this.info[node] = info;
+
+		return exists;
+	}
+
+	/**
+	 * Returns the left child of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the handle of the left child, or {@link #NONE} if there is no left child
+	 */
+	public int getLeft(int node) {
+		return existsNode(node) ? left[node] : NONE;
+	}
+
+	/**
+	 * Returns the right child of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the handle of the right child, or {@link #NONE} if there is no right child
+	 */
+	public int getRight(int node) {
+		return existsNode(node) ? right[node] : NONE;
+	}
+
+	/**
+	 * Returns the father of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the handle of the father, or {@link #NONE} if the node is the root or is not
+	 *         in the tree
+	 */
+	public int getFather(int node) {
+		return existsNode(node) ? father[node] : NONE;
+	}
+
+	/**
+	 * Returns the children of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the handles of the children, left child first
+	 */
+	public int[] getSons(int node) {
+		int[] sons = new int[nodeDegree(node)];
+		int i = 0;
+
+		if(existsNode(node)){
+			if(left[node] != NONE)
+				sons[i++] = left[node];
+
+			if(right[node] != NONE)
+				sons[i] = right[node];
+		}
+
+		return sons;
+	}
+
+	/**
+	 * Returns the degree (number of children) of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the degree of the node (0, 1, or 2), 0 if the node is not in the tree
+	 */
+	public int nodeDegree(int node) {
+		int degree = 0;
+
+		if(existsNode(node)){
+			if(left[node] != NONE)
+				degree++;
+
+			if(right[node] != NONE)
+				degree++;
+		}
+
+		return degree;
+	}
+
+	/**
+	 * Checks if the node is a leaf.
+	 *
+	 * @param node the handle of the node
+	 * @return true if the node is in the tree and has no children, false otherwise
+	 */
+	public boolean nodeIsLeaf(int node) {
+		return existsNode(node) && left[node] == NONE && right[node] == NONE;
+	}
+
+	/**
+	 * Returns the level of the node, walking up to the root.
+	 *
+	 * @param node the handle of the node
+	 * @return the level of the node, or -1 if the node is not in the tree
+	 */
+	public int nodeLevel(int node) {
+		int level = -1;
+
+		if(existsNode(node)){
+			level = 0;
+
+			while(father[node] != NONE){
+				node = father[node];
+				level++;
+			}
+		}
+
+		return level;
+	}
+
+	/**
+	 * Returns the height of the tree.
+	 *
+	 * @return the tree height, or -1 if the tree is empty
+	 */
+	public int treeHeight() {
+		int height = -1;
+		int node = root;
+		int level = 0;
+
+		//Preorden sin pila, llevando el nivel al bajar y al subir por los padres
+		while(node != NONE){
+			if(level > height)
+				height = level;
+
+			if(left[node] != NONE){
+				node = left[node];
+				level++;
+			}
+			else if(right[node] != NONE){
+				node = right[node];
+				level++;
+			}
+			else{
+				int child = node;
+
+				node = father[node];
+				level--;
+
+				while(node != NONE && (right[node] == NONE || right[node] == child)){
+					child = node;
+					node = father[node];
+					level--;
+				}
+
+				if(node != NONE){
+					node = right[node];
+					level++;
+				}
+			}
+		}
+
+		return height;
+	}
+
+	/**
+	 * Returns the leaves of the tree in pre-order.
+	 *
+	 * @return the handles of the leaves
+	 */
+	public int[] getLeaves() {
+		int[] leaves = new int[16];
+		int count = 0;
+
+		for(int node = root; node != NONE; node = preOrderSuccessor(node)){
+			if(left[node] == NONE && right[node] == NONE){
+				if(count == leaves.length)
+					leaves = Arrays.copyOf(leaves, count << 1);
+
+				leaves[count++] = node;
+			}
+		}
+
+		return Arrays.copyOf(leaves, count);
+	}
+
+	/**
+	 * Inserts a node into the tree at the specified position relative to a father node.
+	 * As in {@link BinaryTree#insertNode(BinaryTreeNode, char, BinaryTreeNode)}, the new node
+	 * takes the place of the child on that side, which becomes its child on the same side,
+	 * and a new root takes the old root as its left child.
+	 *
+	 * @param info the information of the new node
+	 * @param type 'L' for left child, 'R' for right child, 'R' for root if father is {@link #NONE}
+	 * @param father the handle of the father, or {@link #NONE} for root insertion
+	 * @return the handle of the new node, or {@link #NONE} if the father is not in the tree
+	 */
+	public int insertNode(E info, char type, int father) {
+		int node = NONE;
+
+		if(type == 'R' && father == NONE){
+			node = allocate(info);
+
+			if(root != NONE){
+				left[node] = root;
+				this.father[root] = node;
+			}
+
+			this.father[node] = NONE;
+			root = node;
+		}
+		else if(existsNode(father)){
+			node = allocate(info);
+
+			if(type == 'L'){
+				left[node] = left[father];
+
+				if(left[node] != NONE)
+					this.father[left[node]] = node;
+
+				left[father] = node;
+			}
+			else{
+				right[node] = right[father];
+
+				if(right[node] != NONE)
+					this.father[right[node]] = node;
+
+				right[father] = node;
+			}
+
+			this.father[node] = father;
+		}
+
+		return node;
+	}
+
+	/**
+	 * Deletes the node from the tree with all its descendants. Their handles are reused by
+	 * later insertions.
+	 *
+	 * @param node the handle of the node to delete
+	 * @return the information stored in the deleted node, or null if the node is not in the tree
+	 */
+	@SuppressWarnings("unchecked")
+	public E deleteNode(int node) {
+		E deleted = null;
+
+		if(existsNode(node)){
+			deleted = (E)info[node];
+
+			if(father[node] == NONE)
+				root = NONE;
+			else if(left[father[node]] == node)
+				left[father[node]] = NONE;
+			else
+				right[father[node]] = NONE;
+
+			father[node] = NONE;
+
+			//Se liberan los nodos del subarbol en posorden, asi ningun nodo se libera antes
+			//que sus hijos
+			int cursor = firstPosOrder(node);
+
+			while(cursor != NONE){
+				int successor = posOrderSuccessor(cursor);
+
+				release(cursor);
+				cursor = successor;
+			}
+		}
+
+		return deleted;
+	}
+
+	/**
+	 * Deletes all the nodes of the tree. The arrays keep their capacity.
+	 */
+	public void clear() {
+		Arrays.fill(info, 0, next, null);
+		root = NONE;
+		size = 0;
+		next = 0;
+		free = NONE;
+	}
+
+	/**
+	 * Returns a pre-order iterator over the handles of the nodes.
+	 *
+	 * @return pre-order iterator
+	 */
+	public PrimitiveIterator.OfInt preOrderNodes() {
+		return new NodeIterator(root) {
+			int successor(int node) {
+				return preOrderSuccessor(node);
+			}
+		};
+	}
+
+	/**
+	 * Returns an in-order (symmetric) iterator over the handles of the nodes.
+	 *
+	 * @return in-order iterator
+	 */
+	public PrimitiveIterator.OfInt symmetricNodes() {
+		return new NodeIterator(leftmost(root)) {
+			int successor(int node) {
+				return symmetricSuccessor(node);
+			}
+		};
+	}
+
+	/**
+	 * Returns a post-order iterator over the handles of the nodes.
+	 *
+	 * @return post-order iterator
+	 */
+	public PrimitiveIterator.OfInt posOrderNodes() {
+		return new NodeIterator(firstPosOrder(root)) {
+			int successor(int node) {
+				return posOrderSuccessor(node);
+			}
+		};
+	}
+
+	/**
+	 * Returns an iterator over the elements of the tree in pre-order.
+	 *
+	 * @return pre-order iterator
+	 */
+	public Iterator<E> iterator() {
+		final PrimitiveIterator.OfInt nodes = preOrderNodes();
+
+		return new Iterator<E>() {
+			public boolean hasNext() {
+				return nodes.hasNext();
+			}
+
+			@SuppressWarnings("unchecked")
+			public E next() {
+				return (E)info[nodes.nextInt()];
+			}
+		};
+	}
+
+	/**
+	 * Returns a spliterator over the elements of the tree in pre-order.
+	 *
+	 * @return pre-order spliterator
+	 */
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+	}
+
+	/**
+	 * Returns a sequential stream over the elements of the tree in pre-order.
+	 *
+	 * @return a sequential stream of the elements
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Returns a new node without children with the information, reusing the handle of a
+	 * deleted node if there is one.
+	 */
+	private int allocate(E info) {
+		int node;
+
+		if(free != NONE){
+			node = free;
+			free = right[node];
+		}
+		else{
+			if(next == left.length){
+				if(next == MAX_CAPACITY)
+					throw new OutOfMemoryError("Tree is full");
+
+				int capacity = (int)Math.min((long)next + (next >> 1) + 1, MAX_CAPACITY);
+
+				left = Arrays.copyOf(left, capacity);
+				right = Arrays.copyOf(right, capacity);
+				father = Arrays.copyOf(father, capacity);
+				this.info = Arrays.copyOf(this.info, capacity);
+			}
+
+			node = next++;
+		}
+
+		left[node] = NONE;
+		right[node] = NONE;
+		this.info[node] = info;
+		size++;
+
+		return node;
+	}
+
+	//Agrega el nodo a la lista de nodos libres
+	private void release(int node) {
+		info[node] = null;
+		left[node] = NONE;
+		right[node] = free;
+		father[node] = FREE;
+		free = node;
+		size--;
+	}
+
+	private int preOrderSuccessor(int node) {
+		int successor = NONE;
+
+		if(left[node] != NONE)
+			successor = left[node];
+		else if(right[node] != NONE)
+			successor = right[node];
+		else{
+			int child = node;
+
+			node = father[node];
+
+			while(node != NONE && (right[node] == NONE || right[node] == child)){
+				child = node;
+				node = father[node];
+			}
+
+			if(node != NONE)
+				successor = right[node];
+		}
+
+		return successor;
+	}
+
+	private int symmetricSuccessor(int node) {
+		int successor;
+
+		if(right[node] != NONE)
+			successor = leftmost(right[node]);
+		else{
+			successor = father[node];
+
+			while(successor != NONE && right[successor] == node){
+				node = successor;
+				successor = father[node];
+			}
+		}
+
+		return successor;
+	}
+
+	private int posOrderSuccessor(int node) {
+		int successor = father[node];
+
+		if(successor != NONE && left[successor] == node && right[successor] != NONE)
+			successor = firstPosOrder(right[successor]);
+
+		return successor;
+	}
+
+	private int leftmost(int node) {
+		if(node != NONE)
+			while(left[node] != NONE)
+				node = left[node];
+
+		return node;
+	}
+
+	//Primer nodo del subarbol en posorden: se baja por el hijo izquierdo y si no hay, por el derecho
+	private int firstPosOrder(int node) {
+		if(node != NONE){
+			boolean leaf = false;
+
+			while(!leaf){
+				if(left[node] != NONE)
+					node = left[node];
+				else if(right[node] != NONE)
+					node = right[node];
+				else
+					leaf = true;
+			}
+		}
+
+		return node;
+	}
+
+	/**
+	 * Iterator over handles that moves from each node to its successor in a traversal.
+	 */
+	private abstract class NodeIterator implements PrimitiveIterator.OfInt {
+		private int next;
+
+		NodeIterator(int first) {
+			next = first;
+		}
+
+		abstract int successor(int node);
+
+		public boolean hasNext() {
+			return next != NONE;
+		}
+
+		public int nextInt() {
+			if(next == NONE)
+				throw new NoSuchElementException();
+
+			int node = next;
+
+			next = successor(node);
+
+			return node;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package cu.edu.cujae.ceis.tree.binary;
+
+/**
+ * Binary tree node that keeps the size and height of the subtree rooted at it.
+ * The values are recalculated every time a child is linked or unlinked through
+ * {@link #setLeft(BinaryTreeNode)} or {@link #setRight(BinaryTreeNode)} and the change is
+ * propagated to the ancestors until their values stop changing, so trees built only with
+ * this kind of node can answer {@code totalNodes} and {@code treeHeight} in constant time.
+ * All the nodes linked to an augmented node must be augmented nodes too.
+ *
+ * @param <E> the type of element stored in the node
+ */
+public class AugmentedBinaryTreeNode<E> extends BinaryTreeNodeWithFather<E> {
+
+	private static final long serialVersionUID = 1L;
+	private int size;
+	private int height;
+	private int generalHeight;
+
+	/**
+	 * Constructs an empty augmented node without children.
+	 */
+	public AugmentedBinaryTreeNode() {
+		super();
+		this.size = 1;
+		this.height = 0;
+		this.generalHeight = 0;
+	}
+
+	/**
+	 * Constructs an augmented node without children with the specified information.
+	 *
+	 * @param info the information to store in the node
+	 */
+	public AugmentedBinaryTreeNode(E info) {
+		super(info);
+		this.size = 1;
+		this.height = 0;
+		this.generalHeight = 0;
+	}
+
+	/**
+	 * Returns the number of nodes of the binary subtree rooted at this node.
+	 * When the node is used in a general tree the count includes its descendants and
+	 * its right brothers with their descendants.
+	 *
+	 * @return the number of nodes of the subtree
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the height of the binary subtree rooted at this node.
+	 *
+	 * @return the subtree height, 0 for a leaf
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the height of the tallest general subtree rooted at this node or at one of
+	 * its right brothers, for nodes used in a general tree (first son on the left, next
+	 * brother on the right).
+	 *
+	 * @return the general height of this node and its right brothers
+	 */
+	public int getGeneralHeight() {
+		return generalHeight;
+	}
+
+	/**
+	 * Sets the left child of this node and updates the values of this node and its ancestors.
+	 *
+	 * @param left the left child node
+	 */
+	@Override
+	public void setLeft(BinaryTreeNode<E> left) {
+		super.setLeft(left);
+		refresh();
+	}
+
+	/**
+	 * Sets the right child of this node and updates the values of this node and its ancestors.
+	 *
+	 * @param right the right child node
+	 */
+	@Override
+	public void setRight(BinaryTreeNode<E> right) {
+		super.setRight(right);
+		refresh();
+	}
+
+	/**
+	 * Recalculates the values of this node and its ancestors, stopping at the first
+	 * ancestor whose values do not change.
+	 */
+	private void refresh() {
+		AugmentedBinaryTreeNode<E> cursor = this;
+		boolean changed = true;
+
+		while(cursor != null && changed){
+			changed = cursor.recalculate();
+			cursor = (cursor.father instanceof AugmentedBinaryTreeNode) ? (AugmentedBinaryTreeNode<E>)cursor.father : null;
+		}
+	}
+
+	/**
+	 * Recalculates the values of this node from the values of its children.
+	 *
+	 * @return true if any value changed, false otherwise
+	 */
+	private boolean recalculate() {
+		AugmentedBinaryTreeNode<E> leftNode = (AugmentedBinaryTreeNode<E>)left;
+		AugmentedBinaryTreeNode<E> rightNode = (AugmentedBinaryTreeNode<E>)right;
+
+		int newSize = 1 + (leftNode != null ? leftNode.size : 0) + (rightNode != null ? rightNode.size : 0);
+
+		int leftHeight = leftNode != null ? leftNode.height : -1;
+		int rightHeight = rightNode != null ? rightNode.height : -1;
+		int newHeight = ((leftHeight >= rightHeight) ? leftHeight : rightHeight) + 1;
+
+		int ownGeneralHeight = leftNode != null ? leftNode.generalHeight + 1 : 0;
+		int brothersGeneralHeight = rightNode != null ? rightNode.generalHeight : -1;
+		int newGeneralHeight = (ownGeneralHeight >= brothersGeneralHeight) ? ownGeneralHeight : brothersGeneralHeight;
+
+		boolean changed = newSize != size || newHeight != height || newGeneralHeight != generalHeight;
+
+		size = newSize;
+		height = newHeight;
+		generalHeight = newGeneralHeight;
+
+		return changed;
+	}
+}
@@ -1,13 +1,25 @@
 package cu.edu.cujae.ceis.tree.binary;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 
 import cu.edu.cujae.ceis.tree.Tree;
 import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.io.ElementCodecs;
+import cu.edu.cujae.ceis.tree.io.TreeCodec;
+import cu.edu.cujae.ceis.tree.io.TreePrinter;
+import cu.edu.cujae.ceis.tree.iterators.LevelTraversal;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
 import cu.edu.cujae.ceis.tree.iterators.binary.PosOrderIterator;
 import cu.edu.cujae.ceis.tree.iterators.binary.PreorderIterator;
+import cu.edu.cujae.ceis.tree.iterators.TreeSpliterator;
 import cu.edu.cujae.ceis.tree.iterators.binary.SymmetricIterator;
 
 /**
@@ -47,17 +59,58 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	
 	/**
 	 * Calculates the level of the subtree starting from the specified cursor node.
+	 * The subtree is traversed without recursion, so degenerate trees do not overflow the stack.
 	 * 
 	 * @param cursor the starting node
 	 * @return the level of the subtree
 	 */
 	protected int level(BinaryTreeNode<E> cursor) {
-		if (cursor != null) {
-			int levelLST = level(cursor.getLeft());
-			int levelRST = level(cursor.getRight());
-			return ((levelLST >= levelRST) ? levelLST : levelRST) + 1;
+		return depthInSubTree(cursor, null);
+	}
+
+	/**
+	 * Traverses a subtree in pre-order with an explicit stack of the pending right children
+	 * and their depths.
+	 * 
+	 * @param subTreeRoot the root of the subtree, at depth 0
+	 * @param target the node to search, or null to traverse the whole subtree
+	 * @return the depth of the target, -1 if it is not in the subtree, or the maximum depth
+	 * of the subtree if the target is null, -1 if the subtree is empty
+	 */
+	private int depthInSubTree(BinaryTreeNode<E> subTreeRoot, BinaryTreeNode<E> target) {
+		NodeStack<E> pending = new NodeStack<E>();
+		int[] depths = new int[16];
+		int maxDepth = -1;
+		int found = -1;
+		int depth = 0;
+		BinaryTreeNode<E> cursor = subTreeRoot;
+
+		while(cursor != null && found == -1){
+			if(cursor.equals(target))
+				found = depth;
+
+			if(depth > maxDepth)
+				maxDepth = depth;
+
+			if(cursor.getRight() != null){
+				if(pending.size() == depths.length)
+					depths = Arrays.copyOf(depths, depths.length << 1);
+
+				depths[pending.size()] = depth + 1;
+				pending.push(cursor.getRight());
+			}
+
+			if(cursor.getLeft() != null){
+				cursor = cursor.getLeft();
+				depth++;
+			}
+			else{
+				depth = pending.isEmpty() ? 0 : depths[pending.size() - 1];
+				cursor = pending.pop();
+			}
 		}
-		return -1;
+
+		return (target != null) ? found : maxDepth;
 	}
 
 	/**
@@ -81,8 +134,19 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	 * @return the level of the node, or -1 if node is not found
 	 */
 	public int nodeLevel(TreeNode<E> node) {
+		if (node instanceof BinaryTreeNodeWithFather) {
+			int level = 0;
+			BinaryTreeNodeWithFather<E> cursor = (BinaryTreeNodeWithFather<E>)node;
+			
+			while(cursor.getFather() != null){
+				cursor = cursor.getFather();
+				level++;
+			}
+			
+			return cursor.equals(root) ? level : -1;
+		}
 		if (node != null) {
-			return node.equals(root) ? 0 : nodeLevel(getFather((BinaryTreeNode<E>)node)) + 1;
+			return depthInSubTree((BinaryTreeNode<E>)root, (BinaryTreeNode<E>)node);
 		}
 		return -1;
 	}		
@@ -97,6 +161,7 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 		if (node != null) {
 			if (root != null && root.equals(node)) {
 				this.root = null;
+				clearIndex();
 			} else {
 				BinaryTreeNode<E> father = getFather(node);
 				deleteNotRoot(node, father);
@@ -114,11 +179,15 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	 */
 	private void deleteNotRoot(BinaryTreeNode<E> node, BinaryTreeNode<E> father) {
 		if (node != null && father != null) {			
-			if(father.getLeft() != null && father.getLeft().equals(node))
+			if(father.getLeft() != null && father.getLeft().equals(node)){
 				father.setLeft(null);
+				unindexSubTree(node);
+			}
 			else
-				if(father.getRight() != null && father.getRight().equals(node))
-					father.setRight(null);			
+				if(father.getRight() != null && father.getRight().equals(node)){
+					father.setRight(null);
+					unindexSubTree(node);
+				}
 		}
 	}
 
@@ -149,7 +218,13 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	public BinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
 		BinaryTreeNode<E> returnNode = null;
 
-		if (node != null && !node.equals(root)) {							
+		if (node instanceof BinaryTreeNodeWithFather) {
+			BinaryTreeNodeWithFather<E> father = ((BinaryTreeNodeWithFather<E>)node).getFather();
+			
+			if (father != null && father.getRootNode().equals(root))
+				returnNode = father;
+		}
+		else if (node != null && !node.equals(root)) {							
 			PreorderIterator<E> iterator = preOrderIterator();
 
 			boolean stop = false;
@@ -187,35 +262,6 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 		return leavesList;
 	}
 
-	/**
-	 * Helper method to get a subtree starting from the specified root.
-	 * 
-	 * @param root the root of the subtree
-	 * @param node the node to stop at
-	 * @param tree the tree to build
-	 */
-	private void getNodeSubTree(BinaryTreeNode<E> root, BinaryTreeNode<E> node,
-			BinaryTree<E> tree) {
-		if (root != null && !root.equals(node)) {
-			BinaryTreeNode<E> cursor = new BinaryTreeNode<E>(root.getInfo());
-
-			if (root.getLeft() != null && !root.getLeft().equals(node)) {
-				getNodeSubTree(root.getLeft(), node, tree);
-				cursor.setLeft((BinaryTreeNode<E>) tree.getRoot());
-			} else {
-				cursor.setLeft(null);
-			}
-			if (root.getRight() != null && root.getRight().equals(node)) {
-				getNodeSubTree(root.getRight(), node, tree);
-				cursor.setRight((BinaryTreeNode<E>) tree.getRoot());
-			} else {
-				cursor.setRight(null);
-			}
-
-			tree.setRoot(cursor);
-		}
-	}
-
 	/**
 	 * Returns a list of direct children of the specified node.
 	 * 
@@ -245,50 +291,49 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	public BinaryTree<E> getSubTree(BinaryTreeNode<E> node) {
 		BinaryTree<E> tree = null;
 		
-		if(node != null){
-			PreorderIterator<E> iter = preOrderIterator();
-			boolean found = false;
+		if(existsNode(node)){
+			BinaryTreeNode<E> newRoot = new BinaryTreeNode<E>(node.getInfo());
 			
-			while(iter.hasNext() && !found){
-				BinaryTreeNode<E> cursor = iter.nextNode();
-				
-				if(cursor.equals(node)){
-					found = true;
-					
-					BinaryTreeNode<E> newRoot = new BinaryTreeNode<E>(node.getInfo());
-					
-					buildSubTree(node, newRoot);	
-					
-					tree = new BinaryTree<E>(newRoot);
-				}
-			}
+			buildSubTree(node, newRoot);	
 			
+			tree = new BinaryTree<E>(newRoot);
 		}
 					
 		return tree;
 	}
 	
 	/**
-	 * Recursively builds a subtree by copying nodes from source to destination.
+	 * Builds a subtree by copying nodes from source to destination. The source and the copy
+	 * are traversed in lockstep with explicit stacks instead of recursion.
 	 * 
 	 * @param srcFather the source parent node
 	 * @param newFather the destination parent node
 	 */
 	private void buildSubTree(BinaryTreeNode<E> srcFather, BinaryTreeNode<E> newFather){
-		if(srcFather.getLeft() != null){
-			BinaryTreeNode<E> newLeft = new BinaryTreeNode<E>(srcFather.getLeft().getInfo());
-			
-			newFather.setLeft(newLeft);
-			
-			buildSubTree(srcFather.getLeft(), newFather.getLeft());
-		}
-		
-		if(srcFather.getRight() != null){
-			BinaryTreeNode<E> newRight = new BinaryTreeNode<E>(srcFather.getRight().getInfo());
-			
-			newFather.setRight(newRight);
-			
-			buildSubTree(srcFather.getRight(), newFather.getRight());
+		NodeStack<E> sources = new NodeStack<E>();
+		NodeStack<E> copies = new NodeStack<E>();
+
+		while(srcFather != null){
+			if(srcFather.getRight() != null){
+				BinaryTreeNode<E> newRight = new BinaryTreeNode<E>(srcFather.getRight().getInfo());
+
+				newFather.setRight(newRight);
+
+				sources.push(srcFather.getRight());
+				copies.push(newRight);
+			}
+
+			if(srcFather.getLeft() != null){
+				BinaryTreeNode<E> newLeft = new BinaryTreeNode<E>(srcFather.getLeft().getInfo());
+
+				newFather.setLeft(newLeft);
+
+				sources.push(srcFather.getLeft());
+				copies.push(newLeft);
+			}
+
+			srcFather = sources.pop();
+			newFather = copies.pop();
 		}
 	}
 
@@ -309,30 +354,25 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 					setRoot(node);
 				else {
 					node.setLeft((BinaryTreeNode<E>)root);
-					setRoot(node);
+					linkRoot(node);
+					//the old tree is already indexed, only the node and its right subtree are new
+					indexNode(node);
+					indexSubTree(node.getRight());
 				}
 				inserted = true;
 			} 
 			else {								
-				PreorderIterator<E> iterator = preOrderIterator();
-
-				boolean existsFather = false;
-
-				while(iterator.hasNext() && !existsFather){
-					BinaryTreeNode<E> currentNode = iterator.nextNode();
-
-					if(currentNode.equals(father))
-						existsFather = true;
-				}
-
-				if (existsFather) {
+				if (existsNode(father)) {
 					if (type == 'L') {//left
 						node.setLeft(father.getLeft());
 						father.setLeft(node);
+						indexSubTree(node.getRight());
 					} else {//right
 						node.setRight(father.getRight());
 						father.setRight(node);
+						indexSubTree(node.getLeft());
 					}
+					indexNode(node);
 					inserted = true;
 				}
 			}
@@ -341,12 +381,54 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 		return inserted;
 	}	
 
+	/**
+	 * Checks if the specified node belongs to the tree.
+	 * With the index enabled the node is looked up in the index, nodes that keep a reference
+	 * to their father are checked walking up to the root, and any other node is searched
+	 * with a pre-order traversal.
+	 * 
+	 * @param node the node to search
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	protected boolean existsNode(BinaryTreeNode<E> node) {
+		boolean exists = false;
+
+		if (isIndexed())
+			exists = super.containsNode(node);
+		else if (node instanceof BinaryTreeNodeWithFather)
+			exists = ((BinaryTreeNodeWithFather<E>)node).getRootNode().equals(root);
+		else if (node != null) {
+			PreorderIterator<E> iterator = preOrderIterator();
+
+			while(iterator.hasNext() && !exists){
+				if(iterator.nextNode().equals(node))
+					exists = true;
+			}
+		}
+
+		return exists;
+	}
+
+	/**
+	 * Checks if the specified node belongs to the tree, as {@link #existsNode(BinaryTreeNode)}.
+	 * 
+	 * @param node the node to check
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	@Override
+	public boolean containsNode(BinaryTreeNode<E> node) {
+		return existsNode(node);
+	}
+
 	/**
 	 * Returns the total number of nodes in the tree.
 	 * 
 	 * @return the total number of nodes
 	 */
 	public int totalNodes() {		
+		if (root instanceof AugmentedBinaryTreeNode)
+			return ((AugmentedBinaryTreeNode<E>)root).getSize();
+
 		int count = 0;
 
 		PreorderIterator<E> iterator = preOrderIterator();		
@@ -393,6 +475,58 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 		return new PosOrderIterator<E>(this);
 	}
 
+	/**
+	 * Returns a traversal of the tree a whole level at a time, from the root down to the
+	 * last level.
+	 * 
+	 * @return level traversal
+	 */
+	public LevelTraversal<E> levelTraversal(){
+		return levelTraversal(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns a traversal of the tree a whole level at a time, from the root down to the
+	 * specified level. The levels below it are not visited.
+	 * 
+	 * @param maxLevel the last level returned, 0 returns only the root
+	 * @return level traversal
+	 * @throws IllegalArgumentException if the level is negative
+	 */
+	public LevelTraversal<E> levelTraversal(int maxLevel){
+		return LevelTraversal.ofBinary((BinaryTreeNode<E>)root, maxLevel);
+	}
+
+	/**
+	 * Returns the number of nodes in every level of the tree, from the root down to the
+	 * specified level.
+	 * 
+	 * @param maxLevel the last level counted
+	 * @return the width of every level, an empty array if the tree is empty
+	 * @throws IllegalArgumentException if the level is negative
+	 */
+	public int[] levelWidths(int maxLevel){
+		return levelTraversal(maxLevel).remainingWidths();
+	}
+
+	/**
+	 * Returns an iterator over the elements of the tree in pre-order.
+	 * 
+	 * @return pre-order iterator
+	 */
+	public Iterator<E> iterator(){
+		return preOrderIterator();
+	}
+
+	/**
+	 * Returns a spliterator over the elements of the tree in pre-order, split by subtrees.
+	 * 
+	 * @return pre-order spliterator
+	 */
+	public Spliterator<E> spliterator(){
+		return new TreeSpliterator<E>((BinaryTreeNode<E>)root, TreeSpliterator.Traversal.PREORDER);
+	}
+
 	/**
 	 * Checks if the specified node is a leaf node.
 	 * 
@@ -410,6 +544,9 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	 */
 	@Override
 	public int treeHeight() {
+		if (root instanceof AugmentedBinaryTreeNode)
+			return ((AugmentedBinaryTreeNode<E>)root).getHeight();
+
 		return level((BinaryTreeNode<E>) root);
 	}
 
@@ -421,56 +558,19 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 	 * @return string representation of the tree
 	 */
 	public String traversePreOrder(BinaryTreeNode root, StringBuilder sb) {
-
-		if (root == null) {
-			return "";
+		try {
+			new TreePrinter().printBinary(root, sb);
+		} catch (IOException e) {
+			//a StringBuilder does not throw
+			throw new IllegalStateException(e);
 		}
 
-		sb.append(root.getInfo());
-
-		String pointerRight = "└──";
-		String pointerLeft = (root.getRight() != null) ? "├──" : "└──";
-
-		traverseNodes(sb, "", pointerLeft, root.getLeft(), root.getRight() != null);
-		traverseNodes(sb, "", pointerRight, root.getRight(), false);
-
 		return sb.toString();
 	}
 
-	/**
-	 * Helper method for tree traversal and string representation.
-	 * 
-	 * @param sb the string builder to append to
-	 * @param padding the padding for the current level
-	 * @param pointer the pointer symbol for the current node
-	 * @param node the current node
-	 * @param hasRightSibling whether the node has a right sibling
-	 */
-	private void traverseNodes(StringBuilder sb, String padding, String pointer, BinaryTreeNode node, boolean hasRightSibling) {
-		if (node != null) {
-			sb.append("\n");
-			sb.append(padding);
-			sb.append(pointer);
-			sb.append(node.getInfo());
-
-			StringBuilder paddingBuilder = new StringBuilder(padding);
-			if (hasRightSibling) {
-				paddingBuilder.append("│  ");
-			} else {
-				paddingBuilder.append("   ");
-			}
-
-			String paddingForBoth = paddingBuilder.toString();
-			String pointerRight = "└──";
-			String pointerLeft = (node.getRight() != null) ? "├──" : "└──";
-
-			traverseNodes(sb, paddingForBoth, pointerLeft, node.getLeft(), node.getRight() != null);
-			traverseNodes(sb, paddingForBoth, pointerRight, node.getRight(), false);
-		}
-	}
-
 	/**
 	 * Returns a string representation of the tree with visual formatting.
+	 * To write large trees without building the whole string, use {@link TreePrinter}.
 	 * 
 	 * @return string representation of the tree
 	 */
@@ -480,4 +580,18 @@ public class BinaryTree<E> extends Tree<E> implements Serializable{
 		traversePreOrder((BinaryTreeNode<E>) root, sb);
 		return sb.toString();
 	}
+
+	/**
+	 * Writes the nodes with {@link TreeCodec}, without recursion, since the root is declared
+	 * in {@link Tree}, which is not serializable.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		new TreeCodec<E>(ElementCodecs.<E>serializable()).writeNodes((BinaryTreeNode<E>)root, out);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		root = new TreeCodec<E>(ElementCodecs.<E>serializable()).readNodes(in);
+	}
 }
\ No newline at end of file
@@ -33,6 +33,20 @@ public class BinaryTreeNode<E> extends TreeNode<E> implements Serializable {
 		this.left = null;
 		this.right = null;
 	}
+
+	/**
+	 * Constructs a binary tree node with the specified information and children, linked
+	 * without calling {@link #setLeft(BinaryTreeNode)} and {@link #setRight(BinaryTreeNode)}.
+	 * 
+	 * @param info the information to store in the node
+	 * @param left the left child, or null
+	 * @param right the right child, or null
+	 */
+	protected BinaryTreeNode(E info, BinaryTreeNode<E> left, BinaryTreeNode<E> right) {
+		this.info = info;
+		this.left = left;
+		this.right = right;
+	}
 			
 	/**
 	 * Returns the information stored in this node.
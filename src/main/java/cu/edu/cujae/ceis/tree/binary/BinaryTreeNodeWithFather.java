@@ -0,0 +1,120 @@
+package cu.edu.cujae.ceis.tree.binary;
+
+/**
+ * Binary tree node that keeps a reference to its father.
+ * The reference is updated every time the node is linked or unlinked through
+ * {@link #setLeft(BinaryTreeNode)} or {@link #setRight(BinaryTreeNode)}, so trees built
+ * only with this kind of node can answer father and level queries walking up
+ * instead of scanning the whole tree.
+ *
+ * @param <E> the type of element stored in the node
+ */
+public class BinaryTreeNodeWithFather<E> extends BinaryTreeNode<E> {
+
+	private static final long serialVersionUID = 1L;
+	protected BinaryTreeNodeWithFather<E> father;
+
+	/**
+	 * Constructs an empty binary tree node without father.
+	 */
+	public BinaryTreeNodeWithFather() {
+		super();
+		this.father = null;
+	}
+
+	/**
+	 * Constructs a binary tree node without father with the specified information.
+	 *
+	 * @param info the information to store in the node
+	 */
+	public BinaryTreeNodeWithFather(E info) {
+		super(info);
+		this.father = null;
+	}
+
+	/**
+	 * Returns the father of this node.
+	 *
+	 * @return the father node, or null if this node is not linked to another node
+	 */
+	public BinaryTreeNodeWithFather<E> getFather() {
+		return father;
+	}
+
+	/**
+	 * Sets the father of this node. Used when the node becomes the root of a tree.
+	 *
+	 * @param father the father node
+	 */
+	public void setFather(BinaryTreeNodeWithFather<E> father) {
+		this.father = father;
+	}
+
+	/**
+	 * Returns the topmost ancestor of this node, following the father references.
+	 *
+	 * @return the ancestor without father, or this node if it has no father
+	 */
+	public BinaryTreeNodeWithFather<E> getRootNode() {
+		BinaryTreeNodeWithFather<E> cursor = this;
+
+		while(cursor.father != null)
+			cursor = cursor.father;
+
+		return cursor;
+	}
+
+	/**
+	 * Sets the left child of this node and updates the father of the old and new children.
+	 *
+	 * @param left the left child node
+	 */
+	@Override
+	public void setLeft(BinaryTreeNode<E> left) {
+		BinaryTreeNode<E> oldLeft = this.left;
+
+		this.left = left;
+
+		release(oldLeft);
+		adopt(left);
+	}
+
+	/**
+	 * Sets the right child of this node and updates the father of the old and new children.
+	 *
+	 * @param right the right child node
+	 */
+	@Override
+	public void setRight(BinaryTreeNode<E> right) {
+		BinaryTreeNode<E> oldRight = this.right;
+
+		this.right = right;
+
+		release(oldRight);
+		adopt(right);
+	}
+
+	/**
+	 * Makes this node the father of the specified child.
+	 *
+	 * @param child the new child
+	 */
+	private void adopt(BinaryTreeNode<E> child) {
+		if(child instanceof BinaryTreeNodeWithFather)
+			((BinaryTreeNodeWithFather<E>)child).father = this;
+	}
+
+	/**
+	 * Clears the father of a child that is no longer linked to this node.
+	 *
+	 * @param child the old child
+	 */
+	private void release(BinaryTreeNode<E> child) {
+		if(child instanceof BinaryTreeNodeWithFather && child != left && child != right){
+			BinaryTreeNodeWithFather<E> oldChild = (BinaryTreeNodeWithFather<E>)child;
+
+			if(oldChild.father == this)
+				oldChild.father = null;
+		}
+	}
+}
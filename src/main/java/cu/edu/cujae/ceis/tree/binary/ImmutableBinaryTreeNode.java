@@ -0,0 +1,115 @@
+package cu.edu.cujae.ceis.tree.binary;
+
+/**
+ * Binary tree node whose information and children can not change after it is created.
+ * Since the subtree rooted at the node never changes, it can be shared by several versions
+ * of a {@link PersistentBinaryTree} and read by several threads without locks, once it is
+ * published safely to them (through a volatile field, a lock or a concurrent collection).
+ * The information and children are stored once, in the fields of {@link BinaryTreeNode},
+ * and the setters throw. The node also keeps the size and height of its subtree.
+ *
+ * @param <E> the type of element stored in the node
+ */
+public class ImmutableBinaryTreeNode<E> extends BinaryTreeNode<E> {
+
+	private static final long serialVersionUID = 1L;
+	private final int size;
+	private final int height;
+
+	/**
+	 * Constructs a node without children with the specified information.
+	 *
+	 * @param info the information to store in the node
+	 */
+	public ImmutableBinaryTreeNode(E info) {
+		this(info, null, null);
+	}
+
+	/**
+	 * Constructs a node with the specified information and children.
+	 *
+	 * @param info the information to store in the node
+	 * @param left the left child, or null
+	 * @param right the right child, or null
+	 */
+	public ImmutableBinaryTreeNode(E info, ImmutableBinaryTreeNode<E> left, ImmutableBinaryTreeNode<E> right) {
+		super(info, left, right);
+
+		int leftHeight = left != null ? left.height : -1;
+		int rightHeight = right != null ? right.height : -1;
+
+		this.size = 1 + (left != null ? left.size : 0) + (right != null ? right.size : 0);
+		this.height = ((leftHeight >= rightHeight) ? leftHeight : rightHeight) + 1;
+	}
+
+	/**
+	 * Returns the left child of this node.
+	 *
+	 * @return the left child node
+	 */
+	@Override
+	public ImmutableBinaryTreeNode<E> getLeft() {
+		return (ImmutableBinaryTreeNode<E>)left;
+	}
+
+	/**
+	 * Returns the right child of this node.
+	 *
+	 * @return the right child node
+	 */
+	@Override
+	public ImmutableBinaryTreeNode<E> getRight() {
+		return (ImmutableBinaryTreeNode<E>)right;
+	}
+
+	/**
+	 * Returns the number of nodes of the subtree rooted at this node.
+	 *
+	 * @return the number of nodes of the subtree
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the height of the subtree rooted at this node.
+	 *
+	 * @return the subtree height, 0 for a leaf
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Not supported, the node can not change.
+	 *
+	 * @param info ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setInfo(E info) {
+		throw new UnsupportedOperationException("Immutable node");
+	}
+
+	/**
+	 * Not supported, the node can not change.
+	 *
+	 * @param left ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setLeft(BinaryTreeNode<E> left) {
+		throw new UnsupportedOperationException("Immutable node");
+	}
+
+	/**
+	 * Not supported, the node can not change.
+	 *
+	 * @param right ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setRight(BinaryTreeNode<E> right) {
+		throw new UnsupportedOperationException("Immutable node");
+	}
+}
@@ -0,0 +1,352 @@
+package cu.edu.cujae.ceis.tree.binary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+import cu.edu.cujae.ceis.tree.iterators.binary.PosOrderIterator;
+
+/**
+ * Immutable binary tree built from {@link ImmutableBinaryTreeNode}s.
+ * Updates do not change the tree: they return a new version that copies only the nodes on
+ * the path from the root to the changed node and shares every other node with the previous
+ * version. Old versions stay valid, so any version published safely to reader threads, for
+ * example through a volatile field, is a point-in-time snapshot read without locks or copies.
+ * <p>
+ * Nodes are addressed by their path from the root, a string of 'L' and 'R' characters
+ * where 'L' moves to the left child and 'R' to the right child; the empty string is the root.
+ * The methods inherited from {@link BinaryTree} that would modify the tree throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class PersistentBinaryTree<E> extends BinaryTree<E> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs an empty persistent tree.
+	 */
+	public PersistentBinaryTree() {
+		super();
+	}
+
+	/**
+	 * Constructs a persistent tree with the specified root.
+	 *
+	 * @param root the root node, or null for an empty tree
+	 */
+	public PersistentBinaryTree(ImmutableBinaryTreeNode<E> root) {
+		super(root);
+	}
+
+	/**
+	 * Creates a persistent tree with the same shape and information as the specified tree.
+	 * A persistent tree is returned as is; any other tree is copied once.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param tree the tree to copy
+	 * @return the persistent tree
+	 */
+	public static <E> PersistentBinaryTree<E> of(BinaryTree<E> tree) {
+		PersistentBinaryTree<E> persistent;
+
+		if(tree instanceof PersistentBinaryTree)
+			persistent = (PersistentBinaryTree<E>)tree;
+		else
+			persistent = new PersistentBinaryTree<E>(copy(tree));
+
+		return persistent;
+	}
+
+	/**
+	 * Returns the root node of the tree.
+	 *
+	 * @return the root node, or null if the tree is empty
+	 */
+	@Override
+	public ImmutableBinaryTreeNode<E> getRoot() {
+		return (ImmutableBinaryTreeNode<E>)root;
+	}
+
+	/**
+	 * Returns the node at the specified path.
+	 *
+	 * @param path the path from the root, made of 'L' and 'R' characters
+	 * @return the node, or null if there is no node at the path
+	 */
+	public ImmutableBinaryTreeNode<E> nodeAt(String path) {
+		ImmutableBinaryTreeNode<E> cursor = null;
+
+		if(path != null){
+			cursor = getRoot();
+
+			for(int i = 0; i < path.length() && cursor != null; i++)
+				cursor = child(cursor, path.charAt(i));
+		}
+
+		return cursor;
+	}
+
+	/**
+	 * Returns a new version of the tree where the node at the specified path stores the
+	 * specified information.
+	 *
+	 * @param path the path of the node
+	 * @param info the new information of the node
+	 * @return the new version, or null if there is no node at the path
+	 */
+	public PersistentBinaryTree<E> withInfo(String path, E info) {
+		PersistentBinaryTree<E> version = null;
+		ImmutableBinaryTreeNode<E> node = nodeAt(path);
+
+		if(node != null)
+			version = replace(path, new ImmutableBinaryTreeNode<E>(info, node.getLeft(), node.getRight()));
+
+		return version;
+	}
+
+	/**
+	 * Returns a new version of the tree with a new node inserted as a child of the node at the
+	 * specified path, like {@link BinaryTree#insertNode}: with type 'L' the new node becomes the
+	 * left child and the old left child becomes the left child of the new node, and the same
+	 * happens on the right side with type 'R'.
+	 *
+	 * @param fatherPath the path of the father node
+	 * @param type 'L' for the left child, 'R' for the right child
+	 * @param info the information of the new node
+	 * @return the new version, or null if there is no node at the path or the type is not valid
+	 */
+	public PersistentBinaryTree<E> withNode(String fatherPath, char type, E info) {
+		PersistentBinaryTree<E> version = null;
+		ImmutableBinaryTreeNode<E> father = nodeAt(fatherPath);
+
+		if(father != null){
+			if(type == 'L')
+				version = replace(fatherPath, new ImmutableBinaryTreeNode<E>(father.getInfo(),
+						new ImmutableBinaryTreeNode<E>(info, father.getLeft(), null), father.getRight()));
+			else if(type == 'R')
+				version = replace(fatherPath, new ImmutableBinaryTreeNode<E>(father.getInfo(),
+						father.getLeft(), new ImmutableBinaryTreeNode<E>(info, null, father.getRight())));
+		}
+
+		return version;
+	}
+
+	/**
+	 * Returns a new version of the tree with a new root whose left child is the current root,
+	 * like inserting with type 'R' and no father in {@link BinaryTree#insertNode}.
+	 *
+	 * @param info the information of the new root
+	 * @return the new version
+	 */
+	public PersistentBinaryTree<E> withNewRoot(E info) {
+		return new PersistentBinaryTree<E>(new ImmutableBinaryTreeNode<E>(info, getRoot(), null));
+	}
+
+	/**
+	 * Returns a new version of the tree where the node at the specified path is replaced by
+	 * the specified subtree, or removed with its descendants if the subtree is null.
+	 *
+	 * @param path the path of the node to replace
+	 * @param subTree the new subtree, may be null
+	 * @return the new version, or null if the path does not lead to a node or to an empty
+	 * child of a node
+	 */
+	public PersistentBinaryTree<E> withSubTree(String path, ImmutableBinaryTreeNode<E> subTree) {
+		PersistentBinaryTree<E> version = null;
+
+		if(path != null && (path.isEmpty() || nodeAt(path.substring(0, path.length() - 1)) != null)){
+			char last = path.isEmpty() ? 'L' : path.charAt(path.length() - 1);
+
+			if(last == 'L' || last == 'R')
+				version = replace(path, subTree);
+		}
+
+		return version;
+	}
+
+	/**
+	 * Returns a new version of the tree without the node at the specified path and its
+	 * descendants, like {@link BinaryTree#deleteNode}.
+	 *
+	 * @param path the path of the node to delete
+	 * @return the new version, or null if there is no node at the path
+	 */
+	public PersistentBinaryTree<E> withoutNode(String path) {
+		return nodeAt(path) != null ? replace(path, null) : null;
+	}
+
+	/**
+	 * Returns a mutable copy of the tree.
+	 *
+	 * @return a binary tree with the same shape and information
+	 */
+	public BinaryTree<E> toBinaryTree() {
+		BinaryTree<E> tree = new BinaryTree<E>();
+
+		if(root != null){
+			BinaryTreeNode<E> newRoot = new BinaryTreeNode<E>(getRoot().getInfo());
+			NodeStack<E> sources = new NodeStack<E>();
+			NodeStack<E> copies = new NodeStack<E>();
+
+			sources.push(getRoot());
+			copies.push(newRoot);
+
+			while(!sources.isEmpty()){
+				BinaryTreeNode<E> source = sources.pop();
+				BinaryTreeNode<E> copy = copies.pop();
+
+				if(source.getLeft() != null){
+					copy.setLeft(new BinaryTreeNode<E>(source.getLeft().getInfo()));
+					sources.push(source.getLeft());
+					copies.push(copy.getLeft());
+				}
+
+				if(source.getRight() != null){
+					copy.setRight(new BinaryTreeNode<E>(source.getRight().getInfo()));
+					sources.push(source.getRight());
+					copies.push(copy.getRight());
+				}
+			}
+
+			tree.setRoot(newRoot);
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Returns the subtree rooted at the specified node. The nodes are shared, not copied.
+	 *
+	 * @param node the root of the subtree
+	 * @return the subtree, or null if the node is not in the tree
+	 */
+	@Override
+	public PersistentBinaryTree<E> getSubTree(BinaryTreeNode<E> node) {
+		PersistentBinaryTree<E> tree = null;
+
+		if(node instanceof ImmutableBinaryTreeNode && existsNode(node))
+			tree = new PersistentBinaryTree<E>((ImmutableBinaryTreeNode<E>)node);
+
+		return tree;
+	}
+
+	/**
+	 * Returns the total number of nodes in the tree in constant time.
+	 *
+	 * @return the total number of nodes
+	 */
+	@Override
+	public int totalNodes() {
+		return root != null ? getRoot().getSize() : 0;
+	}
+
+	/**
+	 * Returns the height of the tree in constant time.
+	 *
+	 * @return the tree height, or -1 if the tree is empty
+	 */
+	@Override
+	public int treeHeight() {
+		return root != null ? getRoot().getHeight() : -1;
+	}
+
+	/**
+	 * Not supported, the tree can not change.
+	 *
+	 * @param root ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setRoot(TreeNode<E> root) {
+		throw new UnsupportedOperationException("Immutable tree");
+	}
+
+	/**
+	 * Not supported, the tree can not change. Use {@link #withNode} instead.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public boolean insertNode(BinaryTreeNode<E> node, char type, BinaryTreeNode<E> father) {
+		throw new UnsupportedOperationException("Immutable tree");
+	}
+
+	/**
+	 * Not supported, the tree can not change. Use {@link #withoutNode} instead.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public E deleteNode(BinaryTreeNode<E> node) {
+		throw new UnsupportedOperationException("Immutable tree");
+	}
+
+	/**
+	 * Copies the nodes on the path and links the replacement at its end.
+	 *
+	 * @param path the path of the replaced node, which must be valid up to its last step
+	 * @param replacement the new node at the end of the path, may be null
+	 * @return the new version
+	 */
+	private PersistentBinaryTree<E> replace(String path, ImmutableBinaryTreeNode<E> replacement) {
+		List<ImmutableBinaryTreeNode<E>> ancestors = new ArrayList<ImmutableBinaryTreeNode<E>>(path.length());
+		ImmutableBinaryTreeNode<E> cursor = getRoot();
+
+		for(int i = 0; i < path.length(); i++){
+			ancestors.add(cursor);
+			cursor = child(cursor, path.charAt(i));
+		}
+
+		ImmutableBinaryTreeNode<E> newNode = replacement;
+
+		for(int i = path.length() - 1; i >= 0; i--){
+			ImmutableBinaryTreeNode<E> ancestor = ancestors.get(i);
+
+			if(path.charAt(i) == 'L')
+				newNode = new ImmutableBinaryTreeNode<E>(ancestor.getInfo(), newNode, ancestor.getRight());
+			else
+				newNode = new ImmutableBinaryTreeNode<E>(ancestor.getInfo(), ancestor.getLeft(), newNode);
+		}
+
+		return new PersistentBinaryTree<E>(newNode);
+	}
+
+	/**
+	 * Returns the child of the node in the direction of the path step.
+	 *
+	 * @return the child, or null if the step is not 'L' or 'R'
+	 */
+	private static <E> ImmutableBinaryTreeNode<E> child(ImmutableBinaryTreeNode<E> node, char step) {
+		ImmutableBinaryTreeNode<E> child = null;
+
+		if(step == 'L')
+			child = node.getLeft();
+		else if(step == 'R')
+			child = node.getRight();
+
+		return child;
+	}
+
+	/**
+	 * Copies a tree into immutable nodes, creating every node after its children.
+	 *
+	 * @return the root of the copy, or null if the tree is empty
+	 */
+	private static <E> ImmutableBinaryTreeNode<E> copy(BinaryTree<E> tree) {
+		List<ImmutableBinaryTreeNode<E>> built = new ArrayList<ImmutableBinaryTreeNode<E>>();
+		PosOrderIterator<E> iterator = tree.posOrderIterator();
+
+		while(iterator.hasNext()){
+			BinaryTreeNode<E> node = iterator.nextNode();
+			ImmutableBinaryTreeNode<E> right = node.getRight() != null ? built.remove(built.size() - 1) : null;
+			ImmutableBinaryTreeNode<E> left = node.getLeft() != null ? built.remove(built.size() - 1) : null;
+
+			built.add(new ImmutableBinaryTreeNode<E>(node.getInfo(), left, right));
+		}
+
+		return built.isEmpty() ? null : built.get(0);
+	}
+}
@@ -0,0 +1,319 @@
+package cu.edu.cujae.ceis.tree.general;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * General tree node that keeps its sons in a growable array instead of a chain of brothers.
+ * The node still answers {@link #getLeft()} with its first son and {@link #getRight()} with
+ * its next brother, so it can be used in a {@link GeneralTree} and traversed by its
+ * iterators, but it also offers the degree, indexed access to the sons and appending a son
+ * in constant time, which the chain of brothers can only do walking the whole chain.
+ * All the sons and brothers linked to an array node must be array nodes too.
+ *
+ * @param <E> the type of element stored in the node
+ */
+public class ArrayGeneralTreeNode<E> extends BinaryTreeNode<E> {
+
+	private static final long serialVersionUID = 1L;
+	private static final ArrayGeneralTreeNode<?>[] NO_SONS = new ArrayGeneralTreeNode<?>[0];
+	private static final int MIN_CAPACITY = 4;
+
+	private ArrayGeneralTreeNode<E> father;
+	private int index;
+	private ArrayGeneralTreeNode<E>[] sons;
+	private int degree;
+
+	/**
+	 * Constructs an empty node without father and sons.
+	 */
+	public ArrayGeneralTreeNode() {
+		super();
+		this.father = null;
+		this.index = -1;
+		this.sons = noSons();
+		this.degree = 0;
+	}
+
+	/**
+	 * Constructs a node without father and sons with the specified information.
+	 *
+	 * @param info the information to store in the node
+	 */
+	public ArrayGeneralTreeNode(E info) {
+		super(info);
+		this.father = null;
+		this.index = -1;
+		this.sons = noSons();
+		this.degree = 0;
+	}
+
+	/**
+	 * Returns the father of this node in the general tree.
+	 *
+	 * @return the father node, or null if this node is not the son of another node
+	 */
+	public ArrayGeneralTreeNode<E> getFather() {
+		return father;
+	}
+
+	/**
+	 * Returns the position of this node among the sons of its father.
+	 *
+	 * @return the position of the node, or -1 if it has no father
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the number of sons of this node.
+	 *
+	 * @return the degree of the node
+	 */
+	public int getDegree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the son at the specified position.
+	 *
+	 * @param position the position of the son, starting at 0
+	 * @return the son, or null if the position is out of range
+	 */
+	public ArrayGeneralTreeNode<E> getSon(int position) {
+		ArrayGeneralTreeNode<E> son = null;
+
+		if(position >= 0 && position < degree)
+			son = sons[position];
+
+		return son;
+	}
+
+	/**
+	 * Returns a read-only view of the sons of this node. The view does not copy the sons and
+	 * reflects later changes of the node.
+	 *
+	 * @return the sons of the node
+	 */
+	public List<ArrayGeneralTreeNode<E>> getSonsView() {
+		return new SonsView();
+	}
+
+	/**
+	 * Appends a son after the last son of this node. The son is first removed from its
+	 * previous father, if it has one.
+	 *
+	 * @param son the new son
+	 */
+	public void addSon(ArrayGeneralTreeNode<E> son) {
+		addSon(degree, son);
+	}
+
+	/**
+	 * Inserts a son at the specified position, moving the next sons one position. The son is
+	 * first removed from its previous father, if it has one.
+	 *
+	 * @param position the position of the new son, from 0 to the degree of the node
+	 * @param son the new son
+	 * @throws IllegalArgumentException if the son is null or the position is out of range
+	 */
+	public void addSon(int position, ArrayGeneralTreeNode<E> son) {
+		if(son == null)
+			throw new IllegalArgumentException("The son can not be null");
+		if(position < 0 || position > degree)
+			throw new IllegalArgumentException("Invalid son position: " + position);
+
+		if(son.father != null){
+			if(son.father == this && son.index < position)
+				position--;
+
+			son.father.removeSon(son.index);
+		}
+
+		ensureCapacity(degree + 1);
+
+		System.arraycopy(sons, position, sons, position + 1, degree - position);
+		degree++;
+		place(son, position);
+		reindex(position + 1, degree);
+	}
+
+	/**
+	 * Removes the son at the specified position, moving the next sons one position.
+	 *
+	 * @param position the position of the son
+	 * @return the removed son, or null if the position is out of range
+	 */
+	public ArrayGeneralTreeNode<E> removeSon(int position) {
+		ArrayGeneralTreeNode<E> son = null;
+
+		if(position >= 0 && position < degree){
+			son = sons[position];
+
+			removeSons(position, position + 1);
+		}
+
+		return son;
+	}
+
+	/**
+	 * Returns the first son of this node.
+	 *
+	 * @return the first son, or null if the node is a leaf
+	 */
+	@Override
+	public BinaryTreeNode<E> getLeft() {
+		return (degree > 0) ? sons[0] : null;
+	}
+
+	/**
+	 * Replaces the sons of this node by the specified node and its brothers.
+	 *
+	 * @param left the new first son, or null to remove all the sons
+	 */
+	@Override
+	public void setLeft(BinaryTreeNode<E> left) {
+		replaceSons(0, left);
+	}
+
+	/**
+	 * Returns the next brother of this node. A node without father keeps its brother in the
+	 * right link, as the brothers of the root of a {@link GeneralTree}.
+	 *
+	 * @return the next brother, or null if this node is the last son of its father
+	 */
+	@Override
+	public BinaryTreeNode<E> getRight() {
+		BinaryTreeNode<E> brother;
+
+		if(father != null)
+			brother = (index + 1 < father.degree) ? father.sons[index + 1] : null;
+		else
+			brother = right;
+
+		return brother;
+	}
+
+	/**
+	 * Replaces the next brothers of this node by the specified node and its brothers.
+	 *
+	 * @param right the new next brother, or null to make this node the last son
+	 */
+	@Override
+	public void setRight(BinaryTreeNode<E> right) {
+		if(father != null)
+			father.replaceSons(index + 1, right);
+		else
+			this.right = right;
+	}
+
+	//Replaces the sons from the position on by the chain of brothers that starts at first.
+	//Unlinking sons, when first is null or a later son of this node, shifts the array in
+	//place; only a chain from elsewhere is copied
+	private void replaceSons(int from, BinaryTreeNode<E> first) {
+		if(first == null)
+			removeSons(from, degree);
+		else if(first instanceof ArrayGeneralTreeNode && ((ArrayGeneralTreeNode<E>)first).father == this
+				&& ((ArrayGeneralTreeNode<E>)first).index >= from)
+			removeSons(from, ((ArrayGeneralTreeNode<E>)first).index);
+		else
+			relinkSons(from, first);
+	}
+
+	//The chain is read before changing the array because it may be part of it
+	private void relinkSons(int from, BinaryTreeNode<E> first) {
+		List<ArrayGeneralTreeNode<E>> chain = new ArrayList<ArrayGeneralTreeNode<E>>();
+
+		for(BinaryTreeNode<E> cursor = first; cursor != null; cursor = cursor.getRight())
+			chain.add((ArrayGeneralTreeNode<E>)cursor);
+
+		for(int i = from; i < degree; i++){
+			sons[i].father = null;
+			sons[i].index = -1;
+			sons[i] = null;
+		}
+
+		degree = from;
+		ensureCapacity(from + chain.size());
+
+		for(ArrayGeneralTreeNode<E> son : chain){
+			if(son.father != null && son.father != this)
+				son.father.removeSon(son.index);
+
+			place(son, degree++);
+		}
+	}
+
+	//Removes the sons from the position from to the position to, excluded
+	private void removeSons(int from, int to) {
+		if(to > from){
+			for(int i = from; i < to; i++){
+				sons[i].father = null;
+				sons[i].index = -1;
+			}
+
+			System.arraycopy(sons, to, sons, from, degree - to);
+
+			int newDegree = degree - (to - from);
+
+			Arrays.fill(sons, newDegree, degree, null);
+			degree = newDegree;
+			reindex(from, degree);
+		}
+	}
+
+	private void place(ArrayGeneralTreeNode<E> son, int position) {
+		sons[position] = son;
+		son.father = this;
+		son.index = position;
+		son.right = null;
+	}
+
+	private void reindex(int from, int to) {
+		for(int i = from; i < to; i++)
+			sons[i].index = i;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if(capacity > sons.length){
+			int newCapacity = Math.max(MIN_CAPACITY, sons.length + (sons.length >> 1));
+
+			sons = Arrays.copyOf(sons, Math.max(newCapacity, capacity));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> ArrayGeneralTreeNode<E>[] noSons() {
+		return (ArrayGeneralTreeNode<E>[])NO_SONS;
+	}
+
+	/**
+	 * Read-only list over the array of sons, used by {@link #getSonsView()}.
+	 */
+	private class SonsView extends AbstractList<ArrayGeneralTreeNode<E>> implements RandomAccess {
+
+		@Override
+		public ArrayGeneralTreeNode<E> get(int position) {
+			if(position < 0 || position >= degree)
+				throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + degree);
+
+			return sons[position];
+		}
+
+		@Override
+		public int size() {
+			return degree;
+		}
+
+		@Override
+		public Object[] toArray() {
+			return Arrays.copyOf(sons, degree, Object[].class);
+		}
+	}
+}
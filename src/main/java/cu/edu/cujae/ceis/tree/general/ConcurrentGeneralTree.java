@@ -0,0 +1,470 @@
+package cu.edu.cujae.ceis.tree.general;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.iterators.ITreeIterator;
+import cu.edu.cujae.ceis.tree.iterators.general.BreadthNode;
+import cu.edu.cujae.ceis.tree.iterators.general.InBreadthIteratorWithLevels;
+
+/**
+ * Thread-safe facade over a {@link GeneralTree} for read-mostly workloads.
+ * Mutators take the write lock of a {@link StampedLock} and queries that walk the tree take
+ * its read lock, so readers do not block each other. Queries that only read a few fields, as
+ * the root, the level of the tree or the size and height kept by an augmented root, first run
+ * as optimistic reads, without locking, and are repeated under the read lock only if a writer
+ * changed the tree meanwhile. Iterators and streams work on a snapshot of the elements taken
+ * under the lock.
+ * <p>
+ * The wrapped tree must only be accessed through the facade. The nodes passed to and
+ * returned by the facade belong to the tree and must not be modified directly.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class ConcurrentGeneralTree<E> implements Iterable<E> {
+
+	//Result of an optimistic read when the value is not kept by the root and the tree must be walked
+	private static final int NOT_CACHED = Integer.MIN_VALUE;
+
+	private final GeneralTree<E> tree;
+	private final StampedLock lock;
+
+	/**
+	 * Constructs an empty concurrent general tree.
+	 */
+	public ConcurrentGeneralTree() {
+		this(new GeneralTree<E>());
+	}
+
+	/**
+	 * Constructs a concurrent general tree with the specified root.
+	 *
+	 * @param root the root node
+	 */
+	public ConcurrentGeneralTree(BinaryTreeNode<E> root) {
+		this(new GeneralTree<E>(root));
+	}
+
+	/**
+	 * Constructs a concurrent facade over the specified tree.
+	 *
+	 * @param tree the tree to wrap, which must not be used directly afterwards
+	 */
+	public ConcurrentGeneralTree(GeneralTree<E> tree) {
+		this.tree = tree;
+		this.lock = new StampedLock();
+	}
+
+	/**
+	 * Returns the root node of the tree.
+	 *
+	 * @return the root node, or null if the tree is empty
+	 */
+	public BinaryTreeNode<E> getRoot() {
+		return readOptimistic(() -> (BinaryTreeNode<E>)tree.getRoot());
+	}
+
+	/**
+	 * Checks if the tree is empty.
+	 *
+	 * @return true if the tree has no nodes, false otherwise
+	 */
+	public boolean isEmpty() {
+		return getRoot() == null;
+	}
+
+	/**
+	 * Sets the root node of the tree.
+	 *
+	 * @param root the new root node
+	 */
+	public void setRoot(BinaryTreeNode<E> root) {
+		long stamp = lock.writeLock();
+
+		try{
+			tree.setRoot(root);
+		}
+		finally{
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Inserts a node as the last son of the specified father, as {@link GeneralTree#insertNode}.
+	 *
+	 * @param node the node to insert
+	 * @param father the father node, or null to insert as root
+	 * @return true if the node was inserted, false otherwise
+	 */
+	public boolean insertNode(BinaryTreeNode<E> node, BinaryTreeNode<E> father) {
+		return write(t -> t.insertNode(node, father));
+	}
+
+	/**
+	 * Inserts a node as the first son of the specified father, as {@link GeneralTree#insertAsFirstSon}.
+	 *
+	 * @param node the node to insert
+	 * @param father the father node
+	 * @return true if the node was inserted, false otherwise
+	 */
+	public boolean insertAsFirstSon(BinaryTreeNode<E> node, BinaryTreeNode<E> father) {
+		return write(t -> t.insertAsFirstSon(node, father));
+	}
+
+	/**
+	 * Deletes the specified node and its descendants, as {@link GeneralTree#deleteNode}.
+	 *
+	 * @param node the node to delete
+	 * @return the information stored in the deleted node
+	 */
+	public E deleteNode(BinaryTreeNode<E> node) {
+		return write(t -> t.deleteNode(node));
+	}
+
+	/**
+	 * Returns the total number of nodes in the tree. With an augmented root the size it keeps
+	 * is read without locking, otherwise the tree is counted under the read lock.
+	 *
+	 * @return the total number of nodes
+	 */
+	public int totalNodes() {
+		int total = readIntOptimistic(() -> {
+			BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+
+			return (root instanceof AugmentedBinaryTreeNode) ? ((AugmentedBinaryTreeNode<E>)root).getSize() : NOT_CACHED;
+		});
+
+		return (total != NOT_CACHED) ? total : read(GeneralTree::totalNodes);
+	}
+
+	/**
+	 * Returns the father of the specified node.
+	 *
+	 * @param node the node
+	 * @return the father node, or null if the node is the root or is not in the tree
+	 */
+	public BinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
+		return read(t -> t.getFather(node));
+	}
+
+	/**
+	 * Returns the sons of the specified node.
+	 *
+	 * @param node the father node
+	 * @return list of son nodes
+	 */
+	public List<BinaryTreeNode<E>> getSons(BinaryTreeNode<E> node) {
+		return read(t -> t.getSons(node));
+	}
+
+	/**
+	 * Returns the information of the sons of the specified node.
+	 *
+	 * @param node the father node
+	 * @return list of the information of the sons
+	 */
+	public List<E> getSonsInfo(BinaryTreeNode<E> node) {
+		return read(t -> t.getSonsInfo(node));
+	}
+
+	/**
+	 * Returns the leaves of the tree.
+	 *
+	 * @return list of leaf nodes
+	 */
+	public List<TreeNode<E>> getLeaves() {
+		return read(GeneralTree::getLeaves);
+	}
+
+	/**
+	 * Returns the level of the specified node.
+	 *
+	 * @param node the node
+	 * @return the level of the node, or -1 if the node is not in the tree
+	 */
+	public int nodeLevel(TreeNode<E> node) {
+		return read(t -> t.nodeLevel(node));
+	}
+
+	/**
+	 * Returns the level of the tree.
+	 *
+	 * @return 0 if the tree has root, -1 if it is empty
+	 */
+	public int treeLevel() {
+		return readIntOptimistic(tree::treeLevel);
+	}
+
+	/**
+	 * Returns the height of the tree. With an augmented root the height kept by its first son
+	 * is read without locking, otherwise the levels are walked under the read lock.
+	 *
+	 * @return the tree height
+	 */
+	public int treeHeight() {
+		int height = readIntOptimistic(() -> {
+			BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+			int cached = NOT_CACHED;
+
+			if(root instanceof AugmentedBinaryTreeNode){
+				BinaryTreeNode<E> firstSon = root.getLeft();
+
+				if(firstSon == null)
+					cached = 0;
+				else if(firstSon instanceof AugmentedBinaryTreeNode)
+					cached = ((AugmentedBinaryTreeNode<E>)firstSon).getGeneralHeight() + 1;
+			}
+
+			return cached;
+		});
+
+		return (height != NOT_CACHED) ? height : read(GeneralTree::treeHeight);
+	}
+
+	/**
+	 * Returns the number of nodes in every level, from the root down to the specified level.
+	 *
+	 * @param maxLevel the last level counted
+	 * @return the width of every level, an empty array if the tree is empty
+	 * @throws IllegalArgumentException if the level is negative
+	 */
+	public int[] levelWidths(int maxLevel) {
+		return read(t -> t.levelWidths(maxLevel));
+	}
+
+	/**
+	 * Checks if the specified node is a leaf.
+	 *
+	 * @param node the node
+	 * @return true if the node has no sons, false otherwise
+	 */
+	public boolean nodeIsLeaf(TreeNode<E> node) {
+		return readOptimistic(() -> tree.nodeIsLeaf(node));
+	}
+
+	/**
+	 * Returns the number of sons of the specified node.
+	 *
+	 * @param node the node
+	 * @return the degree of the node
+	 */
+	public int nodeDegree(TreeNode<E> node) {
+		return read(t -> t.nodeDegree(node));
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the elements in depth-first order.
+	 *
+	 * @return depth-first iterator
+	 */
+	public Iterator<E> inDepthIterator() {
+		return snapshot(GeneralTree::inDepthIterator).iterator();
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the elements in breadth-first order.
+	 *
+	 * @return breadth-first iterator
+	 */
+	public Iterator<E> inBreadthIterator() {
+		return snapshot(GeneralTree::inBreadthIterator).iterator();
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the nodes in breadth-first order with their levels.
+	 *
+	 * @return breadth-first iterator with levels
+	 */
+	public Iterator<BreadthNode<E>> inBreadthIteratorWithLevels() {
+		return read(t -> {
+			List<BreadthNode<E>> nodes = new ArrayList<BreadthNode<E>>();
+			InBreadthIteratorWithLevels<E> iter = t.inBreadthIteratorWithLevels();
+
+			while(iter.hasNext())
+				nodes.add(iter.nextNodeWithLevel());
+
+			return nodes;
+		}).iterator();
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the elements in depth-first order.
+	 *
+	 * @return depth-first iterator
+	 */
+	public Iterator<E> iterator() {
+		return inDepthIterator();
+	}
+
+	/**
+	 * Returns a spliterator over a snapshot of the elements in depth-first order.
+	 *
+	 * @return depth-first spliterator
+	 */
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(snapshot(GeneralTree::inDepthIterator), Spliterator.ORDERED);
+	}
+
+	/**
+	 * Returns a sequential stream over a snapshot of the elements in depth-first order.
+	 *
+	 * @return a sequential stream of the elements
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Returns a parallel stream over a snapshot of the elements in depth-first order.
+	 *
+	 * @return a parallel stream of the elements
+	 */
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Runs a compound query on the wrapped tree under the read lock.
+	 *
+	 * @param query the query, which must not modify the tree
+	 * @return the result of the query
+	 */
+	public <R> R read(Function<? super GeneralTree<E>, R> query) {
+		long stamp = lock.readLock();
+
+		try{
+			return query.apply(tree);
+		}
+		finally{
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Runs a compound update on the wrapped tree under the write lock.
+	 *
+	 * @param update the update
+	 * @return the result of the update
+	 */
+	public <R> R write(Function<? super GeneralTree<E>, R> update) {
+		long stamp = lock.writeLock();
+
+		try{
+			return update.apply(tree);
+		}
+		finally{
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Returns a string representation of the tree.
+	 *
+	 * @return string representation of the tree
+	 */
+	@Override
+	public String toString() {
+		return read(GeneralTree::toString);
+	}
+
+	/**
+	 * Runs a query as an optimistic read and repeats it under the read lock if a writer
+	 * changed the tree meanwhile. The query may see the tree in an inconsistent state during
+	 * the optimistic attempt, so any exception it throws then is ignored. Only queries that
+	 * read a bounded number of fields may run this way: a walk over the tree could loop or
+	 * fail in ways that are not exceptions, and under frequent writes it would rarely validate.
+	 */
+	private <R> R readOptimistic(Supplier<R> query) {
+		long stamp = lock.tryOptimisticRead();
+		R result = null;
+		boolean valid = false;
+
+		if(stamp != 0){
+			try{
+				result = query.get();
+				valid = lock.validate(stamp);
+			}
+			catch(RuntimeException e){
+				valid = false;
+			}
+		}
+
+		if(!valid){
+			stamp = lock.readLock();
+
+			try{
+				result = query.get();
+			}
+			finally{
+				lock.unlockRead(stamp);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Same as {@link #readOptimistic(Supplier)} for queries that return an int, without boxing.
+	 */
+	private int readIntOptimistic(IntSupplier query) {
+		long stamp = lock.tryOptimisticRead();
+		int result = 0;
+		boolean valid = false;
+
+		if(stamp != 0){
+			try{
+				result = query.getAsInt();
+				valid = lock.validate(stamp);
+			}
+			catch(RuntimeException e){
+				valid = false;
+			}
+		}
+
+		if(!valid){
+			stamp = lock.readLock();
+
+			try{
+				result = query.getAsInt();
+			}
+			finally{
+				lock.unlockRead(stamp);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates an iterator of the tree and collects the elements it returns, both under the
+	 * read lock.
+	 */
+	private List<E> snapshot(Function<? super GeneralTree<E>, ? extends ITreeIterator<E>> iteratorFactory) {
+		long stamp = lock.readLock();
+		List<E> elements = new ArrayList<E>();
+
+		try{
+			ITreeIterator<E> iterator = iteratorFactory.apply(tree);
+
+			while(iterator.hasNext())
+				elements.add(iterator.next());
+		}
+		finally{
+			lock.unlockRead(stamp);
+		}
+
+		return elements;
+	}
+}
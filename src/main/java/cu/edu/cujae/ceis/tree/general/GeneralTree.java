@@ -1,13 +1,30 @@
 package cu.edu.cujae.ceis.tree.general;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
 import cu.edu.cujae.ceis.tree.Tree;
 import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
 import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
-import cu.edu.cujae.ceis.tree.iterators.general.BreadthNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNodeWithFather;
+import cu.edu.cujae.ceis.tree.io.ElementCodecs;
+import cu.edu.cujae.ceis.tree.io.TreeCodec;
+import cu.edu.cujae.ceis.tree.io.TreePrinter;
+import cu.edu.cujae.ceis.tree.iterators.LevelTraversal;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+import cu.edu.cujae.ceis.tree.iterators.TreeSpliterator;
 import cu.edu.cujae.ceis.tree.iterators.general.InBreadthIterator;
 import cu.edu.cujae.ceis.tree.iterators.general.InBreadthIteratorWithLevels;
 import cu.edu.cujae.ceis.tree.iterators.general.InDepthIterator;
@@ -43,6 +60,9 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	 * @return the total number of nodes
 	 */
 	public int totalNodes() {
+		if (root instanceof AugmentedBinaryTreeNode)
+			return ((AugmentedBinaryTreeNode<E>)root).getSize();
+
 		int count = 0;
 
 		InDepthIterator<E> iterator = inDepthIterator();		
@@ -65,8 +85,33 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 		E info = null;
 
 		if (node != null) {	
-			if(node.equals(root))
+			if(node.equals(root)){
 				root = null;
+				clearIndex();
+			}
+			else if(node instanceof ArrayGeneralTreeNode && ((ArrayGeneralTreeNode<E>)node).getFather() != null){
+				ArrayGeneralTreeNode<E> arrayNode = (ArrayGeneralTreeNode<E>)node;
+
+				if(containsArrayNode(arrayNode)){
+					arrayNode.getFather().removeSon(arrayNode.getIndex());
+					unindexBranch(node);
+
+					info = node.getInfo();
+				}
+			}
+			else if(node instanceof BinaryTreeNodeWithFather){
+				BinaryTreeNodeWithFather<E> father = ((BinaryTreeNodeWithFather<E>)node).getFather();
+
+				if(father != null && father.getRootNode().equals(root)){
+					if(node.equals(father.getLeft()))
+						father.setLeft(node.getRight());
+					else
+						father.setRight(node.getRight());
+
+					unindexBranch(node);
+					info = node.getInfo();
+				}
+			}
 			else{
 				InDepthIterator<E> iterator = inDepthIterator();
 
@@ -102,8 +147,10 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 					}					
 				}
 
-				if(foundedNode)
+				if(foundedNode){
+					unindexBranch(node);
 					info = node.getInfo();
+				}
 			}
 		}
 
@@ -119,7 +166,25 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	public BinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
 		BinaryTreeNode<E> father = null;
 
-		if (node != null && !isEmpty() || !root.equals(node)) {
+		if (node instanceof ArrayGeneralTreeNode) {
+			if (containsArrayNode((ArrayGeneralTreeNode<E>)node))
+				father = ((ArrayGeneralTreeNode<E>)node).getFather();
+		}
+		else if (node instanceof BinaryTreeNodeWithFather) {
+			BinaryTreeNodeWithFather<E> cursor = (BinaryTreeNodeWithFather<E>)node;
+
+			//the father is the first node reached through a left link
+			while(cursor.getFather() != null){
+				if(father == null && cursor.equals(cursor.getFather().getLeft()))
+					father = cursor.getFather();
+
+				cursor = cursor.getFather();
+			}
+
+			if(!cursor.equals(root))
+				father = null;
+		}
+		else if (node != null && !isEmpty() || !root.equals(node)) {
 			InDepthIterator<E> iterator = inDepthIterator();
 
 			boolean foundedNode = false;
@@ -183,7 +248,9 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	public List<BinaryTreeNode<E>> getSons(BinaryTreeNode<E> node) {
 		List<BinaryTreeNode<E>> sonsList = new ArrayList<BinaryTreeNode<E>>();
 
-		if (node != null) {
+		if (node instanceof ArrayGeneralTreeNode)
+			sonsList.addAll(((ArrayGeneralTreeNode<E>)node).getSonsView());
+		else if (node != null) {
 			if (node.getLeft() != null) {
 				sonsList.add(node.getLeft());
 				if (node.getLeft().getRight() != null) {
@@ -208,7 +275,13 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	public List<E> getSonsInfo(BinaryTreeNode<E> node) {
 		List<E> sonsInfoList = new ArrayList<E>();
 
-		if (node != null) {
+		if (node instanceof ArrayGeneralTreeNode) {
+			ArrayGeneralTreeNode<E> arrayNode = (ArrayGeneralTreeNode<E>)node;
+
+			for (int i = 0; i < arrayNode.getDegree(); i++)
+				sonsInfoList.add(arrayNode.getSon(i).getInfo());
+		}
+		else if (node != null) {
 			if (node.getLeft() != null) {
 				sonsInfoList.add(node.getLeft().getInfo());
 
@@ -226,16 +299,18 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	}	
 
 	/**
-	 * Inserts a node as a child of the specified parent node.
+	 * Inserts a node as a child of the specified parent node. The brothers linked after the
+	 * node are inserted with it, as the next sons of the parent, whatever the kind of parent.
 	 * 
 	 * @param node the node to insert
 	 * @param father the parent node, or null to insert as sibling of root
-	 * @return true if insertion was successful, false otherwise
+	 * @return true if insertion was successful, false otherwise, also when the father is an
+	 * {@link ArrayGeneralTreeNode} and the node is not
 	 */
 	public boolean insertNode(BinaryTreeNode<E> node, BinaryTreeNode<E> father) {
 		boolean inserted = false;
 
-		if(node != null)
+		if(node != null && acceptsSon(father, node))
 		{
 			if (isEmpty()) {
 				if (father == null) {
@@ -244,7 +319,28 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 				} 			
 			} 
 			else {
-				if (father != null) {							
+				if (father != null && isIndexed()) {
+					if(containsNode(father)){
+						appendSon(node, father);
+
+						inserted = true;
+					}
+				}
+				else if (father instanceof ArrayGeneralTreeNode) {
+					if(containsArrayNode((ArrayGeneralTreeNode<E>)father)){
+						appendSon(node, father);
+
+						inserted = true;
+					}
+				}
+				else if (father instanceof BinaryTreeNodeWithFather) {
+					if(((BinaryTreeNodeWithFather<E>)father).getRootNode().equals(root)){
+						appendSon(node, father);
+
+						inserted = true;
+					}
+				}
+				else if (father != null) {							
 					InDepthIterator<E> iterator = inDepthIterator();
 
 					boolean stop = false;
@@ -255,16 +351,7 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 						if(iterNode.equals(father)){
 							stop = true;
 
-							BinaryTreeNode<E> cursor = father.getLeft();
-
-							if (cursor == null) {
-								father.setLeft(node);
-							} else {
-								while (cursor.getRight() != null) {
-									cursor = cursor.getRight();
-								}
-								cursor.setRight(node);
-							}
+							appendSon(node, father);
 						}
 
 						inserted = true;
@@ -283,6 +370,7 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 						((BinaryTreeNode<E>) root).setRight(node);
 					}
 
+					indexSubTree(node);
 					inserted = true;
 				}
 			}
@@ -291,37 +379,417 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 		return inserted;
 	}
 
+	/**
+	 * Links a node as the last child of the specified parent node and adds it to the index.
+	 * 
+	 * @param node the node to link
+	 * @param father the parent node
+	 */
+	private void appendSon(BinaryTreeNode<E> node, BinaryTreeNode<E> father) {
+		BinaryTreeNode<E> cursor = father.getLeft();
+
+		if (father instanceof ArrayGeneralTreeNode && cursor != null) {
+			//the last son is at hand and its right link carries the brothers of the node
+			ArrayGeneralTreeNode<E> arrayFather = (ArrayGeneralTreeNode<E>)father;
+
+			arrayFather.getSon(arrayFather.getDegree() - 1).setRight(node);
+		} else if (cursor == null) {
+			father.setLeft(node);
+		} else {
+			while (cursor.getRight() != null) {
+				cursor = cursor.getRight();
+			}
+			cursor.setRight(node);
+		}
+
+		//the node brings its sons and the brothers linked after it
+		indexSubTree(node);
+	}
+
+	/**
+	 * Checks if the node, with the brothers linked after it, can be a son of the father: the
+	 * sons of an {@link ArrayGeneralTreeNode} must be array nodes too.
+	 */
+	private boolean acceptsSon(BinaryTreeNode<E> father, BinaryTreeNode<E> node) {
+		boolean accepted = true;
+
+		if(father instanceof ArrayGeneralTreeNode)
+			for(BinaryTreeNode<E> cursor = node; cursor != null && accepted; cursor = cursor.getRight())
+				accepted = cursor instanceof ArrayGeneralTreeNode;
+
+		return accepted;
+	}
+
 	/** 
 	 * Inserts a node as the first child of the specified parent node.
 	 * 
 	 * @param node the node to insert
 	 * @param father the parent node
-	 * @return true if insertion was successful, false otherwise
+	 * @return true if insertion was successful, false otherwise, also when the father is an
+	 * {@link ArrayGeneralTreeNode} and the node is not
 	 */
 	public boolean insertAsFirstSon(BinaryTreeNode<E> node, BinaryTreeNode<E> father) {		
 		boolean founded = false;
 
-		if(node != null && father != null){
-			InDepthIterator<E> iter = inDepthIterator();
+		if(node != null && father != null && (node instanceof ArrayGeneralTreeNode || !(father instanceof ArrayGeneralTreeNode))){
+			if(isIndexed())
+				founded = containsNode(father);
+			else if(father instanceof ArrayGeneralTreeNode)
+				founded = containsArrayNode((ArrayGeneralTreeNode<E>)father);
+			else if(father instanceof BinaryTreeNodeWithFather)
+				founded = ((BinaryTreeNodeWithFather<E>)father).getRootNode().equals(root);
+			else{
+				InDepthIterator<E> iter = inDepthIterator();
+
+				while(iter.hasNext() && ! founded)
+					founded = father.equals(iter.nextNode());
+			}
 
-			while(iter.hasNext() && ! founded){
-				BinaryTreeNode<E> elem = iter.nextNode();
+			if(founded){
+				if(father instanceof ArrayGeneralTreeNode)
+					((ArrayGeneralTreeNode<E>)father).addSon(0, (ArrayGeneralTreeNode<E>)node);
+				else if(father.getLeft() == null)
+					father.setLeft(node);
+				else{
+					BinaryTreeNode<E> h = father.getLeft();
+					node.setRight(h);
+					father.setLeft(node);
+				}
 
-				if(father.equals(elem)){
-					founded = true;
+				indexNode(node);
+				indexSubTree(node.getLeft());
+			}
+		}
 
-					if(father.getLeft() == null)
-						father.setLeft(node);
+		return founded;		
+	}
+
+	/**
+	 * Inserts every node as the last son of the father at the same position of the fathers
+	 * list, in list order, as {@link #insertNode(BinaryTreeNode, BinaryTreeNode)} would.
+	 * A father may be a node of the tree or a node inserted before in the same call, and a
+	 * null father inserts the node as root or as the last brother of the root. The fathers are
+	 * found in a single traversal of the tree and the last son of each one is remembered, so
+	 * inserting m nodes in a tree of n nodes takes O(n + m) instead of O(n * m).
+	 * 
+	 * @param nodes the nodes to insert
+	 * @param fathers the father of each node
+	 * @return the number of nodes inserted; a node whose father is not in the tree, or that
+	 * is not an {@link ArrayGeneralTreeNode} while its father is, is skipped
+	 * @throws IllegalArgumentException if the lists have different sizes
+	 */
+	public int insertAll(List<? extends BinaryTreeNode<E>> nodes, List<? extends BinaryTreeNode<E>> fathers) {
+		if(nodes.size() != fathers.size())
+			throw new IllegalArgumentException("Nodes and fathers have different sizes");
+
+		//father -> last son, null while the father has no sons
+		Map<BinaryTreeNode<E>, BinaryTreeNode<E>> lastSons = new HashMap<BinaryTreeNode<E>, BinaryTreeNode<E>>();
+		Set<BinaryTreeNode<E>> wanted = new HashSet<BinaryTreeNode<E>>(fathers);
+
+		wanted.remove(null);
+
+		if(isIndexed()){
+			for(BinaryTreeNode<E> father : wanted)
+				if(containsNode(father))
+					lastSons.put(father, lastBrother(father.getLeft()));
+		}
+		else if(!wanted.isEmpty()){
+			InDepthIterator<E> iterator = inDepthIterator();
+
+			while(iterator.hasNext() && lastSons.size() < wanted.size()){
+				BinaryTreeNode<E> cursor = iterator.nextNode();
+
+				if(wanted.contains(cursor))
+					lastSons.put(cursor, lastBrother(cursor.getLeft()));
+			}
+		}
+
+		BinaryTreeNode<E> lastRoot = lastBrother((BinaryTreeNode<E>)root);
+		int inserted = 0;
+
+		for(int i = 0; i < nodes.size(); i++){
+			BinaryTreeNode<E> node = nodes.get(i);
+			BinaryTreeNode<E> father = fathers.get(i);
+
+			if(node != null && acceptsSon(father, node) && (father == null || lastSons.containsKey(father))){
+				if(father == null){
+					if(lastRoot == null)
+						setRoot(node);
 					else{
-						BinaryTreeNode<E> h = father.getLeft();
-						node.setRight(h);
+						lastRoot.setRight(node);
+						indexSubTree(node);
+					}
+
+					lastRoot = lastBrother(node);
+				}
+				else{
+					BinaryTreeNode<E> lastSon = lastSons.get(father);
+
+					if(lastSon == null)
 						father.setLeft(node);
-					}				
+					else
+						lastSon.setRight(node);
+
+					indexSubTree(node);
+
+					lastSons.put(father, lastBrother(node));
 				}
+
+				if(!lastSons.containsKey(node))
+					lastSons.put(node, lastBrother(node.getLeft()));
+
+				inserted++;
 			}
 		}
 
-		return founded;		
+		return inserted;
+	}
+
+	/**
+	 * Deletes every node of the collection that is in the tree, with its descendants, in a
+	 * single traversal of the tree. Deleting the root empties the tree, as
+	 * {@link #deleteNode(BinaryTreeNode)} does; brothers of the root are unlinked from the
+	 * root. A node under another deleted node goes away with it and is not counted.
+	 * 
+	 * @param nodes the nodes to delete
+	 * @return the number of nodes of the collection deleted from the tree
+	 */
+	public int deleteAll(Collection<? extends BinaryTreeNode<E>> nodes) {
+		Set<BinaryTreeNode<E>> toDelete = new HashSet<BinaryTreeNode<E>>(nodes);
+		int deleted = 0;
+
+		if(root != null && toDelete.contains(root)){
+			root = null;
+			clearIndex();
+			deleted = 1;
+		}
+		else if(root != null){
+			NodeStack<E> pending = new NodeStack<E>();
+
+			//the brothers of the root form a chain like the sons of a node
+			deleted = unlinkSons((BinaryTreeNode<E>)root, toDelete, pending);
+			pending.push((BinaryTreeNode<E>)root);
+
+			BinaryTreeNode<E> father = pending.pop();
+
+			while(father != null){
+				if(father.getLeft() != null){
+					//unlink the first sons to delete, then the rest of the chain
+					while(father.getLeft() != null && toDelete.contains(father.getLeft())){
+						BinaryTreeNode<E> son = father.getLeft();
+
+						father.setLeft(son.getRight());
+						unindexBranch(son);
+						deleted++;
+					}
+
+					if(father.getLeft() != null){
+						deleted += unlinkSons(father.getLeft(), toDelete, pending);
+						pending.push(father.getLeft());
+					}
+				}
+
+				father = pending.pop();
+			}
+		}
+
+		return deleted;
+	}
+
+	/**
+	 * Builds a general tree from a parent array: the node at position i has the information
+	 * at position i and is a son of the node at position parents[i]. The sons of a node keep
+	 * the order of their positions. The first node with parent -1 is the root and the next
+	 * ones are brothers of the root. The tree is built in O(n).
+	 * 
+	 * @param <E> the type of elements stored in the tree
+	 * @param infos the information of the nodes
+	 * @param parents the position of the father of each node, -1 for the root and its brothers
+	 * @return the new tree
+	 * @throws IllegalArgumentException if the arrays have different sizes, a position is out
+	 * of range or the parents form a cycle
+	 */
+	public static <E> GeneralTree<E> fromParentArray(List<? extends E> infos, int[] parents) {
+		int size = infos.size();
+
+		if(parents.length != size)
+			throw new IllegalArgumentException("Infos and parents have different sizes");
+
+		for(int parent : parents)
+			if(parent < -1 || parent >= size)
+				throw new IllegalArgumentException("Parent out of range: " + parent);
+
+		checkAcyclic(parents);
+
+		BinaryTreeNode<E>[] nodes = createNodes(infos);
+		BinaryTreeNode<E>[] lastSons = newNodeArray(size);
+		GeneralTree<E> tree = new GeneralTree<E>();
+		BinaryTreeNode<E> lastRoot = null;
+
+		for(int i = 0; i < size; i++){
+			int parent = parents[i];
+
+			if(parent == -1){
+				if(lastRoot == null)
+					tree.setRoot(nodes[i]);
+				else
+					lastRoot.setRight(nodes[i]);
+
+				lastRoot = nodes[i];
+			}
+			else{
+				if(lastSons[parent] == null)
+					nodes[parent].setLeft(nodes[i]);
+				else
+					lastSons[parent].setRight(nodes[i]);
+
+				lastSons[parent] = nodes[i];
+			}
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Builds a general tree from an adjacency list: the node at position i has the information
+	 * at position i and sons[i] holds the positions of its sons in order. Nodes that can not
+	 * be reached from the root are not part of the tree. The tree is built in O(n).
+	 * 
+	 * @param <E> the type of elements stored in the tree
+	 * @param infos the information of the nodes
+	 * @param sons the positions of the sons of each node, null or empty for a leaf
+	 * @param root the position of the root
+	 * @return the new tree
+	 * @throws IllegalArgumentException if the arrays have different sizes, a position is out
+	 * of range or a node is the son of two nodes or of itself, or is the root and a son
+	 */
+	public static <E> GeneralTree<E> fromAdjacency(List<? extends E> infos, int[][] sons, int root) {
+		int size = infos.size();
+
+		if(sons.length != size)
+			throw new IllegalArgumentException("Infos and sons have different sizes");
+		if(root < 0 || root >= size)
+			throw new IllegalArgumentException("Root out of range: " + root);
+
+		boolean[] linked = new boolean[size];
+
+		linked[root] = true;
+
+		for(int[] nodeSons : sons)
+			if(nodeSons != null)
+				for(int son : nodeSons){
+					if(son < 0 || son >= size)
+						throw new IllegalArgumentException("Son out of range: " + son);
+					if(son == root)
+						throw new IllegalArgumentException("The root can not be a son: " + son);
+					if(linked[son])
+						throw new IllegalArgumentException("Node " + son + " has more than one father");
+
+					linked[son] = true;
+				}
+
+		BinaryTreeNode<E>[] nodes = createNodes(infos);
+
+		for(int i = 0; i < size; i++){
+			if(sons[i] != null && sons[i].length > 0){
+				nodes[i].setLeft(nodes[sons[i][0]]);
+
+				for(int j = 1; j < sons[i].length; j++)
+					nodes[sons[i][j - 1]].setRight(nodes[sons[i][j]]);
+			}
+		}
+
+		return new GeneralTree<E>(nodes[root]);
+	}
+
+	/**
+	 * Returns the last node of the brother chain that starts at the specified node.
+	 * 
+	 * @param node the first node of the chain
+	 * @return the last brother, or null if the node is null
+	 */
+	private BinaryTreeNode<E> lastBrother(BinaryTreeNode<E> node) {
+		if(node != null)
+			while(node.getRight() != null)
+				node = node.getRight();
+
+		return node;
+	}
+
+	/**
+	 * Unlinks the nodes to delete that follow the specified node in its brother chain and
+	 * pushes the nodes that stay, except the first one, to process their sons.
+	 * 
+	 * @return the number of nodes unlinked
+	 */
+	private int unlinkSons(BinaryTreeNode<E> first, Set<BinaryTreeNode<E>> toDelete, NodeStack<E> pending) {
+		int deleted = 0;
+		BinaryTreeNode<E> previous = first;
+
+		while(previous.getRight() != null){
+			BinaryTreeNode<E> cursor = previous.getRight();
+
+			if(toDelete.contains(cursor)){
+				previous.setRight(cursor.getRight());
+				unindexBranch(cursor);
+				deleted++;
+			}
+			else{
+				pending.push(cursor);
+				previous = cursor;
+			}
+		}
+
+		return deleted;
+	}
+
+	/**
+	 * Removes from the index a node unlinked from the tree and its descendants, but not its
+	 * brothers, which stay in the tree.
+	 * 
+	 * @param node the unlinked node
+	 */
+	private void unindexBranch(BinaryTreeNode<E> node) {
+		unindexNode(node);
+		unindexSubTree(node.getLeft());
+	}
+
+	/**
+	 * Checks that following the parents from any position always reaches -1.
+	 */
+	private static void checkAcyclic(int[] parents) {
+		//0 not visited, 1 in the current path, 2 reaches -1
+		byte[] state = new byte[parents.length];
+
+		for(int i = 0; i < parents.length; i++){
+			int cursor = i;
+
+			while(cursor != -1 && state[cursor] == 0){
+				state[cursor] = 1;
+				cursor = parents[cursor];
+			}
+
+			if(cursor != -1 && state[cursor] == 1)
+				throw new IllegalArgumentException("The parents form a cycle");
+
+			for(cursor = i; cursor != -1 && state[cursor] == 1; cursor = parents[cursor])
+				state[cursor] = 2;
+		}
+	}
+
+	private static <E> BinaryTreeNode<E>[] createNodes(List<? extends E> infos) {
+		BinaryTreeNode<E>[] nodes = newNodeArray(infos.size());
+		int i = 0;
+
+		for(E info : infos)
+			nodes[i++] = new BinaryTreeNode<E>(info);
+
+		return nodes;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <E> BinaryTreeNode<E>[] newNodeArray(int size) {
+		return new BinaryTreeNode[size];
 	}
 
 	/**
@@ -333,22 +801,46 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	public int nodeLevel(TreeNode<E> node) {
 		int level = -1;
 
-		if(node != null){
+		if(node instanceof ArrayGeneralTreeNode){
+			ArrayGeneralTreeNode<E> cursor = (ArrayGeneralTreeNode<E>)node;
+			int fathers = 0;
+
+			while(cursor.getFather() != null){
+				cursor = cursor.getFather();
+				fathers++;
+			}
+
+			if(cursor.equals(root))
+				level = fathers;
+		}
+		else if(node instanceof BinaryTreeNodeWithFather){
+			BinaryTreeNodeWithFather<E> cursor = (BinaryTreeNodeWithFather<E>)node;
+			BinaryTreeNode<E> rootBrother = isEmpty() ? null : ((BinaryTreeNode<E>)root).getRight();
+			int leftLinks = 0;
+
+			//every left link is a step from a son to its father
+			while(cursor.getFather() != null && !cursor.equals(rootBrother)){
+				if(cursor.equals(cursor.getFather().getLeft()))
+					leftLinks++;
+
+				cursor = cursor.getFather();
+			}
+
+			if(cursor.equals(root))
+				level = leftLinks;
+		}
+		else if(node != null){
 			if(node.equals(root))
 				level = 0;
 			else{
-				InBreadthIteratorWithLevels<E> iter = inBreadthIteratorWithLevels();
-
-				boolean found = false;			
-
-				while(iter.hasNext() && !found){
-					BreadthNode<E> cursor =  iter.nextNodeWithLevel();
+				LevelTraversal<E> levels = levelTraversal();
 
-					if(cursor.getNode().equals(node)){
-						found = true;
+				while(levels.hasNextLevel() && level == -1){
+					levels.nextLevel();
 
-						level = cursor.getLevel();
-					}
+					for(int i = 0; i < levels.getWidth() && level == -1; i++)
+						if(levels.getNode(i).equals(node))
+							level = levels.getLevel();
 				}
 			}
 		}
@@ -387,7 +879,9 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	public int nodeDegree (TreeNode<E> node) {
 		int degree = -1;
 
-		if(node != null){
+		if(node instanceof ArrayGeneralTreeNode)
+			degree = ((ArrayGeneralTreeNode<E>)node).getDegree();
+		else if(node != null){
 			degree = 0;
 
 			if (((BinaryTreeNode<E>)node).getLeft () != null) 
@@ -396,6 +890,27 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 		return degree;
 	}
 
+	/**
+	 * Checks if an array node is in the tree, following its fathers up to the root or one of
+	 * the brothers of the root.
+	 * 
+	 * @param node the node to check
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	private boolean containsArrayNode(ArrayGeneralTreeNode<E> node) {
+		ArrayGeneralTreeNode<E> top = node;
+
+		while(top.getFather() != null)
+			top = top.getFather();
+
+		BinaryTreeNode<E> cursor = (BinaryTreeNode<E>)root;
+
+		while(cursor != null && !cursor.equals(top))
+			cursor = cursor.getRight();
+
+		return cursor != null;
+	}
+
 	/**
 	 * Counts the number of right siblings (children of the same parent).
 	 * 
@@ -404,8 +919,10 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	 */
 	private int rightBrotherCount(BinaryTreeNode<E> node) {
 		int brother = 0;
-		if (node.getRight() != null) 
-			brother = 1 + rightBrotherCount(node.getRight());
+
+		for (BinaryTreeNode<E> cursor = node.getRight(); cursor != null; cursor = cursor.getRight())
+			brother++;
+
 		return brother;
 	}
 
@@ -437,93 +954,110 @@ public class GeneralTree<E> extends Tree<E> implements Serializable {
 	}
 
 	/**
-	 * Returns the height of the tree.
+	 * Returns a traversal of the tree a whole level at a time, from the root down to the
+	 * last level. The brothers of the root are not visited.
 	 * 
-	 * @return the tree height
+	 * @return level traversal
 	 */
-	public int treeHeight() {
-		int height = -1;
-		InBreadthIteratorWithLevels<E> iter = inBreadthIteratorWithLevels();
-
-		BreadthNode<E> lastNode = null;
-
-		while(iter.hasNext())
-			lastNode = iter.nextNodeWithLevel();
-
-		if(lastNode != null)	
-			height = lastNode.getLevel();
-
-		return height;
+	public LevelTraversal<E> levelTraversal(){
+		return levelTraversal(Integer.MAX_VALUE);
 	}
 
 	/**
-	 * Traverses the tree in pre-order and builds a string representation with visual formatting.
+	 * Returns a traversal of the tree a whole level at a time, from the root down to the
+	 * specified level. The levels below it are not visited.
 	 * 
-	 * @param root the root node to start traversal from
-	 * @param sb the string builder to append the representation to
-	 * @return string representation of the tree
+	 * @param maxLevel the last level returned, 0 returns only the root
+	 * @return level traversal
+	 * @throws IllegalArgumentException if the level is negative
 	 */
-	private String traversePreOrder(BinaryTreeNode root, StringBuilder sb) {
-
-		if (root == null) {
-			return "";
-		}
-
-		sb.append(root.getInfo().toString());
+	public LevelTraversal<E> levelTraversal(int maxLevel){
+		return LevelTraversal.ofGeneral((BinaryTreeNode<E>)root, maxLevel);
+	}
 
-		List<BinaryTreeNode> binaryTreeNodes = getSons(root);
-		for (int i = 0; i < binaryTreeNodes.size(); i++) {
-			boolean hasRightSibling = i < binaryTreeNodes.size() - 1;
-			String currentPointer = (hasRightSibling) ? "├──" : "└──";
-			BinaryTreeNode<E> currentNode = binaryTreeNodes.get(i);
-			traverseNodes(sb, "", currentPointer, currentNode, hasRightSibling);
-		}
+	/**
+	 * Returns the number of nodes in every level of the tree, from the root down to the
+	 * specified level.
+	 * 
+	 * @param maxLevel the last level counted
+	 * @return the width of every level, an empty array if the tree is empty
+	 * @throws IllegalArgumentException if the level is negative
+	 */
+	public int[] levelWidths(int maxLevel){
+		return levelTraversal(maxLevel).remainingWidths();
+	}
 
-		return sb.toString();
+	/**
+	 * Returns an iterator over the elements of the tree in depth-first order.
+	 * 
+	 * @return depth-first iterator
+	 */
+	public Iterator<E> iterator(){
+		return inDepthIterator();
 	}
 
 	/**
-	 * Helper method for tree traversal and string representation.
+	 * Returns a spliterator over the elements of the tree in depth-first order.
+	 * The tree is split by the first son and right brother chains, so every part
+	 * holds whole subtrees.
 	 * 
-	 * @param sb the string builder to append to
-	 * @param padding the padding for the current level
-	 * @param pointer the pointer symbol for the current node
-	 * @param node the current node
-	 * @param hasRightSibling whether the node has a right sibling
+	 * @return depth-first spliterator
 	 */
-	private void traverseNodes(StringBuilder sb, String padding, String pointer, BinaryTreeNode node, boolean hasRightSibling) {
-		if (node != null) {
-			sb.append("\n");
-			sb.append(padding);
-			sb.append(pointer);
-			sb.append(node.getInfo().toString());
+	public Spliterator<E> spliterator(){
+		return new TreeSpliterator<E>((BinaryTreeNode<E>)root, TreeSpliterator.Traversal.PREORDER);
+	}
 
-			StringBuilder paddingBuilder = new StringBuilder(padding);
-			if (hasRightSibling) {
-				paddingBuilder.append("│  ");
-			} else {
-				paddingBuilder.append("   ");
-			}
+	/**
+	 * Returns the height of the tree.
+	 * 
+	 * @return the tree height
+	 */
+	public int treeHeight() {
+		if (root instanceof AugmentedBinaryTreeNode) {
+			AugmentedBinaryTreeNode<E> firstSon = (AugmentedBinaryTreeNode<E>)((BinaryTreeNode<E>)root).getLeft();
 
-			List<BinaryTreeNode> binaryTreeNodes = getSons(node);
-			for (int i = 0; i < binaryTreeNodes.size(); i++) {
-				hasRightSibling = i < binaryTreeNodes.size() - 1;
-				String currentPointer = (hasRightSibling) ? "├──" : "└──";
-				BinaryTreeNode<E> currentNode = binaryTreeNodes.get(i);
-				traverseNodes(sb, paddingBuilder.toString(), currentPointer, currentNode, hasRightSibling);
-			}
+			return firstSon != null ? firstSon.getGeneralHeight() + 1 : 0;
 		}
+
+		LevelTraversal<E> levels = levelTraversal();
+
+		while(levels.hasNextLevel())
+			levels.nextLevel();
+
+		return levels.getLevel();
 	}
 
 	/**
 	 * Returns a string representation of the tree with visual formatting.
+	 * To write large trees without building the whole string, use {@link TreePrinter}.
 	 * 
 	 * @return string representation of the tree
 	 */
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		traversePreOrder((BinaryTreeNode<E>) root, sb);
+
+		try {
+			new TreePrinter().print(this, sb);
+		} catch (IOException e) {
+			//a StringBuilder does not throw
+			throw new IllegalStateException(e);
+		}
+
 		return sb.toString();
 	}
+
+	/**
+	 * Writes the nodes with {@link TreeCodec}, without recursion, since the root is declared
+	 * in {@link Tree}, which is not serializable.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		new TreeCodec<E>(ElementCodecs.<E>serializable()).writeNodes((BinaryTreeNode<E>)root, out);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		root = new TreeCodec<E>(ElementCodecs.<E>serializable()).readNodes(in);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,648 @@
+package cu.edu.cujae.ceis.tree.general;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.io.FixedWidthCodec;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+
+/**
+ * General tree stored outside the Java heap.
+ * Every node is a fixed-size record in direct buffers: the first son, next brother, father
+ * and last son of the node followed by its information, written by a {@link FixedWidthCodec}.
+ * Nodes are int handles and {@link #NONE} stands for no node. The heap only holds the
+ * buffer objects, one per 65536 nodes, so the garbage collector does not scan the nodes
+ * of the tree however large it is. The handles of deleted nodes are reused by later
+ * insertions, so a handle must not be used after its node is deleted.
+ * <p>
+ * The operations mirror those of {@link GeneralTree}, with handles in place of nodes. As
+ * there, the root may have brothers, which are inserted with {@link #NONE} as father.
+ * The buffers count towards the direct memory limit of the JVM and are released when the
+ * tree is garbage collected; {@link #clear()} keeps them for reuse.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class OffHeapGeneralTree<E> implements Iterable<E> {
+
+	/**
+	 * Handle that stands for no node, like null in a tree of node objects.
+	 */
+	public static final int NONE = -1;
+
+	//Marca en el campo padre de los nodos eliminados
+	private static final int FREE = -2;
+
+	private static final int FIRST_SON = 0;
+	private static final int NEXT_BROTHER = 4;
+	private static final int FATHER = 8;
+	private static final int LAST_SON = 12;
+	private static final int INFO = 16;
+
+	private static final int MAX_WIDTH = 1 << 14;
+
+	private static final int CHUNK_SHIFT = 16;
+	private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+	private final FixedWidthCodec<E> codec;
+	private final int recordSize;
+
+	private ByteBuffer[] chunks;
+
+	private int root;
+	private int lastRoot;
+	private int size;
+	private int next;
+
+	//Primer nodo eliminado, enlazado con los siguientes por el campo del siguiente hermano
+	private int free;
+
+	/**
+	 * Constructs an empty tree whose information is stored with the specified codec.
+	 *
+	 * @param codec the codec of the information of the nodes
+	 * @throws IllegalArgumentException if the width of the codec is negative or larger than 16 KB
+	 */
+	public OffHeapGeneralTree(FixedWidthCodec<E> codec) {
+		int width = codec.width();
+
+		if(width < 0 || width > MAX_WIDTH)
+			throw new IllegalArgumentException("Invalid width: " + width);
+
+		this.codec = codec;
+		this.recordSize = INFO + width;
+		this.chunks = new ByteBuffer[4];
+
+		clear();
+	}
+
+	/**
+	 * Creates an off-heap tree with the same shape and information as the specified tree,
+	 * including the brothers of the root.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param tree the tree to copy
+	 * @param codec the codec of the information of the nodes
+	 * @return the off-heap tree
+	 */
+	public static <E> OffHeapGeneralTree<E> of(GeneralTree<E> tree, FixedWidthCodec<E> codec) {
+		OffHeapGeneralTree<E> copy = new OffHeapGeneralTree<E>(codec);
+		NodeStack<E> stack = new NodeStack<E>();
+		int[] fathers = new int[16];
+		int top = 0;
+		int father = NONE;
+		BinaryTreeNode<E> source = (BinaryTreeNode<E>)tree.getRoot();
+
+		//Recorrido en profundidad de la forma binaria: el hijo izquierdo es el primer hijo
+		//del nodo y el derecho su hermano, que se apila junto al padre que comparten
+		while(source != null){
+			int handle = copy.insertNode(source.getInfo(), father);
+
+			if(source.getRight() != null){
+				if(top == fathers.length)
+					fathers = Arrays.copyOf(fathers, top << 1);
+
+				stack.push(source.getRight());
+				fathers[top++] = father;
+			}
+
+			if(source.getLeft() != null){
+				source = source.getLeft();
+				father = handle;
+			}
+			else{
+				source = stack.pop();
+
+				if(source != null)
+					father = fathers[--top];
+			}
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Creates a general tree of node objects with the same shape and information as this tree.
+	 *
+	 * @return the general tree
+	 */
+	public GeneralTree<E> toGeneralTree() {
+		GeneralTree<E> tree = new GeneralTree<E>();
+		BinaryTreeNode<E>[] copies = newPath(16);
+		int node = root;
+		int level = 0;
+
+		//En el recorrido en profundidad, copies[level - 1] es la copia del padre del nodo y
+		//copies[level] la de su hermano anterior
+		while(node != NONE){
+			BinaryTreeNode<E> copy = new BinaryTreeNode<E>(info(node));
+
+			if(level == copies.length)
+				copies = Arrays.copyOf(copies, level << 1);
+
+			if(node == root)
+				tree.setRoot(copy);
+			else if(level > 0 && get(get(node, FATHER), FIRST_SON) == node)
+				copies[level - 1].setLeft(copy);
+			else
+				copies[level].setRight(copy);
+
+			copies[level] = copy;
+
+			if(get(node, FIRST_SON) != NONE){
+				node = get(node, FIRST_SON);
+				level++;
+			}
+			else{
+				while(node != NONE && get(node, NEXT_BROTHER) == NONE){
+					node = get(node, FATHER);
+					level--;
+				}
+
+				if(node != NONE)
+					node = get(node, NEXT_BROTHER);
+			}
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Returns the root of the tree.
+	 *
+	 * @return the handle of the root, or {@link #NONE} if the tree is empty
+	 */
+	public int getRoot() {
+		return root;
+	}
+
+	/**
+	 * Checks if the tree is empty.
+	 *
+	 * @return true if the tree has no nodes, false otherwise
+	 */
+	public boolean isEmpty() {
+		return root == NONE;
+	}
+
+	/**
+	 * Returns the total number of nodes in the tree, including the brothers of the root.
+	 *
+	 * @return the total number of nodes
+	 */
+	public int totalNodes() {
+		return size;
+	}
+
+	/**
+	 * Checks if the handle belongs to a node of the tree.
+	 *
+	 * @param node the handle to check
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	public boolean existsNode(int node) {
+		return node >= 0 && node < next && get(node, FATHER) != FREE;
+	}
+
+	/**
+	 * Returns the information stored in the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the node information, or null if the node is not in the tree
+	 */
+	public E getInfo(int node) {
+		return existsNode(node) ? info(node) : null;
+	}
+
+	/**
+	 * Sets the information stored in the node.
+	 *
+	 * @param node the handle of the node
+	 * @param info the new information
+	 * @return true if the information was set, false if the node is not in the tree
+	 */
+	public boolean setInfo(int node, E info) {
+		boolean exists = existsNode(node);
+
+		if(exists)
+			codec.write(info, chunks[node >>> CHUNK_SHIFT], (node & CHUNK_MASK) * recordSize + INFO);
+
+		return exists;
+	}
+
+	/**
+	 * Returns the father of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the handle of the father, or {@link #NONE} if the node is the root, a brother
+	 *         of the root or is not in the tree
+	 */
+	public int getFather(int node) {
+		return existsNode(node) ? get(node, FATHER) : NONE;
+	}
+
+	/**
+	 * Returns the sons of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the handles of the sons, first son first
+	 */
+	public int[] getSons(int node) {
+		int[] sons = new int[Math.max(nodeDegree(node), 0)];
+		int i = 0;
+
+		if(existsNode(node))
+			for(int son = get(node, FIRST_SON); son != NONE; son = get(son, NEXT_BROTHER))
+				sons[i++] = son;
+
+		return sons;
+	}
+
+	/**
+	 * Returns the information of the sons of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return list of the information of the sons
+	 */
+	public List<E> getSonsInfo(int node) {
+		List<E> sonsInfo = new ArrayList<E>();
+
+		if(existsNode(node))
+			for(int son = get(node, FIRST_SON); son != NONE; son = get(son, NEXT_BROTHER))
+				sonsInfo.add(info(son));
+
+		return sonsInfo;
+	}
+
+	/**
+	 * Returns the degree (number of sons) of the node.
+	 *
+	 * @param node the handle of the node
+	 * @return the degree of the node, or -1 if the node is not in the tree
+	 */
+	public int nodeDegree(int node) {
+		int degree = -1;
+
+		if(existsNode(node)){
+			degree = 0;
+
+			for(int son = get(node, FIRST_SON); son != NONE; son = get(son, NEXT_BROTHER))
+				degree++;
+		}
+
+		return degree;
+	}
+
+	/**
+	 * Checks if the node is a leaf.
+	 *
+	 * @param node the handle of the node
+	 * @return true if the node is in the tree and has no sons, false otherwise
+	 */
+	public boolean nodeIsLeaf(int node) {
+		return existsNode(node) && get(node, FIRST_SON) == NONE;
+	}
+
+	/**
+	 * Returns the level of the node, walking up to the root.
+	 *
+	 * @param node the handle of the node
+	 * @return the level of the node, or -1 if the node is not in the tree
+	 */
+	public int nodeLevel(int node) {
+		return existsNode(node) ? level(node) : -1;
+	}
+
+	/**
+	 * Returns the height of the tree under the root, as {@link GeneralTree#treeHeight()}.
+	 *
+	 * @return the tree height, or -1 if the tree is empty
+	 */
+	public int treeHeight() {
+		int height = -1;
+
+		if(root != NONE){
+			int node = root;
+			int level = 0;
+
+			//Recorrido en profundidad sin pila que termina al volver a la raiz
+			while(node != NONE){
+				if(level > height)
+					height = level;
+
+				if(get(node, FIRST_SON) != NONE){
+					node = get(node, FIRST_SON);
+					level++;
+				}
+				else{
+					while(level > 0 && get(node, NEXT_BROTHER) == NONE){
+						node = get(node, FATHER);
+						level--;
+					}
+
+					node = (level > 0) ? get(node, NEXT_BROTHER) : NONE;
+				}
+			}
+		}
+
+		return height;
+	}
+
+	/**
+	 * Inserts a node as the last son of the specified father. If the father is {@link #NONE}
+	 * the node becomes the root of an empty tree or the last brother of the root.
+	 *
+	 * @param info the information of the new node
+	 * @param father the handle of the father, or {@link #NONE}
+	 * @return the handle of the new node, or {@link #NONE} if the father is not in the tree
+	 */
+	public int insertNode(E info, int father) {
+		int node = NONE;
+
+		if(father == NONE){
+			node = allocate(info, NONE);
+
+			if(root == NONE)
+				root = node;
+			else
+				set(lastRoot, NEXT_BROTHER, node);
+
+			lastRoot = node;
+		}
+		else if(existsNode(father)){
+			node = allocate(info, father);
+
+			int lastSon = get(father, LAST_SON);
+
+			if(lastSon == NONE)
+				set(father, FIRST_SON, node);
+			else
+				set(lastSon, NEXT_BROTHER, node);
+
+			set(father, LAST_SON, node);
+		}
+
+		return node;
+	}
+
+	/**
+	 * Inserts a node as the first son of the specified father.
+	 *
+	 * @param info the information of the new node
+	 * @param father the handle of the father
+	 * @return the handle of the new node, or {@link #NONE} if the father is not in the tree
+	 */
+	public int insertAsFirstSon(E info, int father) {
+		int node = NONE;
+
+		if(existsNode(father)){
+			node = allocate(info, father);
+
+			set(node, NEXT_BROTHER, get(father, FIRST_SON));
+			set(father, FIRST_SON, node);
+
+			if(get(father, LAST_SON) == NONE)
+				set(father, LAST_SON, node);
+		}
+
+		return node;
+	}
+
+	/**
+	 * Deletes the node from the tree with all its descendants. Its brothers stay in the tree;
+	 * if the node is the root, its next brother becomes the root. The handles of the deleted
+	 * nodes are reused by later insertions.
+	 *
+	 * @param node the handle of the node to delete
+	 * @return the information stored in the deleted node, or null if the node is not in the tree
+	 */
+	public E deleteNode(int node) {
+		E deleted = null;
+
+		if(existsNode(node)){
+			deleted = info(node);
+
+			unlink(node);
+
+			//Se liberan los nodos del subarbol en posorden, asi ningun nodo se libera antes
+			//que sus hijos
+			int cursor = firstPosOrder(node);
+
+			while(cursor != node){
+				int successor = (get(cursor, NEXT_BROTHER) != NONE) ? firstPosOrder(get(cursor, NEXT_BROTHER)) : get(cursor, FATHER);
+
+				release(cursor);
+				cursor = successor;
+			}
+
+			release(node);
+		}
+
+		return deleted;
+	}
+
+	/**
+	 * Deletes all the nodes of the tree. The buffers are kept for reuse.
+	 */
+	public void clear() {
+		root = NONE;
+		lastRoot = NONE;
+		size = 0;
+		next = 0;
+		free = NONE;
+	}
+
+	/**
+	 * Returns an in-depth (pre-order) iterator over the handles of the nodes, including the
+	 * brothers of the root and their descendants.
+	 *
+	 * @return in-depth iterator
+	 */
+	public PrimitiveIterator.OfInt inDepthIterator() {
+		return new PrimitiveIterator.OfInt() {
+			private int next = root;
+
+			public boolean hasNext() {
+				return next != NONE;
+			}
+
+			public int nextInt() {
+				if(next == NONE)
+					throw new NoSuchElementException();
+
+				int node = next;
+
+				next = preOrderSuccessor(node);
+
+				return node;
+			}
+		};
+	}
+
+	/**
+	 * Returns an iterator over the elements of the tree in depth-first order.
+	 *
+	 * @return depth-first iterator
+	 */
+	public Iterator<E> iterator() {
+		final PrimitiveIterator.OfInt nodes = inDepthIterator();
+
+		return new Iterator<E>() {
+			public boolean hasNext() {
+				return nodes.hasNext();
+			}
+
+			public E next() {
+				return info(nodes.nextInt());
+			}
+		};
+	}
+
+	/**
+	 * Returns a spliterator over the elements of the tree in depth-first order.
+	 *
+	 * @return depth-first spliterator
+	 */
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+	}
+
+	/**
+	 * Returns a sequential stream over the elements of the tree in depth-first order.
+	 *
+	 * @return a sequential stream of the elements
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	private int get(int node, int field) {
+		return chunks[node >>> CHUNK_SHIFT].getInt((node & CHUNK_MASK) * recordSize + field);
+	}
+
+	private void set(int node, int field, int value) {
+		chunks[node >>> CHUNK_SHIFT].putInt((node & CHUNK_MASK) * recordSize + field, value);
+	}
+
+	private E info(int node) {
+		return codec.read(chunks[node >>> CHUNK_SHIFT], (node & CHUNK_MASK) * recordSize + INFO);
+	}
+
+	private int level(int node) {
+		int level = 0;
+
+		while(get(node, FATHER) != NONE){
+			node = get(node, FATHER);
+			level++;
+		}
+
+		return level;
+	}
+
+	/**
+	 * Returns a new node without sons or brothers, reusing the handle of a deleted node if
+	 * there is one and adding a buffer when the last one is full.
+	 */
+	private int allocate(E info, int father) {
+		int node;
+
+		if(free != NONE){
+			node = free;
+			free = get(node, NEXT_BROTHER);
+		}
+		else{
+			if(next == Integer.MAX_VALUE)
+				throw new OutOfMemoryError("Tree is full");
+
+			int chunk = next >>> CHUNK_SHIFT;
+
+			if(chunk == chunks.length)
+				chunks = Arrays.copyOf(chunks, chunks.length << 1);
+
+			if(chunks[chunk] == null)
+				chunks[chunk] = ByteBuffer.allocateDirect(recordSize << CHUNK_SHIFT).order(ByteOrder.nativeOrder());
+
+			node = next++;
+		}
+
+		set(node, FIRST_SON, NONE);
+		set(node, NEXT_BROTHER, NONE);
+		set(node, FATHER, father);
+		set(node, LAST_SON, NONE);
+		codec.write(info, chunks[node >>> CHUNK_SHIFT], (node & CHUNK_MASK) * recordSize + INFO);
+		size++;
+
+		return node;
+	}
+
+	//Agrega el nodo a la lista de nodos libres
+	private void release(int node) {
+		set(node, NEXT_BROTHER, free);
+		set(node, FATHER, FREE);
+		free = node;
+		size--;
+	}
+
+	//Quita el nodo de la cadena de hermanos de su padre, o de la raiz
+	private void unlink(int node) {
+		int father = get(node, FATHER);
+		int first = (father == NONE) ? root : get(father, FIRST_SON);
+		int previous = NONE;
+
+		for(int cursor = first; cursor != node; cursor = get(cursor, NEXT_BROTHER))
+			previous = cursor;
+
+		int brother = get(node, NEXT_BROTHER);
+
+		if(previous != NONE)
+			set(previous, NEXT_BROTHER, brother);
+		else if(father == NONE)
+			root = brother;
+		else
+			set(father, FIRST_SON, brother);
+
+		if(brother == NONE){
+			if(father == NONE)
+				lastRoot = previous;
+			else
+				set(father, LAST_SON, previous);
+		}
+	}
+
+	private int preOrderSuccessor(int node) {
+		int successor = get(node, FIRST_SON);
+
+		if(successor == NONE){
+			while(node != NONE && get(node, NEXT_BROTHER) == NONE)
+				node = get(node, FATHER);
+
+			if(node != NONE)
+				successor = get(node, NEXT_BROTHER);
+		}
+
+		return successor;
+	}
+
+	//Primer nodo del subarbol en posorden, bajando por los primeros hijos
+	private int firstPosOrder(int node) {
+		while(get(node, FIRST_SON) != NONE)
+			node = get(node, FIRST_SON);
+
+		return node;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <E> BinaryTreeNode<E>[] newPath(int length) {
+		return new BinaryTreeNode[length];
+	}
+}
@@ -0,0 +1,177 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * DataInput that reads from a channel through a direct buffer.
+ * The channel is read ahead to fill the buffer, so it may be positioned after the last byte
+ * that was actually consumed.
+ */
+class ChannelDataInput implements DataInput {
+
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+
+	ChannelDataInput(ReadableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(ChannelDataOutput.BUFFER_SIZE);
+		this.buffer.limit(0);
+	}
+
+	/**
+	 * Reads from the channel until the buffer has at least the specified number of bytes.
+	 */
+	private void ensure(int bytes) throws IOException {
+		if(buffer.remaining() < bytes){
+			buffer.compact();
+
+			while(buffer.position() < bytes){
+				if(channel.read(buffer) < 0){
+					buffer.flip();
+					throw new EOFException();
+				}
+			}
+
+			buffer.flip();
+		}
+	}
+
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		while(len > 0){
+			ensure(1);
+
+			int chunk = Math.min(len, buffer.remaining());
+
+			buffer.get(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	public int skipBytes(int n) throws IOException {
+		int skipped = 0;
+
+		try{
+			while(skipped < n){
+				ensure(1);
+
+				int chunk = Math.min(n - skipped, buffer.remaining());
+
+				buffer.position(buffer.position() + chunk);
+				skipped += chunk;
+			}
+		}
+		catch(EOFException e){
+			//End of the channel
+		}
+
+		return skipped;
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	public byte readByte() throws IOException {
+		ensure(1);
+
+		return buffer.get();
+	}
+
+	public int readUnsignedByte() throws IOException {
+		return readByte() & 0xFF;
+	}
+
+	public short readShort() throws IOException {
+		ensure(2);
+
+		return buffer.getShort();
+	}
+
+	public int readUnsignedShort() throws IOException {
+		return readShort() & 0xFFFF;
+	}
+
+	public char readChar() throws IOException {
+		ensure(2);
+
+		return buffer.getChar();
+	}
+
+	public int readInt() throws IOException {
+		ensure(4);
+
+		return buffer.getInt();
+	}
+
+	public long readLong() throws IOException {
+		ensure(8);
+
+		return buffer.getLong();
+	}
+
+	public float readFloat() throws IOException {
+		ensure(4);
+
+		return buffer.getFloat();
+	}
+
+	public double readDouble() throws IOException {
+		ensure(8);
+
+		return buffer.getDouble();
+	}
+
+	public String readLine() throws IOException {
+		StringBuilder line = new StringBuilder();
+		boolean end = false;
+		boolean empty = true;
+
+		while(!end){
+			try{
+				ensure(1);
+			}
+			catch(EOFException e){
+				end = true;
+			}
+
+			if(!end){
+				char c = (char)(buffer.get() & 0xFF);
+				empty = false;
+
+				if(c == '\n')
+					end = true;
+				else if(c == '\r'){
+					end = true;
+
+					try{
+						ensure(1);
+
+						if(buffer.get(buffer.position()) == '\n')
+							buffer.get();
+					}
+					catch(EOFException e){
+						//No more bytes after the \r
+					}
+				}
+				else
+					line.append(c);
+			}
+		}
+
+		return empty ? null : line.toString();
+	}
+
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+}
@@ -0,0 +1,188 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * DataOutput that writes to a channel through a direct buffer.
+ * The buffer is only written to the channel when it is full and on {@link #flush()}.
+ * Values already written can be replaced with {@link #patchLong} and {@link #patchInt}.
+ */
+class ChannelDataOutput implements DataOutput {
+
+	static final int BUFFER_SIZE = 1 << 16;
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private long flushed;
+
+	ChannelDataOutput(WritableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.flushed = 0;
+	}
+
+	/**
+	 * Returns the number of bytes written so far, which is the position of the next byte.
+	 */
+	long position() {
+		return flushed + buffer.position();
+	}
+
+	/**
+	 * Replaces the long written at the specified position. Values that are no longer in the
+	 * buffer are written directly to the channel, which must be a {@link FileChannel}.
+	 */
+	void patchLong(long position, long value) throws IOException {
+		if(position >= flushed)
+			buffer.putLong((int)(position - flushed), value);
+		else{
+			ByteBuffer bytes = ByteBuffer.allocate(8);
+
+			bytes.putLong(0, value);
+			patch(position, bytes);
+		}
+	}
+
+	/**
+	 * Replaces the int written at the specified position, like {@link #patchLong}.
+	 */
+	void patchInt(long position, int value) throws IOException {
+		if(position >= flushed)
+			buffer.putInt((int)(position - flushed), value);
+		else{
+			ByteBuffer bytes = ByteBuffer.allocate(4);
+
+			bytes.putInt(0, value);
+			patch(position, bytes);
+		}
+	}
+
+	private void patch(long position, ByteBuffer bytes) throws IOException {
+		FileChannel file = (FileChannel)channel;
+
+		while(bytes.hasRemaining())
+			file.write(bytes, position + bytes.position());
+	}
+
+	/**
+	 * Writes the buffered bytes to the channel.
+	 */
+	void flush() throws IOException {
+		flushed += buffer.position();
+		buffer.flip();
+
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+
+		buffer.clear();
+	}
+
+	private void ensure(int bytes) throws IOException {
+		if(buffer.remaining() < bytes)
+			flush();
+	}
+
+	public void write(int b) throws IOException {
+		ensure(1);
+		buffer.put((byte)b);
+	}
+
+	public void write(byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	public void write(byte[] b, int off, int len) throws IOException {
+		while(len > 0){
+			ensure(1);
+
+			int chunk = Math.min(len, buffer.remaining());
+
+			buffer.put(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	public void writeBoolean(boolean v) throws IOException {
+		write(v ? 1 : 0);
+	}
+
+	public void writeByte(int v) throws IOException {
+		write(v);
+	}
+
+	public void writeShort(int v) throws IOException {
+		ensure(2);
+		buffer.putShort((short)v);
+	}
+
+	public void writeChar(int v) throws IOException {
+		ensure(2);
+		buffer.putChar((char)v);
+	}
+
+	public void writeInt(int v) throws IOException {
+		ensure(4);
+		buffer.putInt(v);
+	}
+
+	public void writeLong(long v) throws IOException {
+		ensure(8);
+		buffer.putLong(v);
+	}
+
+	public void writeFloat(float v) throws IOException {
+		ensure(4);
+		buffer.putFloat(v);
+	}
+
+	public void writeDouble(double v) throws IOException {
+		ensure(8);
+		buffer.putDouble(v);
+	}
+
+	public void writeBytes(String s) throws IOException {
+		for(int i = 0; i < s.length(); i++)
+			write(s.charAt(i));
+	}
+
+	public void writeChars(String s) throws IOException {
+		for(int i = 0; i < s.length(); i++)
+			writeChar(s.charAt(i));
+	}
+
+	public void writeUTF(String s) throws IOException {
+		int length = 0;
+
+		for(int i = 0; i < s.length(); i++){
+			char c = s.charAt(i);
+			length += (c >= 0x0001 && c <= 0x007F) ? 1 : (c > 0x07FF ? 3 : 2);
+		}
+
+		if(length > 0xFFFF)
+			throw new UTFDataFormatException("Encoded string too long: " + length + " bytes");
+
+		writeShort(length);
+
+		for(int i = 0; i < s.length(); i++){
+			char c = s.charAt(i);
+
+			if(c >= 0x0001 && c <= 0x007F)
+				write(c);
+			else if(c > 0x07FF){
+				write(0xE0 | ((c >> 12) & 0x0F));
+				write(0x80 | ((c >> 6) & 0x3F));
+				write(0x80 | (c & 0x3F));
+			}
+			else{
+				write(0xC0 | ((c >> 6) & 0x1F));
+				write(0x80 | (c & 0x3F));
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads the elements stored in the nodes of a tree for {@link TreeCodec}.
+ * Null elements are handled by the tree codec, so the codec only receives non-null elements.
+ * Common codecs are available in {@link ElementCodecs}.
+ *
+ * @param <E> the type of elements written and read
+ */
+public interface ElementCodec<E> {
+
+	/**
+	 * Writes the element to the output.
+	 *
+	 * @param element the element to write, never null
+	 * @param out the output
+	 * @throws IOException if the element can not be written
+	 */
+	void write(E element, DataOutput out) throws IOException;
+
+	/**
+	 * Reads an element written by {@link #write}.
+	 *
+	 * @param in the input
+	 * @return the element read
+	 * @throws IOException if the element can not be read
+	 */
+	E read(DataInput in) throws IOException;
+}
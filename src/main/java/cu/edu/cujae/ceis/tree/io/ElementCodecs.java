@@ -0,0 +1,136 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Element codecs for the common element types.
+ */
+public final class ElementCodecs {
+
+	/**
+	 * Writes integers in 4 bytes.
+	 */
+	public static final ElementCodec<Integer> INTEGER = new ElementCodec<Integer>() {
+		public void write(Integer element, DataOutput out) throws IOException {
+			out.writeInt(element);
+		}
+
+		public Integer read(DataInput in) throws IOException {
+			return in.readInt();
+		}
+	};
+
+	/**
+	 * Writes longs in 8 bytes.
+	 */
+	public static final ElementCodec<Long> LONG = new ElementCodec<Long>() {
+		public void write(Long element, DataOutput out) throws IOException {
+			out.writeLong(element);
+		}
+
+		public Long read(DataInput in) throws IOException {
+			return in.readLong();
+		}
+	};
+
+	/**
+	 * Writes doubles in 8 bytes.
+	 */
+	public static final ElementCodec<Double> DOUBLE = new ElementCodec<Double>() {
+		public void write(Double element, DataOutput out) throws IOException {
+			out.writeDouble(element);
+		}
+
+		public Double read(DataInput in) throws IOException {
+			return in.readDouble();
+		}
+	};
+
+	/**
+	 * Writes strings as their length in bytes followed by their UTF-8 encoding, without the
+	 * 64 KB limit of {@link DataOutput#writeUTF}.
+	 */
+	public static final ElementCodec<String> STRING = new ElementCodec<String>() {
+		public void write(String element, DataOutput out) throws IOException {
+			byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		public String read(DataInput in) throws IOException {
+			byte[] bytes = new byte[in.readInt()];
+
+			in.readFully(bytes);
+
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+
+	private static final ElementCodec<Object> SERIALIZABLE = new ElementCodec<Object>() {
+		public void write(Object element, DataOutput out) throws IOException {
+			if(out instanceof ObjectOutput)
+				((ObjectOutput)out).writeObject(element);
+			else{
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				ObjectOutputStream objectOut = new ObjectOutputStream(bytes);
+
+				objectOut.writeObject(element);
+				objectOut.close();
+
+				out.writeInt(bytes.size());
+				out.write(bytes.toByteArray());
+			}
+		}
+
+		public Object read(DataInput in) throws IOException {
+			try{
+				Object element;
+
+				if(in instanceof ObjectInput)
+					element = ((ObjectInput)in).readObject();
+				else{
+					byte[] bytes = new byte[in.readInt()];
+
+					in.readFully(bytes);
+
+					ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes));
+
+					element = objectIn.readObject();
+					objectIn.close();
+				}
+
+				return element;
+			}
+			catch(ClassNotFoundException e){
+				throw new IOException("Element class not found", e);
+			}
+		}
+	};
+
+	private ElementCodecs() {
+	}
+
+	/**
+	 * Returns a codec that writes the elements with Java serialization. Inside an
+	 * {@link ObjectOutput} the elements are written to the same object stream; in any other
+	 * output every element is written as a separate serialized object, which is much
+	 * larger and slower than a codec for the specific type.
+	 *
+	 * @param <E> the type of elements written and read
+	 * @return the serialization codec
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> ElementCodec<E> serializable() {
+		return (ElementCodec<E>)SERIALIZABLE;
+	}
+}
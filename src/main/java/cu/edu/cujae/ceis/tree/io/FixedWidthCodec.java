@@ -0,0 +1,40 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes and reads elements that always take the same number of bytes, so they can be stored
+ * in fixed-size records of a buffer, as the nodes of an
+ * {@link cu.edu.cujae.ceis.tree.general.OffHeapGeneralTree}. Reads and writes are absolute
+ * and must not change the position of the buffer. Common codecs are available in
+ * {@link FixedWidthCodecs}.
+ *
+ * @param <E> the type of elements written and read
+ */
+public interface FixedWidthCodec<E> {
+
+	/**
+	 * Returns the number of bytes of every element.
+	 *
+	 * @return the width of the elements
+	 */
+	int width();
+
+	/**
+	 * Writes the element at the specified index of the buffer.
+	 *
+	 * @param element the element to write
+	 * @param buffer the buffer
+	 * @param index the index of the first byte of the element
+	 */
+	void write(E element, ByteBuffer buffer, int index);
+
+	/**
+	 * Reads an element written by {@link #write} at the specified index of the buffer.
+	 *
+	 * @param buffer the buffer
+	 * @param index the index of the first byte of the element
+	 * @return the element read
+	 */
+	E read(ByteBuffer buffer, int index);
+}
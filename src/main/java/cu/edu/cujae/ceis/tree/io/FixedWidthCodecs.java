@@ -0,0 +1,63 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-width codecs for the common element types. They do not accept null elements.
+ */
+public final class FixedWidthCodecs {
+
+	/**
+	 * Writes integers in 4 bytes.
+	 */
+	public static final FixedWidthCodec<Integer> INTEGER = new FixedWidthCodec<Integer>() {
+		public int width() {
+			return 4;
+		}
+
+		public void write(Integer element, ByteBuffer buffer, int index) {
+			buffer.putInt(index, element);
+		}
+
+		public Integer read(ByteBuffer buffer, int index) {
+			return buffer.getInt(index);
+		}
+	};
+
+	/**
+	 * Writes longs in 8 bytes.
+	 */
+	public static final FixedWidthCodec<Long> LONG = new FixedWidthCodec<Long>() {
+		public int width() {
+			return 8;
+		}
+
+		public void write(Long element, ByteBuffer buffer, int index) {
+			buffer.putLong(index, element);
+		}
+
+		public Long read(ByteBuffer buffer, int index) {
+			return buffer.getLong(index);
+		}
+	};
+
+	/**
+	 * Writes doubles in 8 bytes.
+	 */
+	public static final FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<Double>() {
+		public int width() {
+			return 8;
+		}
+
+		public void write(Double element, ByteBuffer buffer, int index) {
+			buffer.putDouble(index, element);
+		}
+
+		public Double read(ByteBuffer buffer, int index) {
+			return buffer.getDouble(index);
+		}
+	};
+
+	private FixedWidthCodecs() {
+	}
+}
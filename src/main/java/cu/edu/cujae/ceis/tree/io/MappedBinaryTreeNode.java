@@ -0,0 +1,174 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * Read-only node of a {@link MappedTree}, decoded lazily from the mapped file.
+ * Creating a node only reads its structure byte; the information is decoded the first time
+ * it is needed and the children are created on every call to {@link #getLeft()} and
+ * {@link #getRight()}, so the nodes of the tree are not kept on the heap. Two nodes are
+ * equal if they are at the same position of the same tree.
+ *
+ * @param <E> the type of element stored in the node
+ */
+public class MappedBinaryTreeNode<E> extends BinaryTreeNode<E> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final MappedTree<E> tree;
+	private final long offset;
+	private final int flags;
+
+	//Position of the first byte after the information, -1 until it is decoded. Written
+	//after the information, so a thread that sees it also sees the information
+	private volatile long infoEnd;
+
+	MappedBinaryTreeNode(MappedTree<E> tree, long offset) {
+		super();
+		this.tree = tree;
+		this.offset = offset;
+		this.flags = tree.file.get(offset);
+		this.infoEnd = -1;
+	}
+
+	/**
+	 * Returns the position of the node in the file.
+	 *
+	 * @return the offset of the node record
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Returns the information stored in this node, decoding it on the first call.
+	 *
+	 * @return the node information
+	 * @throws UncheckedIOException if the information can not be decoded
+	 * @throws IllegalStateException if the tree is closed
+	 */
+	@Override
+	public E getInfo() {
+		decode();
+
+		return info;
+	}
+
+	/**
+	 * Returns the left child of this node.
+	 *
+	 * @return the left child node, or null if it has no left child
+	 */
+	@Override
+	public MappedBinaryTreeNode<E> getLeft() {
+		return hasLeft() ? new MappedBinaryTreeNode<E>(tree, infoEnd()) : null;
+	}
+
+	/**
+	 * Returns the right child of this node.
+	 *
+	 * @return the right child node, or null if it has no right child
+	 */
+	@Override
+	public MappedBinaryTreeNode<E> getRight() {
+		return hasRight() ? new MappedBinaryTreeNode<E>(tree, rightOffset()) : null;
+	}
+
+	/**
+	 * Not supported, the node can not change.
+	 *
+	 * @param info ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setInfo(E info) {
+		throw new UnsupportedOperationException("Read-only node");
+	}
+
+	/**
+	 * Not supported, the node can not change.
+	 *
+	 * @param left ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setLeft(BinaryTreeNode<E> left) {
+		throw new UnsupportedOperationException("Read-only node");
+	}
+
+	/**
+	 * Not supported, the node can not change.
+	 *
+	 * @param right ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setRight(BinaryTreeNode<E> right) {
+		throw new UnsupportedOperationException("Read-only node");
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof MappedBinaryTreeNode && ((MappedBinaryTreeNode<?>)obj).tree == tree
+				&& ((MappedBinaryTreeNode<?>)obj).offset == offset;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(offset);
+	}
+
+	MappedTree<E> getTree() {
+		return tree;
+	}
+
+	boolean hasLeft() {
+		return (flags & TreeCodec.HAS_LEFT) != 0;
+	}
+
+	boolean hasRight() {
+		return (flags & TreeCodec.HAS_RIGHT) != 0;
+	}
+
+	/**
+	 * Returns the position of the right child, stored in the record when the node has both
+	 * children and right after the record otherwise.
+	 */
+	long rightOffset() {
+		return hasLeft() ? tree.file.getLong(offset + 1) : infoEnd();
+	}
+
+	private long infoEnd() {
+		decode();
+
+		return infoEnd;
+	}
+
+	//The element already decoded is not returned either once the tree is closed
+	private void decode() {
+		if(tree.file.isClosed())
+			throw new IllegalStateException("Closed mapped tree");
+
+		if(infoEnd < 0){
+			long start = offset + ((hasLeft() && hasRight()) ? 9 : 1);
+
+			if((flags & TreeCodec.NULL_INFO) != 0)
+				infoEnd = start;
+			else{
+				MappedDataInput in = new MappedDataInput(tree.file, start);
+
+				try{
+					info = tree.codec.read(in);
+				}
+				catch(IOException e){
+					throw new UncheckedIOException(e);
+				}
+
+				infoEnd = in.position();
+			}
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * DataInput that reads a {@link MappedFile} from a position, without copying the file.
+ */
+class MappedDataInput implements DataInput {
+
+	private final MappedFile file;
+	private long position;
+
+	MappedDataInput(MappedFile file, long position) {
+		this.file = file;
+		this.position = position;
+	}
+
+	/**
+	 * Returns the position of the next byte to read.
+	 */
+	long position() {
+		return position;
+	}
+
+	/**
+	 * Checks that the file has the specified number of bytes after the position and
+	 * moves the position after them.
+	 *
+	 * @return the position before moving
+	 */
+	private long advance(int bytes) throws EOFException {
+		long start = position;
+
+		if(start + bytes > file.size())
+			throw new EOFException();
+
+		position += bytes;
+
+		return start;
+	}
+
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		file.get(advance(len), b, off, len);
+	}
+
+	public int skipBytes(int n) throws IOException {
+		int skipped = (int)Math.max(0, Math.min(n, file.size() - position));
+
+		position += skipped;
+
+		return skipped;
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	public byte readByte() throws IOException {
+		return file.get(advance(1));
+	}
+
+	public int readUnsignedByte() throws IOException {
+		return readByte() & 0xFF;
+	}
+
+	public short readShort() throws IOException {
+		return file.getShort(advance(2));
+	}
+
+	public int readUnsignedShort() throws IOException {
+		return readShort() & 0xFFFF;
+	}
+
+	public char readChar() throws IOException {
+		return (char)readShort();
+	}
+
+	public int readInt() throws IOException {
+		return file.getInt(advance(4));
+	}
+
+	public long readLong() throws IOException {
+		return file.getLong(advance(8));
+	}
+
+	public float readFloat() throws IOException {
+		return Float.intBitsToFloat(readInt());
+	}
+
+	public double readDouble() throws IOException {
+		return Double.longBitsToDouble(readLong());
+	}
+
+	public String readLine() throws IOException {
+		String line = null;
+
+		if(position < file.size()){
+			StringBuilder builder = new StringBuilder();
+			boolean end = false;
+
+			while(!end && position < file.size()){
+				char c = (char)(file.get(position++) & 0xFF);
+
+				if(c == '\n')
+					end = true;
+				else if(c == '\r'){
+					end = true;
+
+					if(position < file.size() && file.get(position) == '\n')
+						position++;
+				}
+				else
+					builder.append(c);
+			}
+
+			line = builder.toString();
+		}
+
+		return line;
+	}
+
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+}
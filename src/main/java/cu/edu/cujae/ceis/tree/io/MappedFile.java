@@ -0,0 +1,124 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only memory mapping of a whole file. A mapped buffer can not be larger than 2 GB, so
+ * the file is mapped in segments of 1 GB and values that cross the end of a segment are
+ * read byte by byte. All the reads are absolute, so the mapping can be shared by threads.
+ * Closing the file drops the segments, and the reads after it throw
+ * {@link IllegalStateException}; the mapping itself is released when the segments are
+ * garbage collected.
+ */
+class MappedFile {
+
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private volatile MappedByteBuffer[] segments;
+	private final long size;
+
+	/**
+	 * Maps the file of the channel. The mapping stays valid after the channel is closed.
+	 */
+	MappedFile(FileChannel channel) throws IOException {
+		this.size = channel.size();
+
+		MappedByteBuffer[] mapped = new MappedByteBuffer[(int)((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+
+		for(int i = 0; i < mapped.length; i++){
+			long start = (long)i << SEGMENT_SHIFT;
+
+			mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, 1L << SEGMENT_SHIFT));
+		}
+
+		this.segments = mapped;
+	}
+
+	/**
+	 * Drops the segments. Does nothing if the file is already closed.
+	 */
+	void close() {
+		segments = null;
+	}
+
+	boolean isClosed() {
+		return segments == null;
+	}
+
+	long size() {
+		return size;
+	}
+
+	byte get(long position) {
+		return segment(position).get((int)(position & SEGMENT_MASK));
+	}
+
+	short getShort(long position) {
+		int index = (int)(position & SEGMENT_MASK);
+		MappedByteBuffer segment = segment(position);
+
+		return (index + 2 <= segment.limit()) ? segment.getShort(index) : (short)getBytes(position, 2);
+	}
+
+	int getInt(long position) {
+		int index = (int)(position & SEGMENT_MASK);
+		MappedByteBuffer segment = segment(position);
+
+		return (index + 4 <= segment.limit()) ? segment.getInt(index) : (int)getBytes(position, 4);
+	}
+
+	long getLong(long position) {
+		int index = (int)(position & SEGMENT_MASK);
+		MappedByteBuffer segment = segment(position);
+
+		return (index + 8 <= segment.limit()) ? segment.getLong(index) : getBytes(position, 8);
+	}
+
+	/**
+	 * Copies bytes of the file to the array.
+	 */
+	void get(long position, byte[] destination, int offset, int length) {
+		while(length > 0){
+			ByteBuffer segment = segment(position).duplicate();
+			int index = (int)(position & SEGMENT_MASK);
+			int chunk = Math.min(length, segment.limit() - index);
+
+			segment.position(index);
+			segment.get(destination, offset, chunk);
+
+			position += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	/**
+	 * Returns the segment that holds the position.
+	 *
+	 * @throws IllegalStateException if the file is closed
+	 */
+	private MappedByteBuffer segment(long position) {
+		MappedByteBuffer[] mapped = segments;
+
+		if(mapped == null)
+			throw new IllegalStateException("Closed mapped tree");
+
+		return mapped[(int)(position >>> SEGMENT_SHIFT)];
+	}
+
+	/**
+	 * Reads a big-endian value of the specified number of bytes.
+	 */
+	private long getBytes(long position, int bytes) {
+		long value = 0;
+
+		for(int i = 0; i < bytes; i++)
+			value = (value << 8) | (get(position + i) & 0xFF);
+
+		return value;
+	}
+}
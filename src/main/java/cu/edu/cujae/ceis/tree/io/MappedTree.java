@@ -0,0 +1,578 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import cu.edu.cujae.ceis.tree.Tree;
+import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.iterators.TreeSpliterator;
+import cu.edu.cujae.ceis.tree.iterators.binary.PosOrderIterator;
+import cu.edu.cujae.ceis.tree.iterators.binary.PreorderIterator;
+import cu.edu.cujae.ceis.tree.iterators.binary.SymmetricIterator;
+import cu.edu.cujae.ceis.tree.iterators.general.InBreadthIterator;
+import cu.edu.cujae.ceis.tree.iterators.general.InDepthIterator;
+
+/**
+ * Read-only tree stored in a file and read through a memory mapping, so the tree does not
+ * have to fit on the heap. Opening the file only maps it and reads its header; the nodes
+ * are {@link MappedBinaryTreeNode}s decoded lazily while the tree is traversed.
+ * <p>
+ * The file is written by {@link #write} in the preorder layout of {@link TreeCodec}, with
+ * one difference: nodes with both children also store the position of their right child,
+ * so any child is found without reading the subtree before it. The header stores the number
+ * of nodes and the height of the tree, so {@link #totalNodes()} and {@link #treeHeight()}
+ * take constant time. The records do not store the father of a node, so its level and
+ * father are found following the path from the root, skipping the subtrees before it
+ * through the stored positions: O(depth) reads in a binary tree plus, in a general tree,
+ * the brothers before each node of the path, O(n) in the worst case.
+ * <p>
+ * A tree written from a {@link GeneralTree} answers the queries as a general tree (first
+ * son on the left, next brother on the right); any other tree answers them as a binary
+ * tree. The methods that would modify the tree throw {@link UnsupportedOperationException}.
+ * <p>
+ * The mapping is kept until {@link #close()}; a long-lived process should close the trees
+ * it no longer reads. After closing, the tree and its nodes throw
+ * {@link IllegalStateException}.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class MappedTree<E> extends Tree<E> implements Closeable {
+
+	/**
+	 * Magic number at the start of every mapped tree file, "CTRM" in ASCII.
+	 */
+	public static final int MAGIC = 0x4354524D;
+
+	/**
+	 * Version of the file layout.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int BINARY = 0;
+	private static final int GENERAL = 1;
+	private static final int COUNT_POSITION = 6;
+	private static final int HEIGHT_POSITION = 14;
+	private static final int HEADER_SIZE = 18;
+
+	final MappedFile file;
+	final ElementCodec<E> codec;
+	private final boolean general;
+	private final long nodes;
+	private final int height;
+
+	private MappedTree(MappedFile file, ElementCodec<E> codec, boolean general, long nodes, int height) {
+		super();
+		this.file = file;
+		this.codec = codec;
+		this.general = general;
+		this.nodes = nodes;
+		this.height = height;
+		this.root = nodes > 0 ? new MappedBinaryTreeNode<E>(this, HEADER_SIZE) : null;
+	}
+
+	/**
+	 * Opens a tree file written by {@link #write}. The file is mapped, not read, so opening
+	 * takes the same time for any size.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param path the file
+	 * @param codec the codec the file was written with
+	 * @return the tree
+	 * @throws IOException if the file can not be mapped or is not a tree file
+	 */
+	public static <E> MappedTree<E> open(Path path, ElementCodec<E> codec) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try{
+			if(channel.size() < HEADER_SIZE)
+				throw new StreamCorruptedException("Not a mapped tree file");
+
+			MappedFile file = new MappedFile(channel);
+
+			if(file.getInt(0) != MAGIC)
+				throw new StreamCorruptedException("Not a mapped tree file");
+
+			if(file.get(4) != VERSION)
+				throw new StreamCorruptedException("Unsupported layout version: " + file.get(4));
+
+			return new MappedTree<E>(file, codec, file.get(5) == GENERAL, file.getLong(COUNT_POSITION), file.getInt(HEIGHT_POSITION));
+		}
+		finally{
+			channel.close();
+		}
+	}
+
+	/**
+	 * Writes the tree to a file that can be opened with {@link #open}. The tree is written
+	 * in one pass and without recursion.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param tree a {@link BinaryTree}, {@link GeneralTree} or {@link MappedTree}
+	 * @param codec the element codec
+	 * @param path the file, replaced if it exists
+	 * @throws IOException if the file can not be written
+	 * @throws IllegalArgumentException if the tree type is not supported
+	 */
+	public static <E> void write(Tree<E> tree, ElementCodec<E> codec, Path path) throws IOException {
+		boolean general;
+
+		if(tree instanceof GeneralTree)
+			general = true;
+		else if(tree instanceof MappedTree)
+			general = ((MappedTree<E>)tree).general;
+		else if(tree instanceof BinaryTree)
+			general = false;
+		else
+			throw new IllegalArgumentException("Unsupported tree type: " + tree.getClass().getName());
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+		try{
+			ChannelDataOutput out = new ChannelDataOutput(channel);
+
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeByte(general ? GENERAL : BINARY);
+			out.writeLong(0);
+			out.writeInt(-1);
+
+			long count = 0;
+			int treeHeight = -1;
+
+			if(tree.getRoot() != null){
+				Pending<E> pending = new Pending<E>();
+
+				pending.push((BinaryTreeNode<E>)tree.getRoot(), -1, 0);
+
+				while(pending.size > 0){
+					int top = --pending.size;
+					BinaryTreeNode<E> node = pending.nodes[top];
+					long slot = pending.slots[top];
+					int depth = pending.depths[top];
+
+					pending.nodes[top] = null;
+
+					if(slot >= 0)
+						out.patchLong(slot, out.position());
+
+					BinaryTreeNode<E> left = node.getLeft();
+					BinaryTreeNode<E> right = node.getRight();
+					E info = node.getInfo();
+					long rightSlot = -1;
+
+					out.writeByte((left != null ? TreeCodec.HAS_LEFT : 0) | (right != null ? TreeCodec.HAS_RIGHT : 0) | (info == null ? TreeCodec.NULL_INFO : 0));
+
+					if(left != null && right != null){
+						rightSlot = out.position();
+						out.writeLong(-1);
+					}
+
+					if(info != null)
+						codec.write(info, out);
+
+					if(depth > treeHeight)
+						treeHeight = depth;
+
+					//The brothers of the root of a general tree do not count for its height
+					if(right != null)
+						pending.push(right, rightSlot, !general ? depth + 1 : (count == 0 ? -1 : depth));
+
+					if(left != null)
+						pending.push(left, -1, (general && depth < 0) ? -1 : depth + 1);
+
+					count++;
+				}
+			}
+
+			out.patchLong(COUNT_POSITION, count);
+			out.patchInt(HEIGHT_POSITION, treeHeight);
+			out.flush();
+		}
+		finally{
+			channel.close();
+		}
+	}
+
+	/**
+	 * Releases the mapping of the file. The buffers are dropped, so the memory they map is
+	 * freed when they are garbage collected, and every later access to the tree or to its
+	 * nodes throws {@link IllegalStateException}. Closing a closed tree does nothing.
+	 */
+	@Override
+	public void close() {
+		file.close();
+	}
+
+	/**
+	 * Checks if the tree was closed.
+	 *
+	 * @return true if {@link #close()} was called, false otherwise
+	 */
+	public boolean isClosed() {
+		return file.isClosed();
+	}
+
+	/**
+	 * Checks if the tree answers the queries as a general tree.
+	 *
+	 * @return true if the tree was written from a general tree, false otherwise
+	 */
+	public boolean isGeneral() {
+		return general;
+	}
+
+	/**
+	 * Returns the root node of the tree.
+	 *
+	 * @return the root node, or null if the tree is empty
+	 * @throws IllegalStateException if the tree is closed
+	 */
+	@Override
+	public MappedBinaryTreeNode<E> getRoot() {
+		checkOpen();
+
+		return (MappedBinaryTreeNode<E>)root;
+	}
+
+	/**
+	 * Not supported, the tree can not change.
+	 *
+	 * @param root ignored
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setRoot(TreeNode<E> root) {
+		throw new UnsupportedOperationException("Read-only tree");
+	}
+
+	/**
+	 * Not supported, the tree can not change.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public E deleteNode(BinaryTreeNode<E> node) {
+		throw new UnsupportedOperationException("Read-only tree");
+	}
+
+	/**
+	 * Returns the total number of nodes in the tree in constant time. A file may hold more
+	 * nodes than an int can count; use {@link #nodeCount()} for the exact number.
+	 *
+	 * @return the total number of nodes, or {@link Integer#MAX_VALUE} if there are more
+	 * @throws IllegalStateException if the tree is closed
+	 */
+	@Override
+	public int totalNodes() {
+		checkOpen();
+
+		return (int)Math.min(nodes, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the total number of nodes in the tree in constant time.
+	 *
+	 * @return the total number of nodes
+	 * @throws IllegalStateException if the tree is closed
+	 */
+	public long nodeCount() {
+		checkOpen();
+
+		return nodes;
+	}
+
+	/**
+	 * Returns the height of the tree in constant time.
+	 *
+	 * @return the tree height, or -1 if the tree is empty
+	 * @throws IllegalStateException if the tree is closed
+	 */
+	@Override
+	public int treeHeight() {
+		checkOpen();
+
+		return height;
+	}
+
+	/**
+	 * Returns the level of the tree.
+	 *
+	 * @return 0 if the tree has root, -1 if it is empty
+	 */
+	@Override
+	public int treeLevel() {
+		return root != null ? 0 : -1;
+	}
+
+	/**
+	 * Returns the leaves of the tree in preorder. The leaves are loaded on the heap.
+	 *
+	 * @return list of leaf nodes
+	 */
+	@Override
+	public List<TreeNode<E>> getLeaves() {
+		List<TreeNode<E>> leaves = new ArrayList<TreeNode<E>>();
+		PreorderIterator<E> iterator = preOrderIterator();
+
+		while(iterator.hasNext()){
+			BinaryTreeNode<E> node = iterator.nextNode();
+
+			if(nodeIsLeaf(node))
+				leaves.add(node);
+		}
+
+		return leaves;
+	}
+
+	/**
+	 * Checks if the specified node is a leaf: a node without children, or without sons in a
+	 * general tree.
+	 *
+	 * @param node the node to check
+	 * @return true if the node is a leaf of this tree, false otherwise
+	 */
+	@Override
+	public boolean nodeIsLeaf(TreeNode<E> node) {
+		boolean leaf = false;
+
+		if(contains(node)){
+			MappedBinaryTreeNode<E> mapped = (MappedBinaryTreeNode<E>)node;
+
+			leaf = !mapped.hasLeft() && (general || !mapped.hasRight());
+		}
+
+		return leaf;
+	}
+
+	/**
+	 * Returns the number of children of the specified node, or of sons in a general tree.
+	 *
+	 * @param node the node to check
+	 * @return the degree of the node, or -1 if the node is not in this tree
+	 */
+	@Override
+	public int nodeDegree(TreeNode<E> node) {
+		return contains(node) ? getSons((MappedBinaryTreeNode<E>)node).size() : -1;
+	}
+
+	/**
+	 * Returns the children of the specified node, or its sons in a general tree.
+	 *
+	 * @param node the father node
+	 * @return list of child nodes, empty if the node is not in this tree
+	 */
+	public List<BinaryTreeNode<E>> getSons(BinaryTreeNode<E> node) {
+		List<BinaryTreeNode<E>> sons = new ArrayList<BinaryTreeNode<E>>();
+
+		if(contains(node)){
+			if(general){
+				BinaryTreeNode<E> son = node.getLeft();
+
+				while(son != null){
+					sons.add(son);
+					son = son.getRight();
+				}
+			}
+			else{
+				if(node.getLeft() != null)
+					sons.add(node.getLeft());
+
+				if(node.getRight() != null)
+					sons.add(node.getRight());
+			}
+		}
+
+		return sons;
+	}
+
+	/**
+	 * Returns the level of the specified node, following the path from the root, O(n) in
+	 * the worst case.
+	 *
+	 * @param node the node to find the level for
+	 * @return the level of the node, or -1 if the node is not in this tree
+	 */
+	@Override
+	public int nodeLevel(TreeNode<E> node) {
+		int level = -1;
+
+		if(contains(node)){
+			long target = ((MappedBinaryTreeNode<E>)node).getOffset();
+			MappedBinaryTreeNode<E> cursor = getRoot();
+			int depth = 0;
+
+			while(cursor != null && level < 0){
+				if(cursor.getOffset() == target)
+					level = depth;
+				else if(cursor.hasRight() && target >= cursor.rightOffset()){
+					cursor = cursor.getRight();
+
+					if(!general)
+						depth++;
+				}
+				else{
+					cursor = cursor.getLeft();
+					depth++;
+				}
+			}
+		}
+
+		return level;
+	}
+
+	/**
+	 * Returns the father of the specified node, following the path from the root, O(n) in
+	 * the worst case.
+	 *
+	 * @param node the node to find the father for
+	 * @return the father node, or null if the node is the root, a brother of the root in a
+	 * general tree or is not in this tree
+	 */
+	public MappedBinaryTreeNode<E> getFather(BinaryTreeNode<E> node) {
+		MappedBinaryTreeNode<E> father = null;
+
+		if(contains(node)){
+			long target = ((MappedBinaryTreeNode<E>)node).getOffset();
+			MappedBinaryTreeNode<E> cursor = getRoot();
+			boolean found = false;
+
+			while(cursor != null && !found){
+				if(cursor.getOffset() == target)
+					found = true;
+				else if(cursor.hasRight() && target >= cursor.rightOffset()){
+					if(!general)
+						father = cursor;
+
+					cursor = cursor.getRight();
+				}
+				else{
+					father = cursor;
+					cursor = cursor.getLeft();
+				}
+			}
+
+			if(!found)
+				father = null;
+		}
+
+		return father;
+	}
+
+	/**
+	 * Returns a pre-order iterator for the tree, which is the depth-first order of a general tree.
+	 *
+	 * @return pre-order iterator
+	 */
+	public PreorderIterator<E> preOrderIterator() {
+		return new PreorderIterator<E>(this);
+	}
+
+	/**
+	 * Returns an in-order (symmetric) iterator for the tree.
+	 *
+	 * @return in-order iterator
+	 */
+	public SymmetricIterator<E> symmetricIterator() {
+		return new SymmetricIterator<E>(this);
+	}
+
+	/**
+	 * Returns a post-order iterator for the tree.
+	 *
+	 * @return post-order iterator
+	 */
+	public PosOrderIterator<E> posOrderIterator() {
+		return new PosOrderIterator<E>(this);
+	}
+
+	/**
+	 * Returns a depth-first iterator for a general tree.
+	 *
+	 * @return depth-first iterator
+	 */
+	public InDepthIterator<E> inDepthIterator() {
+		return new InDepthIterator<E>(this);
+	}
+
+	/**
+	 * Returns a breadth-first iterator for a general tree.
+	 *
+	 * @return breadth-first iterator
+	 * @throws UnsupportedOperationException if the tree was not written from a general tree
+	 */
+	public InBreadthIterator<E> inBreadthIterator() {
+		if(!general)
+			throw new UnsupportedOperationException("Not a general tree");
+
+		return new InBreadthIterator<E>(new GeneralTree<E>(getRoot()));
+	}
+
+	/**
+	 * Returns an iterator over the elements of the tree in pre-order.
+	 *
+	 * @return pre-order iterator
+	 */
+	public Iterator<E> iterator() {
+		return preOrderIterator();
+	}
+
+	/**
+	 * Returns a spliterator over the elements of the tree in pre-order, split by subtrees.
+	 *
+	 * @return pre-order spliterator
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new TreeSpliterator<E>(getRoot(), TreeSpliterator.Traversal.PREORDER);
+	}
+
+	private void checkOpen() {
+		if(file.isClosed())
+			throw new IllegalStateException("Closed mapped tree");
+	}
+
+	private boolean contains(TreeNode<E> node) {
+		return node instanceof MappedBinaryTreeNode && ((MappedBinaryTreeNode<E>)node).getTree() == this;
+	}
+
+	/**
+	 * Stack of the nodes waiting to be written, with the position where the position of the
+	 * node must be written (-1 if none) and its depth (-1 if it does not count for the height).
+	 */
+	private static final class Pending<E> {
+		private BinaryTreeNode<E>[] nodes = newNodes(16);
+		private long[] slots = new long[16];
+		private int[] depths = new int[16];
+		private int size = 0;
+
+		private void push(BinaryTreeNode<E> node, long slot, int depth) {
+			if(size == nodes.length){
+				nodes = Arrays.copyOf(nodes, size << 1);
+				slots = Arrays.copyOf(slots, size << 1);
+				depths = Arrays.copyOf(depths, size << 1);
+			}
+
+			nodes[size] = node;
+			slots[size] = slot;
+			depths[size] = depth;
+			size++;
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private static <E> BinaryTreeNode<E>[] newNodes(int capacity) {
+			return new BinaryTreeNode[capacity];
+		}
+	}
+}
@@ -0,0 +1,416 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import cu.edu.cujae.ceis.tree.Tree;
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNodeWithFather;
+import cu.edu.cujae.ceis.tree.binary.ImmutableBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.PersistentBinaryTree;
+import cu.edu.cujae.ceis.tree.general.ArrayGeneralTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Balance;
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Compact binary format for trees, written and read without recursion so the depth of the
+ * tree is only limited by the heap.
+ * <p>
+ * A stream starts with a header: the magic number {@link #MAGIC}, the format
+ * {@link #VERSION} and the type of tree, followed by the order and balance of a
+ * {@link LexicographicTree}. Then come the nodes: the type of node, one record per node in
+ * preorder and the number of nodes, used to check the stream. Every record is a byte with
+ * the structure bits of the node (it has a left child, it has a right child, its information
+ * is null) followed by the information written by the {@link ElementCodec}, so the
+ * structure costs one byte per node. General trees are stored in their first son, next
+ * brother representation, so the same format serves every tree.
+ * <p>
+ * Channels are written and read through a 64 KB direct buffer, so a whole tree is streamed
+ * without holding its encoded form in memory.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class TreeCodec<E> {
+
+	/**
+	 * Magic number at the start of every tree stream, "CTRE" in ASCII.
+	 */
+	public static final int MAGIC = 0x43545245;
+
+	/**
+	 * Version of the format written by this codec.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int BINARY = 0;
+	private static final int GENERAL = 1;
+	private static final int LEXICOGRAPHIC = 2;
+	private static final int PERSISTENT = 3;
+	private static final String[] TREE_NAMES = {"binary tree", "general tree", "lexicographic tree", "persistent binary tree"};
+
+	private static final int EMPTY = 0;
+	private static final int PLAIN = 1;
+	private static final int WITH_FATHER = 2;
+	private static final int AUGMENTED = 3;
+	private static final int IMMUTABLE = 4;
+	private static final int ARRAY_GENERAL = 5;
+
+	static final int HAS_LEFT = 1;
+	static final int HAS_RIGHT = 2;
+	static final int NULL_INFO = 4;
+	private static final int LEFT_VISITED = 8;
+	private static final int RIGHT_VISITED = 16;
+
+	private final ElementCodec<E> codec;
+
+	/**
+	 * Constructs a tree codec that writes the elements with the specified codec.
+	 *
+	 * @param codec the element codec
+	 */
+	public TreeCodec(ElementCodec<E> codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * Writes the tree to the channel. The channel is not closed.
+	 *
+	 * @param tree a {@link BinaryTree}, {@link GeneralTree}, {@link LexicographicTree} or
+	 * {@link PersistentBinaryTree}
+	 * @param channel the channel to write to
+	 * @throws IOException if the tree can not be written
+	 * @throws IllegalArgumentException if the tree type is not supported
+	 */
+	public void write(Tree<E> tree, WritableByteChannel channel) throws IOException {
+		ChannelDataOutput out = new ChannelDataOutput(channel);
+
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+
+		if(tree instanceof LexicographicTree){
+			LexicographicTree<E> lexicographicTree = (LexicographicTree<E>)tree;
+
+			out.writeByte(LEXICOGRAPHIC);
+			out.writeByte(lexicographicTree.getOrder().ordinal());
+			out.writeByte(lexicographicTree.getBalance().ordinal());
+		}
+		else if(tree instanceof PersistentBinaryTree)
+			out.writeByte(PERSISTENT);
+		else if(tree instanceof BinaryTree)
+			out.writeByte(BINARY);
+		else if(tree instanceof GeneralTree)
+			out.writeByte(GENERAL);
+		else
+			throw new IllegalArgumentException("Unsupported tree type: " + tree.getClass().getName());
+
+		writeNodes((BinaryTreeNode<E>)tree.getRoot(), out);
+		out.flush();
+	}
+
+	/**
+	 * Reads a binary tree written by {@link #write}.
+	 *
+	 * @param channel the channel to read from
+	 * @return the tree read
+	 * @throws IOException if the stream can not be read or does not contain a binary tree
+	 */
+	public BinaryTree<E> readBinaryTree(ReadableByteChannel channel) throws IOException {
+		ChannelDataInput in = new ChannelDataInput(channel);
+
+		readHeader(in, BINARY);
+
+		return new BinaryTree<E>(readNodes(in));
+	}
+
+	/**
+	 * Reads a general tree written by {@link #write}.
+	 *
+	 * @param channel the channel to read from
+	 * @return the tree read
+	 * @throws IOException if the stream can not be read or does not contain a general tree
+	 */
+	public GeneralTree<E> readGeneralTree(ReadableByteChannel channel) throws IOException {
+		ChannelDataInput in = new ChannelDataInput(channel);
+
+		readHeader(in, GENERAL);
+
+		return new GeneralTree<E>(readNodes(in));
+	}
+
+	/**
+	 * Reads a persistent binary tree written by {@link #write}.
+	 *
+	 * @param channel the channel to read from
+	 * @return the tree read
+	 * @throws IOException if the stream can not be read or does not contain a persistent binary tree
+	 */
+	public PersistentBinaryTree<E> readPersistentBinaryTree(ReadableByteChannel channel) throws IOException {
+		ChannelDataInput in = new ChannelDataInput(channel);
+
+		readHeader(in, PERSISTENT);
+
+		BinaryTreeNode<E> root = readNodes(in);
+
+		if(root != null && !(root instanceof ImmutableBinaryTreeNode))
+			throw new StreamCorruptedException("The nodes of a persistent binary tree must be immutable");
+
+		return new PersistentBinaryTree<E>((ImmutableBinaryTreeNode<E>)root);
+	}
+
+	/**
+	 * Reads a lexicographic tree written by {@link #write}. The order and balance are read
+	 * from the stream; the comparator is not stored, so it must be the one of the tree that
+	 * was written.
+	 *
+	 * @param channel the channel to read from
+	 * @param comparator the comparator of the tree, or null to use the Comparable interface of the elements
+	 * @return the tree read
+	 * @throws IOException if the stream can not be read or does not contain a lexicographic tree
+	 */
+	public LexicographicTree<E> readLexicographicTree(ReadableByteChannel channel, Comparator<? super E> comparator) throws IOException {
+		ChannelDataInput in = new ChannelDataInput(channel);
+
+		readHeader(in, LEXICOGRAPHIC);
+
+		int order = in.readUnsignedByte();
+		int balance = in.readUnsignedByte();
+
+		if(order >= Order.values().length || balance >= Balance.values().length)
+			throw new StreamCorruptedException("Unknown order or balance of lexicographic tree");
+
+		LexicographicTree<E> tree = new LexicographicTree<E>(Order.values()[order], Balance.values()[balance], comparator);
+
+		tree.setRoot(readNodes(in));
+
+		return tree;
+	}
+
+	/**
+	 * Writes the nodes of the subtree rooted at the specified node, without header. Used to
+	 * embed trees in other formats, like the Java serialization of the trees.
+	 *
+	 * @param root the root of the subtree, may be null
+	 * @param out the output
+	 * @throws IOException if the nodes can not be written
+	 */
+	public void writeNodes(BinaryTreeNode<E> root, DataOutput out) throws IOException {
+		long count = 0;
+
+		out.writeByte(nodeType(root));
+
+		if(root != null){
+			NodeStack<E> pending = new NodeStack<E>();
+
+			pending.push(root);
+
+			while(!pending.isEmpty()){
+				BinaryTreeNode<E> node = pending.pop();
+				BinaryTreeNode<E> left = node.getLeft();
+				BinaryTreeNode<E> right = node.getRight();
+				E info = node.getInfo();
+
+				out.writeByte((left != null ? HAS_LEFT : 0) | (right != null ? HAS_RIGHT : 0) | (info == null ? NULL_INFO : 0));
+
+				if(info != null)
+					codec.write(info, out);
+
+				if(right != null)
+					pending.push(right);
+
+				if(left != null)
+					pending.push(left);
+
+				count++;
+			}
+		}
+
+		out.writeLong(count);
+	}
+
+	/**
+	 * Reads the nodes written by {@link #writeNodes}, creating nodes of the same type as the
+	 * written ones. Every node is linked to its father once its subtree is complete, so the
+	 * values of augmented nodes are calculated once per node.
+	 *
+	 * @param in the input
+	 * @return the root of the subtree, or null if it is empty
+	 * @throws IOException if the nodes can not be read
+	 */
+	@SuppressWarnings("unchecked")
+	public BinaryTreeNode<E> readNodes(DataInput in) throws IOException {
+		int type = in.readUnsignedByte();
+		BinaryTreeNode<E> root = null;
+		long count = 0;
+
+		if(type > ARRAY_GENERAL)
+			throw new StreamCorruptedException("Unknown node type: " + type);
+
+		if(type != EMPTY){
+			Frames<E> frames = new Frames<E>();
+
+			readRecord(in, frames);
+			count++;
+
+			while(root == null){
+				int top = frames.top;
+				int state = frames.states[top];
+
+				if((state & LEFT_VISITED) == 0){
+					frames.states[top] = (byte)(state | LEFT_VISITED);
+
+					if((state & HAS_LEFT) != 0){
+						readRecord(in, frames);
+						count++;
+					}
+				}
+				else if((state & RIGHT_VISITED) == 0){
+					frames.states[top] = (byte)(state | RIGHT_VISITED);
+
+					if((state & HAS_RIGHT) != 0){
+						readRecord(in, frames);
+						count++;
+					}
+				}
+				else{
+					BinaryTreeNode<E> node = createNode(type, (E)frames.infos[top], frames.lefts[top], frames.rights[top]);
+
+					frames.pop();
+
+					if(frames.top < 0)
+						root = node;
+					else if((frames.states[frames.top] & RIGHT_VISITED) != 0)
+						frames.rights[frames.top] = node;
+					else
+						frames.lefts[frames.top] = node;
+				}
+			}
+		}
+
+		long written = in.readLong();
+
+		if(written != count)
+			throw new StreamCorruptedException("Expected " + written + " nodes but read " + count);
+
+		return root;
+	}
+
+	private void readHeader(DataInput in, int treeType) throws IOException {
+		if(in.readInt() != MAGIC)
+			throw new StreamCorruptedException("Not a tree stream");
+
+		int version = in.readUnsignedByte();
+
+		if(version != VERSION)
+			throw new StreamCorruptedException("Unsupported format version: " + version);
+
+		int written = in.readUnsignedByte();
+
+		if(written >= TREE_NAMES.length)
+			throw new StreamCorruptedException("Unknown tree type: " + written);
+
+		if(written != treeType)
+			throw new IOException("The stream contains a " + TREE_NAMES[written] + ", not a " + TREE_NAMES[treeType]);
+	}
+
+	private void readRecord(DataInput in, Frames<E> frames) throws IOException {
+		int flags = in.readUnsignedByte();
+
+		if((flags & ~(HAS_LEFT | HAS_RIGHT | NULL_INFO)) != 0)
+			throw new StreamCorruptedException("Invalid node record: " + flags);
+
+		frames.push(flags, (flags & NULL_INFO) != 0 ? null : codec.read(in));
+	}
+
+	private static <E> int nodeType(BinaryTreeNode<E> node) {
+		int type;
+
+		if(node == null)
+			type = EMPTY;
+		else if(node instanceof ImmutableBinaryTreeNode)
+			type = IMMUTABLE;
+		else if(node instanceof ArrayGeneralTreeNode)
+			type = ARRAY_GENERAL;
+		else if(node instanceof AugmentedBinaryTreeNode)
+			type = AUGMENTED;
+		else if(node instanceof BinaryTreeNodeWithFather)
+			type = WITH_FATHER;
+		else
+			type = PLAIN;
+
+		return type;
+	}
+
+	private static <E> BinaryTreeNode<E> createNode(int type, E info, BinaryTreeNode<E> left, BinaryTreeNode<E> right) {
+		BinaryTreeNode<E> node;
+
+		if(type == IMMUTABLE)
+			node = new ImmutableBinaryTreeNode<E>(info, (ImmutableBinaryTreeNode<E>)left, (ImmutableBinaryTreeNode<E>)right);
+		else{
+			if(type == AUGMENTED)
+				node = new AugmentedBinaryTreeNode<E>(info);
+			else if(type == WITH_FATHER)
+				node = new BinaryTreeNodeWithFather<E>(info);
+			else if(type == ARRAY_GENERAL)
+				node = new ArrayGeneralTreeNode<E>(info);
+			else
+				node = new BinaryTreeNode<E>(info);
+
+			if(left != null)
+				node.setLeft(left);
+
+			if(right != null)
+				node.setRight(right);
+		}
+
+		return node;
+	}
+
+	/**
+	 * Stack of the nodes being read: their information, structure bits and the subtrees of
+	 * their children that are already complete.
+	 */
+	private static final class Frames<E> {
+		private Object[] infos = new Object[16];
+		private BinaryTreeNode<E>[] lefts = newNodes(16);
+		private BinaryTreeNode<E>[] rights = newNodes(16);
+		private byte[] states = new byte[16];
+		private int top = -1;
+
+		private void push(int flags, E info) {
+			if(++top == states.length){
+				int capacity = states.length << 1;
+
+				infos = Arrays.copyOf(infos, capacity);
+				lefts = Arrays.copyOf(lefts, capacity);
+				rights = Arrays.copyOf(rights, capacity);
+				states = Arrays.copyOf(states, capacity);
+			}
+
+			infos[top] = info;
+			states[top] = (byte)flags;
+		}
+
+		private void pop() {
+			infos[top] = null;
+			lefts[top] = null;
+			rights[top] = null;
+			top--;
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private static <E> BinaryTreeNode<E>[] newNodes(int capacity) {
+			return new BinaryTreeNode[capacity];
+		}
+	}
+}
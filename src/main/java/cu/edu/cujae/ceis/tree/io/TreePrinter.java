@@ -0,0 +1,309 @@
+package cu.edu.cujae.ceis.tree.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+
+/**
+ * Writes the ASCII drawing of a tree used by the toString method of {@link BinaryTree} and
+ * {@link GeneralTree} to any {@link Appendable}, such as a {@link Writer} or a
+ * {@link StringBuilder}, line by line. The tree is traversed in pre-order without recursion,
+ * and the padding of the lines is kept in a single buffer that grows with the depth and is
+ * rewritten in place, so printing a tree does not hold its drawing in memory and allocates
+ * nothing per node besides the text of the elements.
+ * <p>
+ * The drawing can be limited to a number of levels and a number of nodes. A node whose sons
+ * are below the last printed level gets a son line with {@link #TRUNCATED}, and a last line
+ * with {@link #TRUNCATED} is written when the tree has more nodes than the limit.
+ * <p>
+ * A printer has no state besides its limits, so it can be shared between threads.
+ */
+public class TreePrinter {
+
+	/**
+	 * Limit that does not cut the drawing.
+	 */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
+
+	/**
+	 * Text written in place of the nodes left out by the limits.
+	 */
+	public static final String TRUNCATED = "...";
+
+	private static final String BRANCH = "├──";
+	private static final String LAST_BRANCH = "└──";
+	private static final char[] BROTHER_PADDING = {'│', ' ', ' '};
+	private static final char[] EMPTY_PADDING = {' ', ' ', ' '};
+	private static final int PADDING_WIDTH = 3;
+
+	private final int maxDepth;
+	private final int maxNodes;
+
+	/**
+	 * Constructs a printer that draws the whole tree.
+	 */
+	public TreePrinter() {
+		this(UNLIMITED, UNLIMITED);
+	}
+
+	/**
+	 * Constructs a printer that draws up to the specified level and number of nodes.
+	 *
+	 * @param maxDepth the last level drawn, 0 draws only the root
+	 * @param maxNodes the maximum number of nodes drawn, at least 1
+	 * @throws IllegalArgumentException if the depth is negative or the number of nodes is less than 1
+	 */
+	public TreePrinter(int maxDepth, int maxNodes) {
+		if(maxDepth < 0)
+			throw new IllegalArgumentException("Invalid depth limit: " + maxDepth);
+		if(maxNodes < 1)
+			throw new IllegalArgumentException("Invalid node limit: " + maxNodes);
+
+		this.maxDepth = maxDepth;
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Returns the last level drawn.
+	 *
+	 * @return the depth limit, or {@link #UNLIMITED}
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Returns the maximum number of nodes drawn.
+	 *
+	 * @return the node limit, or {@link #UNLIMITED}
+	 */
+	public int getMaxNodes() {
+		return maxNodes;
+	}
+
+	/**
+	 * Writes the drawing of a binary tree: the root, and below it the left and the right son
+	 * of every node.
+	 *
+	 * @param tree the tree to draw
+	 * @param out the destination of the drawing
+	 * @return the number of nodes drawn
+	 * @throws IOException if the destination fails
+	 */
+	public int print(BinaryTree<?> tree, Appendable out) throws IOException {
+		return printBinary((BinaryTreeNode<?>)tree.getRoot(), out);
+	}
+
+	/**
+	 * Writes the drawing of a general tree: the root, and below it the sons of every node.
+	 * The brothers of the root are not drawn.
+	 *
+	 * @param tree the tree to draw
+	 * @param out the destination of the drawing
+	 * @return the number of nodes drawn
+	 * @throws IOException if the destination fails
+	 */
+	public int print(GeneralTree<?> tree, Appendable out) throws IOException {
+		return printGeneral((BinaryTreeNode<?>)tree.getRoot(), out);
+	}
+
+	/**
+	 * Writes the drawing of the binary tree under the specified root.
+	 *
+	 * @param root the root of the tree, may be null
+	 * @param out the destination of the drawing
+	 * @return the number of nodes drawn
+	 * @throws IOException if the destination fails
+	 */
+	public int printBinary(BinaryTreeNode<?> root, Appendable out) throws IOException {
+		Lines lines = new Lines(out);
+
+		if(root != null){
+			out.append(String.valueOf(root.getInfo()));
+			lines.printed++;
+
+			//pending right sons and their depths
+			NodeStack<Object> pending = new NodeStack<Object>();
+			int[] depths = new int[16];
+			BinaryTreeNode<?> father = root;
+			int depth = 0;
+
+			while(father != null && !lines.full()){
+				BinaryTreeNode<?> left = father.getLeft();
+				BinaryTreeNode<?> right = father.getRight();
+
+				if(depth == maxDepth){
+					if(left != null || right != null)
+						lines.truncated(depth);
+
+					left = null;
+				}
+				else if(right != null){
+					if(pending.size() == depths.length)
+						depths = Arrays.copyOf(depths, depths.length << 1);
+
+					depths[pending.size()] = depth + 1;
+					pending.push(node(right));
+				}
+
+				if(left != null){
+					//the sons of the father are drawn at the depth of the left son
+					lines.node(++depth, (right != null) ? BRANCH : LAST_BRANCH, left, right != null);
+					father = left;
+				}
+				else{
+					depth = pending.isEmpty() ? 0 : depths[pending.size() - 1];
+					father = pending.pop();
+
+					if(father != null)
+						lines.node(depth, LAST_BRANCH, father, false);
+				}
+			}
+
+			lines.finish(father != null && (!pending.isEmpty() || father.getLeft() != null || father.getRight() != null));
+		}
+
+		return lines.printed;
+	}
+
+	/**
+	 * Writes the drawing of the general tree under the specified root, in its first son,
+	 * next brother representation. The brothers of the root are not drawn.
+	 *
+	 * @param root the root of the tree, may be null
+	 * @param out the destination of the drawing
+	 * @return the number of nodes drawn
+	 * @throws IOException if the destination fails
+	 */
+	public int printGeneral(BinaryTreeNode<?> root, Appendable out) throws IOException {
+		Lines lines = new Lines(out);
+
+		if(root != null){
+			out.append(String.valueOf(root.getInfo()));
+			lines.printed++;
+
+			//pending brothers and their depths
+			NodeStack<Object> pending = new NodeStack<Object>();
+			int[] depths = new int[16];
+			BinaryTreeNode<?> cursor = null;
+			int depth = 1;
+
+			if(maxDepth == 0){
+				if(root.getLeft() != null)
+					lines.truncated(0);
+			}
+			else
+				cursor = root.getLeft();
+
+			while(cursor != null && !lines.full()){
+				boolean hasRightSibling = cursor.getRight() != null;
+
+				lines.node(depth, hasRightSibling ? BRANCH : LAST_BRANCH, cursor, hasRightSibling);
+
+				if(cursor.getLeft() != null && depth < maxDepth){
+					if(hasRightSibling){
+						if(pending.size() == depths.length)
+							depths = Arrays.copyOf(depths, depths.length << 1);
+
+						depths[pending.size()] = depth;
+						pending.push(node(cursor.getRight()));
+					}
+
+					cursor = cursor.getLeft();
+					depth++;
+				}
+				else{
+					if(cursor.getLeft() != null)
+						lines.truncated(depth);
+
+					if(hasRightSibling)
+						cursor = cursor.getRight();
+					else{
+						depth = pending.isEmpty() ? 0 : depths[pending.size() - 1];
+						cursor = pending.pop();
+					}
+				}
+			}
+
+			lines.finish(cursor != null);
+		}
+
+		return lines.printed;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static BinaryTreeNode<Object> node(BinaryTreeNode<?> node) {
+		return (BinaryTreeNode<Object>)node;
+	}
+
+	/**
+	 * Destination of the lines of one drawing, with the padding buffer and the number of
+	 * nodes drawn. The padding of a node at depth d is the first 3 * (d - 1) characters of
+	 * the buffer; drawing a son of a node at depth d rewrites the characters of depth d, so
+	 * the buffer always holds the padding of the path to the last node drawn.
+	 */
+	private final class Lines {
+		private final Appendable out;
+		private char[] padding;
+		private int printed;
+
+		Lines(Appendable out) {
+			this.out = out;
+			this.padding = new char[PADDING_WIDTH * 16];
+			this.printed = 0;
+		}
+
+		boolean full() {
+			return printed >= maxNodes;
+		}
+
+		//Writes the line of a node and leaves the padding of its sons in the buffer
+		void node(int depth, String pointer, BinaryTreeNode<?> node, boolean hasRightSibling) throws IOException {
+			out.append('\n');
+			appendPadding(depth);
+			out.append(pointer);
+			out.append(String.valueOf(node.getInfo()));
+			printed++;
+
+			int end = PADDING_WIDTH * depth;
+
+			if(end > padding.length)
+				padding = Arrays.copyOf(padding, Math.max(end, padding.length << 1));
+
+			System.arraycopy(hasRightSibling ? BROTHER_PADDING : EMPTY_PADDING, 0, padding, end - PADDING_WIDTH, PADDING_WIDTH);
+		}
+
+		//Writes a son line in place of the sons of a node at the depth limit
+		void truncated(int depth) throws IOException {
+			out.append('\n');
+			appendPadding(depth + 1);
+			out.append(LAST_BRANCH);
+			out.append(TRUNCATED);
+		}
+
+		//Writes the last line if the node limit left nodes out
+		void finish(boolean nodesLeft) throws IOException {
+			if(nodesLeft && full()){
+				out.append('\n');
+				out.append(TRUNCATED);
+			}
+		}
+
+		private void appendPadding(int depth) throws IOException {
+			int length = PADDING_WIDTH * (depth - 1);
+
+			if(out instanceof Writer)
+				((Writer)out).write(padding, 0, length);
+			else if(out instanceof StringBuilder)
+				((StringBuilder)out).append(padding, 0, length);
+			else
+				for(int i = 0; i < length; i++)
+					out.append(padding[i]);
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package cu.edu.cujae.ceis.tree.iterators;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * Breadth-first traversal of a tree that returns a whole level at a time. The nodes of the
+ * current level are kept in an array that is reused for every level, together with the
+ * array of the next level, so the traversal needs memory for the two widest consecutive
+ * levels and creates no object per node. The traversal stops after the last level or after
+ * the maximum level given when it is created, without visiting the levels below it.
+ * <p>
+ * Binary trees give the left and right son of every node as the next level, general trees
+ * the sons of every node in their first son, next brother representation. The brothers of
+ * the root of a general tree are not visited, as in the breadth iterators.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class LevelTraversal<E> {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final boolean general;
+	private final int maxLevel;
+	private BinaryTreeNode<E>[] current;
+	private BinaryTreeNode<E>[] next;
+	private int currentWidth;
+	private int nextWidth;
+	private int level;
+	private int maxWidth;
+	private int visited;
+
+	private LevelTraversal(BinaryTreeNode<E> root, boolean general, int maxLevel) {
+		if(maxLevel < 0)
+			throw new IllegalArgumentException("Invalid level: " + maxLevel);
+
+		this.general = general;
+		this.maxLevel = maxLevel;
+		this.current = newArray(DEFAULT_CAPACITY);
+		this.next = newArray(DEFAULT_CAPACITY);
+		this.currentWidth = 0;
+		this.nextWidth = 0;
+		this.level = -1;
+		this.maxWidth = 0;
+		this.visited = 0;
+
+		if(root != null)
+			next[nextWidth++] = root;
+	}
+
+	/**
+	 * Creates a traversal of a binary tree up to the specified level.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param root the root of the tree, may be null
+	 * @param maxLevel the last level returned, 0 returns only the root
+	 * @return the traversal, before the first level
+	 * @throws IllegalArgumentException if the level is negative
+	 */
+	public static <E> LevelTraversal<E> ofBinary(BinaryTreeNode<E> root, int maxLevel) {
+		return new LevelTraversal<E>(root, false, maxLevel);
+	}
+
+	/**
+	 * Creates a traversal of a general tree up to the specified level.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 * @param root the root of the tree, may be null
+	 * @param maxLevel the last level returned, 0 returns only the root
+	 * @return the traversal, before the first level
+	 * @throws IllegalArgumentException if the level is negative
+	 */
+	public static <E> LevelTraversal<E> ofGeneral(BinaryTreeNode<E> root, int maxLevel) {
+		return new LevelTraversal<E>(root, true, maxLevel);
+	}
+
+	/**
+	 * Checks if there is another level to return.
+	 *
+	 * @return true if the next level has nodes and is not below the maximum level
+	 */
+	public boolean hasNextLevel() {
+		return nextWidth > 0;
+	}
+
+	/**
+	 * Moves to the next level. The nodes of the previous level are replaced.
+	 *
+	 * @return the number of the new level, 0 for the root
+	 * @throws NoSuchElementException if there are no more levels
+	 */
+	public int nextLevel() {
+		if(nextWidth == 0)
+			throw new NoSuchElementException();
+
+		BinaryTreeNode<E>[] swap = current;
+
+		//the recycled array must not keep the nodes of the previous level reachable
+		Arrays.fill(swap, 0, currentWidth, null);
+
+		current = next;
+		currentWidth = nextWidth;
+		next = swap;
+		nextWidth = 0;
+		level++;
+
+		if(currentWidth > maxWidth)
+			maxWidth = currentWidth;
+
+		visited += currentWidth;
+
+		if(level < maxLevel)
+			collectSons();
+
+		return level;
+	}
+
+	/**
+	 * Returns the number of the current level.
+	 *
+	 * @return the current level, or -1 before the first call to {@link #nextLevel()}
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Returns the number of nodes of the current level.
+	 *
+	 * @return the width of the current level
+	 */
+	public int getWidth() {
+		return currentWidth;
+	}
+
+	/**
+	 * Returns a node of the current level, from left to right.
+	 *
+	 * @param position the position of the node in the level
+	 * @return the node
+	 * @throws IndexOutOfBoundsException if the position is out of the level
+	 */
+	public BinaryTreeNode<E> getNode(int position) {
+		if(position < 0 || position >= currentWidth)
+			throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + currentWidth);
+
+		return current[position];
+	}
+
+	/**
+	 * Returns the information of a node of the current level, from left to right.
+	 *
+	 * @param position the position of the node in the level
+	 * @return the information of the node
+	 * @throws IndexOutOfBoundsException if the position is out of the level
+	 */
+	public E getInfo(int position) {
+		return getNode(position).getInfo();
+	}
+
+	/**
+	 * Returns a read-only view of the nodes of the current level. The view does not copy the
+	 * nodes, and it shows the nodes of another level after the next call to
+	 * {@link #nextLevel()}.
+	 *
+	 * @return the nodes of the current level
+	 */
+	public List<BinaryTreeNode<E>> getNodes() {
+		return new LevelView();
+	}
+
+	/**
+	 * Returns the width of the widest level returned so far.
+	 *
+	 * @return the maximum width
+	 */
+	public int getMaxWidth() {
+		return maxWidth;
+	}
+
+	/**
+	 * Returns the number of nodes in the levels returned so far.
+	 *
+	 * @return the number of nodes visited
+	 */
+	public int getVisitedNodes() {
+		return visited;
+	}
+
+	/**
+	 * Moves through the remaining levels and returns their widths. After the call the
+	 * traversal is at its last level.
+	 *
+	 * @return the width of every remaining level, an empty array if there are none
+	 */
+	public int[] remainingWidths() {
+		int[] widths = new int[DEFAULT_CAPACITY];
+		int count = 0;
+
+		while(hasNextLevel()){
+			nextLevel();
+
+			if(count == widths.length)
+				widths = Arrays.copyOf(widths, count << 1);
+
+			widths[count++] = currentWidth;
+		}
+
+		return Arrays.copyOf(widths, count);
+	}
+
+	/**
+	 * Fills the array of the next level with the sons of the nodes of the current level.
+	 */
+	private void collectSons() {
+		for(int i = 0; i < currentWidth; i++){
+			BinaryTreeNode<E> node = current[i];
+
+			if(general){
+				for(BinaryTreeNode<E> son = node.getLeft(); son != null; son = son.getRight())
+					addToNext(son);
+			}
+			else{
+				if(node.getLeft() != null)
+					addToNext(node.getLeft());
+				if(node.getRight() != null)
+					addToNext(node.getRight());
+			}
+		}
+	}
+
+	private void addToNext(BinaryTreeNode<E> node) {
+		if(nextWidth == next.length)
+			next = Arrays.copyOf(next, nextWidth << 1);
+
+		next[nextWidth++] = node;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <E> BinaryTreeNode<E>[] newArray(int capacity) {
+		return new BinaryTreeNode[capacity];
+	}
+
+	/**
+	 * Read-only list over the array of the current level, used by {@link #getNodes()}.
+	 */
+	private class LevelView extends AbstractList<BinaryTreeNode<E>> implements RandomAccess {
+
+		@Override
+		public BinaryTreeNode<E> get(int position) {
+			return getNode(position);
+		}
+
+		@Override
+		public int size() {
+			return currentWidth;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package cu.edu.cujae.ceis.tree.iterators;
+
+import java.util.Arrays;
+
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+
+/**
+ * Array-backed stack of binary tree nodes used by the tree iterators.
+ * Nodes are stored directly, without wrappers, and the array only grows when the
+ * traversal goes deeper than before, so a full traversal allocates memory proportional
+ * to the depth of the tree instead of its number of nodes.
+ * 
+ * @param <E> the type of elements stored in the tree
+ */
+public class NodeStack<E> {
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private BinaryTreeNode<E>[] nodes;
+	private int size;
+	
+	/**
+	 * Constructs an empty stack with the default initial capacity.
+	 */
+	public NodeStack() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructs an empty stack with the specified initial capacity.
+	 * 
+	 * @param capacity the initial capacity of the stack
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public NodeStack(int capacity) {
+		nodes = new BinaryTreeNode[capacity > 0 ? capacity : DEFAULT_CAPACITY];
+		size = 0;
+	}
+	
+	/**
+	 * Pushes the specified node onto the stack.
+	 * 
+	 * @param node the node to push
+	 */
+	public void push(BinaryTreeNode<E> node) {
+		if(size == nodes.length)
+			nodes = Arrays.copyOf(nodes, size << 1);
+		
+		nodes[size++] = node;
+	}
+	
+	/**
+	 * Removes and returns the node on top of the stack.
+	 * 
+	 * @return the node on top of the stack, or null if the stack is empty
+	 */
+	public BinaryTreeNode<E> pop() {
+		BinaryTreeNode<E> node = null;
+		
+		if(size > 0){
+			node = nodes[--size];
+			nodes[size] = null;
+		}
+		
+		return node;
+	}
+	
+	/**
+	 * Returns the node on top of the stack without removing it.
+	 * 
+	 * @return the node on top of the stack, or null if the stack is empty
+	 */
+	public BinaryTreeNode<E> peek() {
+		return size > 0 ? nodes[size - 1] : null;
+	}
+	
+	/**
+	 * Returns true if the stack contains no nodes.
+	 * 
+	 * @return true if the stack is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Returns the number of nodes in the stack.
+	 * 
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Removes all the nodes from the stack, keeping its capacity.
+	 */
+	public void clear() {
+		Arrays.fill(nodes, 0, size, null);
+		size = 0;
+	}
+}
@@ -0,0 +1,321 @@
+package cu.edu.cujae.ceis.tree.iterators;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.ImmutableBinaryTreeNode;
+
+/**
+ * Spliterator over the nodes of a binary tree, in pre-order or in-order.
+ * The pending part of the traversal is kept as a stack of items, each one a whole subtree
+ * or a single node, and splitting hands the first half of the items to the new spliterator,
+ * so the tree is split by subtrees. Used with a general tree in pre-order, the left subtree
+ * of a node holds its descendants and the right subtree its next brothers, so the split
+ * follows the first son and right brother chains.
+ * <p>
+ * When the root is an {@link AugmentedBinaryTreeNode} or an {@link ImmutableBinaryTreeNode}
+ * the size of every subtree is known and the spliterator reports {@link #SIZED} and
+ * {@link #SUBSIZED}; otherwise the size is estimated. The tree must not be modified while it is being traversed.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class TreeSpliterator<E> implements Spliterator<E> {
+
+	/**
+	 * Order in which the nodes of the tree are visited.
+	 */
+	public enum Traversal {PREORDER, SYMMETRIC}
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final Traversal traversal;
+	private final Comparator<? super E> comparator;
+	private final int characteristics;
+	private final boolean sized;
+	private BinaryTreeNode<E>[] items;
+	private boolean[] singles;
+	private int top;
+	private long estimatedSize;
+
+	/**
+	 * Constructs a spliterator over the tree rooted at the specified node.
+	 *
+	 * @param root the root of the tree, may be null
+	 * @param traversal the order in which the nodes are visited
+	 */
+	public TreeSpliterator(BinaryTreeNode<E> root, Traversal traversal) {
+		this(root, traversal, false, null);
+	}
+
+	/**
+	 * Constructs a spliterator over the tree rooted at the specified node that reports
+	 * its elements as {@link #SORTED} by the specified comparator.
+	 *
+	 * @param root the root of the tree, may be null
+	 * @param traversal the order in which the nodes are visited
+	 * @param comparator the comparator that sorts the elements, or null for natural ordering
+	 */
+	public TreeSpliterator(BinaryTreeNode<E> root, Traversal traversal, Comparator<? super E> comparator) {
+		this(root, traversal, true, comparator);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private TreeSpliterator(BinaryTreeNode<E> root, Traversal traversal, boolean sorted, Comparator<? super E> comparator) {
+		this.traversal = traversal;
+		this.comparator = comparator;
+		this.sized = root == null || root instanceof AugmentedBinaryTreeNode || root instanceof ImmutableBinaryTreeNode;
+		this.items = new BinaryTreeNode[DEFAULT_CAPACITY];
+		this.singles = new boolean[DEFAULT_CAPACITY];
+		this.top = 0;
+
+		int flags = ORDERED;
+
+		if(sorted)
+			flags |= SORTED;
+
+		if(sized)
+			flags |= SIZED | SUBSIZED;
+
+		this.characteristics = flags;
+
+		if(root != null){
+			push(root, false);
+			estimatedSize = sized ? subtreeSize(root) : Long.MAX_VALUE;
+		}
+		else
+			estimatedSize = 0;
+	}
+
+	/**
+	 * Constructs the spliterator that receives the first items of a split.
+	 */
+	private TreeSpliterator(TreeSpliterator<E> parent, BinaryTreeNode<E>[] items, boolean[] singles, int top, long estimatedSize) {
+		this.traversal = parent.traversal;
+		this.comparator = parent.comparator;
+		this.characteristics = parent.characteristics;
+		this.sized = parent.sized;
+		this.items = items;
+		this.singles = singles;
+		this.top = top;
+		this.estimatedSize = estimatedSize;
+	}
+
+	/**
+	 * Performs the action on the next element, if there is one.
+	 *
+	 * @param action the action to perform
+	 * @return false if there were no more elements, true otherwise
+	 */
+	public boolean tryAdvance(Consumer<? super E> action) {
+		if(action == null)
+			throw new NullPointerException();
+
+		BinaryTreeNode<E> node = nextNode();
+
+		if(node != null)
+			action.accept(node.getInfo());
+
+		return node != null;
+	}
+
+	/**
+	 * Performs the action on every remaining element.
+	 *
+	 * @param action the action to perform
+	 */
+	public void forEachRemaining(Consumer<? super E> action) {
+		if(action == null)
+			throw new NullPointerException();
+
+		BinaryTreeNode<E> node = nextNode();
+
+		while(node != null){
+			action.accept(node.getInfo());
+			node = nextNode();
+		}
+	}
+
+	/**
+	 * Splits off the first half of the pending subtrees. A single pending subtree is first
+	 * expanded into its root and its two subtrees.
+	 *
+	 * @return a spliterator over the first part of the elements, or null if they cannot be split
+	 */
+	public Spliterator<E> trySplit() {
+		TreeSpliterator<E> prefix = null;
+
+		if(top == 1 && !singles[0])
+			expand();
+
+		if(top > 1){
+			int count = top - top / 2;
+			int first = top - count;
+
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			BinaryTreeNode<E>[] prefixItems = new BinaryTreeNode[Math.max(count, DEFAULT_CAPACITY)];
+			boolean[] prefixSingles = new boolean[prefixItems.length];
+
+			System.arraycopy(items, first, prefixItems, 0, count);
+			System.arraycopy(singles, first, prefixSingles, 0, count);
+			Arrays.fill(items, first, top, null);
+			top = first;
+
+			long prefixSize;
+
+			if(sized){
+				prefixSize = size(prefixItems, prefixSingles, count);
+				estimatedSize -= prefixSize;
+			}
+			else{
+				estimatedSize >>>= 1;
+				prefixSize = estimatedSize;
+			}
+
+			prefix = new TreeSpliterator<E>(this, prefixItems, prefixSingles, count, prefixSize);
+		}
+
+		return prefix;
+	}
+
+	/**
+	 * Returns the number of elements left, exact when the spliterator is {@link #SIZED}.
+	 *
+	 * @return the estimated number of elements left
+	 */
+	public long estimateSize() {
+		return estimatedSize;
+	}
+
+	/**
+	 * Returns the characteristics of this spliterator.
+	 *
+	 * @return the characteristics
+	 */
+	public int characteristics() {
+		return characteristics;
+	}
+
+	/**
+	 * Returns the comparator that sorts the elements.
+	 *
+	 * @return the comparator, or null if the elements are sorted in natural order
+	 * @throws IllegalStateException if the spliterator is not {@link #SORTED}
+	 */
+	public Comparator<? super E> getComparator() {
+		if((characteristics & SORTED) == 0)
+			throw new IllegalStateException();
+
+		return comparator;
+	}
+
+	/**
+	 * Removes and returns the next node in the traversal, expanding the pending subtrees.
+	 *
+	 * @return the next node, or null if there are no more nodes
+	 */
+	private BinaryTreeNode<E> nextNode() {
+		BinaryTreeNode<E> next = null;
+
+		while(next == null && top > 0){
+			BinaryTreeNode<E> node = items[--top];
+			boolean single = singles[top];
+
+			items[top] = null;
+
+			if(single)
+				next = node;
+			else if(traversal == Traversal.PREORDER){
+				if(node.getRight() != null)
+					push(node.getRight(), false);
+
+				if(node.getLeft() != null)
+					push(node.getLeft(), false);
+
+				next = node;
+			}
+			else{
+				while(node.getLeft() != null){
+					if(node.getRight() != null)
+						push(node.getRight(), false);
+
+					push(node, true);
+					node = node.getLeft();
+				}
+
+				if(node.getRight() != null)
+					push(node.getRight(), false);
+
+				next = node;
+			}
+		}
+
+		if(next != null && sized)
+			estimatedSize--;
+
+		return next;
+	}
+
+	/**
+	 * Replaces the single pending subtree by its root and its two subtrees, in traversal order.
+	 */
+	private void expand() {
+		BinaryTreeNode<E> node = items[0];
+
+		top = 0;
+
+		if(node.getRight() != null)
+			push(node.getRight(), false);
+
+		if(traversal == Traversal.PREORDER){
+			if(node.getLeft() != null)
+				push(node.getLeft(), false);
+
+			push(node, true);
+		}
+		else{
+			push(node, true);
+
+			if(node.getLeft() != null)
+				push(node.getLeft(), false);
+		}
+	}
+
+	/**
+	 * Pushes an item on the stack of pending items.
+	 *
+	 * @param node the node of the item
+	 * @param single true if only the node is pending, false if its whole subtree is
+	 */
+	private void push(BinaryTreeNode<E> node, boolean single) {
+		if(top == items.length){
+			items = Arrays.copyOf(items, top << 1);
+			singles = Arrays.copyOf(singles, top << 1);
+		}
+
+		items[top] = node;
+		singles[top++] = single;
+	}
+
+	/**
+	 * Returns the number of nodes of the specified items, which must keep the size of their subtree.
+	 */
+	private static <E> long size(BinaryTreeNode<E>[] items, boolean[] singles, int count) {
+		long size = 0;
+
+		for(int i = 0; i < count; i++)
+			size += singles[i] ? 1 : subtreeSize(items[i]);
+
+		return size;
+	}
+
+	/**
+	 * Returns the cached size of the subtree of an augmented or immutable node.
+	 */
+	private static <E> int subtreeSize(BinaryTreeNode<E> node) {
+		return (node instanceof AugmentedBinaryTreeNode) ? ((AugmentedBinaryTreeNode<E>)node).getSize() : ((ImmutableBinaryTreeNode<E>)node).getSize();
+	}
+}
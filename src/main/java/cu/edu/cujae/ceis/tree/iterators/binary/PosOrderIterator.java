@@ -1,22 +1,22 @@
 package cu.edu.cujae.ceis.tree.iterators.binary;
 
-import java.util.ArrayDeque;
-
 import cu.edu.cujae.ceis.tree.Tree;
 import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
 import cu.edu.cujae.ceis.tree.iterators.ITreeIterator;
-import cu.edu.cujae.ceis.tree.iterators.StackNode;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
 
 /**
  * Iterator for traversing a binary tree in post-order (left-right-root).
+ * The stack keeps the ancestors of the next node, so the traversal does not
+ * allocate memory per node and does not recurse on long right paths.
  * 
  * @param <E> the type of elements stored in the tree
  */
 public class PosOrderIterator<E> implements ITreeIterator<E> {
-	private StackNode<E> nextNode;
+	private BinaryTreeNode<E> nextNode;
 	private BinaryTreeNode<E> currentNode;
 	private Tree<E> tree;	
-	private ArrayDeque<StackNode<E>> stack;
+	private NodeStack<E> stack;
 
 	/**
 	 * Constructs a post-order iterator for the specified tree.
@@ -26,12 +26,12 @@ public class PosOrderIterator<E> implements ITreeIterator<E> {
 	public PosOrderIterator(Tree<E> tree) {
 		this.tree = tree;
 
-		stack = new ArrayDeque<StackNode<E>>();
+		stack = new NodeStack<E>();
 		this.currentNode = null;
 		this.nextNode = null;
 		
 		if(!tree.isEmpty())		
-			this.nextNode = new StackNode<E>(moveCursorToLastLeftOrRightNode((BinaryTreeNode<E>)tree.getRoot()));
+			this.nextNode = moveCursorToLastLeftOrRightNode((BinaryTreeNode<E>)tree.getRoot());
 		
 		this.tree = tree;	
 	}
@@ -42,36 +42,15 @@ public class PosOrderIterator<E> implements ITreeIterator<E> {
 	 * @return the next binary tree node
 	 */
 	public BinaryTreeNode<E> nextNode() {
-		currentNode = null;
+		currentNode = nextNode;
 
 		if(nextNode != null){
-			currentNode = nextNode.getNode();
-
-			if(nextNode.getRight() != null && nextNode.getCount() != 2){					
-				nextNode.incrementCount();
-				nextNode.incrementCount();
-
-				stack.push(nextNode);
-
-				nextNode = new StackNode<E>(moveCursorToLastLeftOrRightNode(nextNode.getRight()));
-			}
-			else{ 
-				nextNode = null;
-
-				if(!stack.isEmpty()){					
-					StackNode<E> father = stack.pop();
-
-					nextNode = father;
+			BinaryTreeNode<E> father = stack.peek();
 
-					if(father.getCount() == 1 && father.getRight() != null){
-						father.incrementCount();
-
-						stack.push(father);
-
-						nextNode = new StackNode<E>(moveCursorToLastLeftOrRightNode(father.getRight()));
-					}	
-				}
-			}
+			if(father != null && father.getRight() != null && !father.getRight().equals(currentNode))
+				nextNode = moveCursorToLastLeftOrRightNode(father.getRight());
+			else
+				nextNode = stack.pop();
 		}
 
 		return currentNode;
@@ -118,24 +97,10 @@ public class PosOrderIterator<E> implements ITreeIterator<E> {
 	private BinaryTreeNode<E> moveCursorToLastLeftOrRightNode(BinaryTreeNode<E> initialNode){
 		BinaryTreeNode<E> cursor = initialNode;
 
-		while(cursor.getLeft() != null){
-			StackNode<E> node = new StackNode<E>(cursor);			
-			node.incrementCount();
-
-			stack.push(node);
-
-			cursor = cursor.getLeft();
-		}
+		while(cursor.getLeft() != null || cursor.getRight() != null){
+			stack.push(cursor);
 
-		if(cursor.getRight() != null){
-			StackNode<E> stackNode = new StackNode<E>(cursor);
-			
-			stackNode.incrementCount();
-			stackNode.incrementCount();
-			
-			stack.push(stackNode);
-			
-			cursor = moveCursorToLastLeftOrRightNode(cursor.getRight());
+			cursor = (cursor.getLeft() != null) ? cursor.getLeft() : cursor.getRight();
 		}
 		
 		return cursor;
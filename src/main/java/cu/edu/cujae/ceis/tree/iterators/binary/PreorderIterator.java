@@ -1,14 +1,14 @@
 package cu.edu.cujae.ceis.tree.iterators.binary;
 
-import java.util.ArrayDeque;
-
 import cu.edu.cujae.ceis.tree.Tree;
 import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
 import cu.edu.cujae.ceis.tree.iterators.ITreeIterator;
-import cu.edu.cujae.ceis.tree.iterators.StackNode;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
 
 /**
  * Iterator for traversing a binary tree in pre-order (root-left-right).
+ * The stack keeps the visited nodes whose right subtree is still pending, so the
+ * traversal does not allocate memory per node.
  * 
  * @param <E> the type of elements stored in the tree
  */
@@ -16,7 +16,7 @@ public class PreorderIterator<E> implements ITreeIterator<E>{
 	private BinaryTreeNode<E> nextNode;
 	private BinaryTreeNode<E> currentNode;
 	private Tree<E> tree;	
-	private ArrayDeque<StackNode<E>> stack;
+	private NodeStack<E> stack;
 
 	/**
 	 * Constructs a pre-order iterator for the specified tree.
@@ -25,7 +25,7 @@ public class PreorderIterator<E> implements ITreeIterator<E>{
 	 */
 	public PreorderIterator(Tree<E> tree) {
 		this.currentNode = null;
-		stack = new ArrayDeque<StackNode<E>>();
+		stack = new NodeStack<E>();
 		this.nextNode = (BinaryTreeNode<E>) tree.getRoot();
 		this.tree = tree;					
 	}
@@ -73,52 +73,20 @@ public class PreorderIterator<E> implements ITreeIterator<E>{
 		
 		currentNode = nextNode;
 		
-		if(nextNode != null)
-		{				
-			if(nextNode.getLeft() != null){
-				StackNode<E> newStackNode = new StackNode<E>(nextNode); 
-				newStackNode.incrementCount();
-				
-				stack.push(newStackNode);
+		if(nextNode != null){
+			if(nextNode.getRight() != null)
+				stack.push(nextNode);
+			
+			if(nextNode.getLeft() != null)
 				nextNode = nextNode.getLeft();
-			}
-			else{								
-				if(nextNode.getRight() != null){
-					StackNode<E> newStackNode = new StackNode<E>(nextNode); 
-					newStackNode.incrementCount();
-					
-					stack.push(newStackNode);
-					
-					StackNode<E> node = stack.pop();
-					node.incrementCount();
+			else{
+				nextNode = null;
 				
-					stack.push(node);											
-					
-					nextNode = nextNode.getRight();
-				}
-				else{										
-					boolean foundedNextNode = false;
-					
-					while(!stack.isEmpty() && !foundedNextNode){
-						StackNode<E> father = stack.pop();
-						
-						if(father.getRight() != null && father.getCount() == 1){
-							foundedNextNode = true;
-							
-							nextNode = father.getRight();
-							
-							father.incrementCount();
-							
-							stack.push(father);
-						}						
-					}
-						
-					if(!foundedNextNode)
-						nextNode = null;						
-				}
+				while(!stack.isEmpty() && nextNode == null)
+					nextNode = stack.pop().getRight();
 			}
 		}
 		
 		return returnNode;
 	}	
-}
\ No newline at end of file
+}
\ No newline at end of file
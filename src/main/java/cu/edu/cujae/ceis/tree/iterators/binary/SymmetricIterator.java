@@ -1,14 +1,14 @@
 package cu.edu.cujae.ceis.tree.iterators.binary;
 
-import java.util.ArrayDeque;
-
 import cu.edu.cujae.ceis.tree.Tree;
 import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
 import cu.edu.cujae.ceis.tree.iterators.ITreeIterator;
-import cu.edu.cujae.ceis.tree.iterators.StackNode;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
 
 /**
  * Iterator for traversing a binary tree in in-order (left-root-right).
+ * The stack keeps the ancestors whose left subtree is being visited, so the
+ * traversal does not allocate memory per node.
  * 
  * @param <E> the type of elements stored in the tree
  */
@@ -17,7 +17,7 @@ public class SymmetricIterator<E> implements ITreeIterator<E>{
 	private BinaryTreeNode<E> nextNode;
 	private BinaryTreeNode<E> currentNode;
 	private Tree<E> tree;	
-	private ArrayDeque<StackNode<E>> stack;
+	private NodeStack<E> stack;
 
 	/**
 	 * Constructs an in-order iterator for the specified tree.
@@ -27,7 +27,7 @@ public class SymmetricIterator<E> implements ITreeIterator<E>{
 	public SymmetricIterator(Tree<E> tree) {		
 		this.tree = tree;
 
-		stack = new ArrayDeque<StackNode<E>>();
+		stack = new NodeStack<E>();
 		this.currentNode = null;
 		this.nextNode = moveCursorToLastLeftNode((BinaryTreeNode<E>)tree.getRoot());
 		this.tree = tree;		
@@ -42,32 +42,10 @@ public class SymmetricIterator<E> implements ITreeIterator<E>{
 		currentNode = nextNode;
 
 		if(currentNode != null){
-			if(currentNode.getRight() != null){
-				StackNode<E> node = new StackNode<E>(currentNode);
-
-				node.incrementCount();
-				node.incrementCount();
-
-				stack.push(node);
-
+			if(currentNode.getRight() != null)
 				nextNode = moveCursorToLastLeftNode(currentNode.getRight());
-			}
-			else{ 
-				nextNode = null;
-
-				if(!stack.isEmpty()){
-					boolean foundedNextNode = false;
-
-					while (!stack.isEmpty() && !foundedNextNode){
-						StackNode<E> father = stack.pop();
-
-						if(father.getCount() == 1){
-							foundedNextNode = true;
-							nextNode = father.getNode();
-						}
-					}
-				}	
-			}
+			else 
+				nextNode = stack.pop();
 		}
 
 		return currentNode;
@@ -118,10 +96,7 @@ public class SymmetricIterator<E> implements ITreeIterator<E>{
 			cursor = initialNode;
 
 			while(cursor.getLeft() != null){
-				StackNode<E> node = new StackNode<E>(cursor);			
-				node.incrementCount();
-
-				stack.push(node);
+				stack.push(cursor);
 
 				cursor = cursor.getLeft();
 			}
@@ -129,4 +104,4 @@ public class SymmetricIterator<E> implements ITreeIterator<E>{
 
 		return cursor;
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
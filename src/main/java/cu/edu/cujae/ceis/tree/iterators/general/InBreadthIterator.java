@@ -8,6 +8,8 @@ import cu.edu.cujae.ceis.tree.iterators.ITreeIterator;
 
 /**
  * Iterator for traversing a general tree in breadth-first order (level order).
+ * The sons of each node are queued walking its brother chain, so the traversal
+ * does not build intermediate lists.
  * 
  * @param <E> the type of elements stored in the tree
  */
@@ -27,9 +29,6 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
 		currentNode = null;
 		nextNode = (BinaryTreeNode<E>)tree.getRoot();
 		deque = new ArrayDeque<BinaryTreeNode<E>>();
-		
-		if(nextNode != null)
-			deque.addAll(tree.getSons(nextNode));
 	}
 
 	/**
@@ -48,20 +47,10 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
 	 */
 	public E next() {
 		E returnInfo = null;
-		currentNode = nextNode;
+		BinaryTreeNode<E> current = nextNode();
 		
-		if(nextNode != null){
-			returnInfo = nextNode.getInfo();			
-			
-			if(deque.isEmpty())
-				nextNode = null;
-			else{
-				nextNode = deque.poll();
-				
-				if(!tree.nodeIsLeaf(nextNode))
-					deque.addAll(tree.getSons(nextNode));
-			}
-		}
+		if(current != null)
+			returnInfo = current.getInfo();
 		
 		return returnInfo;
 	}
@@ -74,15 +63,10 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
 	public BinaryTreeNode<E> nextNode(){
 		currentNode = nextNode;
 		
-		if(nextNode != null){							
-			if(deque.isEmpty())
-				nextNode = null;
-			else{
-				nextNode = deque.poll();
-				
-				if(!tree.nodeIsLeaf(nextNode))
-					deque.addAll(tree.getSons(nextNode));
-			}
+		if(nextNode != null){
+			addSons(nextNode);
+			
+			nextNode = deque.poll();
 		}
 		
 		return currentNode;
@@ -94,4 +78,18 @@ public class InBreadthIterator<E> implements ITreeIterator<E> {
 	public void remove() {
 		tree.deleteNode(currentNode);
 	}
+
+	/**
+	 * Adds the sons of the specified node to the queue, walking its brother chain.
+	 * 
+	 * @param node the father node
+	 */
+	private void addSons(BinaryTreeNode<E> node){
+		BinaryTreeNode<E> son = node.getLeft();
+		
+		while(son != null){
+			deque.add(son);
+			son = son.getRight();
+		}
+	}
 }
\ No newline at end of file
@@ -10,13 +10,19 @@ import cu.edu.cujae.ceis.tree.iterators.ITreeIterator;
 
 /**
  * Iterator for traversing a general tree in breadth-first order with level information.
+ * Levels are tracked counting the nodes left in the current level, so the queue holds
+ * the nodes directly and a {@link BreadthNode} is only created when
+ * {@link #nextNodeWithLevel()} is called.
  * 
  * @param <E> the type of elements stored in the tree
  */
 public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
-	private ArrayDeque<BreadthNode<E>> deque;
-	private BreadthNode<E> currentNode;
-	private BreadthNode<E> nextNode;
+	private ArrayDeque<BinaryTreeNode<E>> deque;
+	private BinaryTreeNode<E> currentNode;
+	private BinaryTreeNode<E> nextNode;
+	private int currentLevel;
+	private int nextLevel;
+	private int pendingInLevel;
 	GeneralTree<E> tree;
 	
 	/**
@@ -27,14 +33,11 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
 	public InBreadthIteratorWithLevels(GeneralTree<E> tree) {	
 		this.tree = tree;		
 		currentNode = null;
-		nextNode = new BreadthNode<E>((BinaryTreeNode<E>)tree.getRoot());
-		deque = new ArrayDeque<BreadthNode<E>>();
-		
-		if(nextNode != null){
-			ArrayList<BreadthNode<E>> sons = getSonsWithLevels(tree.getSons(nextNode.getNode()), nextNode.getLevel());
-			
-			deque.addAll(sons);
-		}
+		nextNode = (BinaryTreeNode<E>)tree.getRoot();
+		currentLevel = -1;
+		nextLevel = 0;
+		pendingInLevel = 0;
+		deque = new ArrayDeque<BinaryTreeNode<E>>();
 	}
 
 	/**
@@ -53,23 +56,10 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
 	 */
 	public E next() {
 		E returnInfo = null;
-		currentNode = nextNode;
+		BinaryTreeNode<E> current = nextNode();
 		
-		if(nextNode != null){
-			returnInfo = nextNode.getInfo();			
-			
-			if(deque.isEmpty())
-				nextNode = null;
-			else{
-				nextNode = deque.poll();
-				
-				if(!tree.nodeIsLeaf(nextNode.getNode())){
-					ArrayList<BreadthNode<E>> sons = getSonsWithLevels(tree.getSons(nextNode.getNode()), nextNode.getLevel());
-					
-					deque.addAll(sons);
-				}
-			}
-		}
+		if(current != null)
+			returnInfo = current.getInfo();
 		
 		return returnInfo;
 	}	
@@ -82,53 +72,57 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
 	public BinaryTreeNode<E> nextNode(){
 		currentNode = nextNode;
 		
-		if(nextNode != null){							
-			if(deque.isEmpty())
-				nextNode = null;
+		if(nextNode != null){
+			currentLevel = nextLevel;
+			
+			addSons(nextNode);
+			
+			if(pendingInLevel > 0)
+				pendingInLevel--;
 			else{
-				nextNode = deque.poll();
-				
-				if(!tree.nodeIsLeaf(nextNode.getNode())){
-					ArrayList<BreadthNode<E>> sons = getSonsWithLevels(tree.getSons(nextNode.getNode()), nextNode.getLevel());
-					
-					deque.addAll(sons);
-				}
+				nextLevel++;
+				pendingInLevel = deque.size() - 1;
 			}
+			
+			nextNode = deque.poll();
 		}
 		
-		return currentNode.getNode();
+		return currentNode;
 	}
 	
 	/**
 	 * Returns the next node with level information in breadth-first traversal.
 	 * 
-	 * @return the next breadth node containing both node and level information
+	 * @return the next breadth node containing both node and level information,
+	 * or null if there are no more nodes
 	 */
 	public BreadthNode<E> nextNodeWithLevel(){
-		currentNode = nextNode;
+		BreadthNode<E> breadthNode = null;
+		BinaryTreeNode<E> current = nextNode();
 		
-		if(nextNode != null){							
-			if(deque.isEmpty())
-				nextNode = null;
-			else{
-				nextNode = deque.poll();
-				
-				if(!tree.nodeIsLeaf(nextNode.getNode())){
-					ArrayList<BreadthNode<E>> sons = getSonsWithLevels(tree.getSons(nextNode.getNode()), nextNode.getLevel());
-					
-					deque.addAll(sons);
-				}
-			}
+		if(current != null){
+			breadthNode = new BreadthNode<E>(current);
+			breadthNode.setLevel(currentLevel);
 		}
 		
-		return currentNode;
+		return breadthNode;
+	}
+	
+	/**
+	 * Returns the level of the node returned by the last call to {@link #next()},
+	 * {@link #nextNode()} or {@link #nextNodeWithLevel()}.
+	 * 
+	 * @return the level of the current node, or -1 if the iteration has not started
+	 */
+	public int getCurrentLevel(){
+		return currentLevel;
 	}
 	
 	/**
 	 * Removes the current node from the tree.
 	 */
 	public void remove() {
-		tree.deleteNode(currentNode.getNode());
+		tree.deleteNode(currentNode);
 	}
 
 	/**
@@ -146,4 +140,18 @@ public class InBreadthIteratorWithLevels<E> implements ITreeIterator<E> {
 		
 		return list;
 	}
+
+	/**
+	 * Adds the sons of the specified node to the queue, walking its brother chain.
+	 * 
+	 * @param node the father node
+	 */
+	private void addSons(BinaryTreeNode<E> node){
+		BinaryTreeNode<E> son = node.getLeft();
+		
+		while(son != null){
+			deque.add(son);
+			son = son.getRight();
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,412 @@
+package cu.edu.cujae.ceis.tree.lexicographical;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Sorted tree of elements that can be read and modified by several threads at the same time.
+ * The elements are kept in a lock-free concurrent skip list ordered by the comparator of the
+ * tree, so insertions, deletions and lookups never block each other. Like
+ * {@link LexicographicTree}, equal elements are stored once.
+ * <p>
+ * Iterators and streams are weakly consistent: they never throw
+ * {@link java.util.ConcurrentModificationException}, return the elements in the order of the
+ * tree and reflect some, but not necessarily all, the changes made after they were created.
+ * Null elements are not allowed.
+ *
+ * @param <E> the type of elements stored in the tree
+ */
+public class ConcurrentLexicographicTree<E> implements Iterable<E>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Order order;
+
+	//Comparador indicado al construir el arbol, null si se usa la interfaz Comparable
+	private final Comparator<? super E> comparator;
+
+	private transient ConcurrentSkipListSet<E> elements;
+
+	private transient LongAdder count;
+
+	/**
+	 * Constructs an empty tree in ascending order for elements that implement Comparable.
+	 */
+	public ConcurrentLexicographicTree(){
+		this(Order.ASC);
+	}
+
+	/**
+	 * Constructs an empty tree with the specified order for elements that implement Comparable.
+	 *
+	 * @param order the order of the elements in the tree
+	 */
+	public ConcurrentLexicographicTree(Order order){
+		this(order, null);
+	}
+
+	/**
+	 * Constructs an empty tree in ascending order that compares its elements with the
+	 * specified comparator.
+	 *
+	 * @param comparator the comparator that defines the ascending order of the elements
+	 */
+	public ConcurrentLexicographicTree(Comparator<? super E> comparator){
+		this(Order.ASC, comparator);
+	}
+
+	/**
+	 * Constructs an empty tree that compares its elements with the specified comparator.
+	 *
+	 * @param order the order of the elements in the tree
+	 * @param comparator the comparator that defines the ascending order of the elements,
+	 * or null to use the Comparable interface of the elements
+	 */
+	public ConcurrentLexicographicTree(Order order, Comparator<? super E> comparator){
+		this.order = order;
+		this.comparator = comparator;
+
+		init();
+	}
+
+	/**
+	 * Creates an empty tree for elements that implement Comparable.
+	 *
+	 * @param <T> the type of elements stored in the tree
+	 * @param order the order of the elements in the tree
+	 * @return the new empty tree
+	 */
+	public static <T extends Comparable<? super T>> ConcurrentLexicographicTree<T> ofComparable(Order order){
+		return new ConcurrentLexicographicTree<T>(order, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * Returns the order of the elements in the tree.
+	 *
+	 * @return the order of the tree
+	 */
+	public Order getOrder() {
+		return order;
+	}
+
+	/**
+	 * Returns the comparator used to order the elements, without the inversion of the DESC order.
+	 *
+	 * @return the comparator, or null if the elements are compared through the Comparable interface
+	 */
+	public Comparator<? super E> getComparator() {
+		return comparator;
+	}
+
+	/**
+	 * Inserts the value in the tree if no equal element is already stored.
+	 *
+	 * @param value the value to insert
+	 * @return true if the value was inserted, false if an equal element was already in the tree
+	 * @throws DoesNotImplementsComparable if the value is null, or does not implement
+	 * Comparable and the tree has no comparator
+	 */
+	public boolean insertValue(E value) throws DoesNotImplementsComparable {
+		if(!isComparable(value))
+			throw new DoesNotImplementsComparable("El objeto que se intenta insertar no implementa la interfaz Comparable");
+
+		boolean inserted = elements.add(value);
+
+		if(inserted)
+			count.increment();
+
+		return inserted;
+	}
+
+	/**
+	 * Deletes the element equal to the specified value.
+	 *
+	 * @param value the value to delete
+	 * @return the deleted element, or null if the value was not in the tree
+	 * @throws DoesNotImplementsComparable if the value is null, or does not implement
+	 * Comparable and the tree has no comparator
+	 */
+	public E deleteNode(E value) throws DoesNotImplementsComparable {
+		if(!isComparable(value))
+			throw new DoesNotImplementsComparable("El objeto que se intenta eliminar no implementa la interfaz Comparable");
+
+		E deleteInfo = null;
+		boolean deleted = false;
+
+		//Se reintenta si otro hilo cambia el elemento entre la busqueda y la eliminacion
+		while(!deleted){
+			deleteInfo = elements.ceiling(value);
+
+			if(deleteInfo == null || elements.comparator().compare(deleteInfo, value) != 0){
+				deleteInfo = null;
+				deleted = true;
+			}
+			else if(elements.remove(value)){
+				count.decrement();
+				deleted = true;
+			}
+		}
+
+		return deleteInfo;
+	}
+
+	/**
+	 * Checks if the tree contains an element equal to the specified value.
+	 *
+	 * @param value the value to search
+	 * @return true if the value is in the tree, false otherwise or if the value can not be compared
+	 */
+	public boolean contains(E value){
+		return isComparable(value) && elements.contains(value);
+	}
+
+	/**
+	 * Returns the element of the tree equal to the specified value.
+	 *
+	 * @param value the value to search
+	 * @return the element stored in the tree, or null if the value is not in the tree
+	 */
+	public E get(E value){
+		E info = ceiling(value);
+
+		return (info != null && elements.comparator().compare(info, value) == 0) ? info : null;
+	}
+
+	/**
+	 * Returns the last element that does not go after the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E floor(E value){
+		return isComparable(value) ? elements.floor(value) : null;
+	}
+
+	/**
+	 * Returns the last element that goes before the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E lower(E value){
+		return isComparable(value) ? elements.lower(value) : null;
+	}
+
+	/**
+	 * Returns the first element that does not go before the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E ceiling(E value){
+		return isComparable(value) ? elements.ceiling(value) : null;
+	}
+
+	/**
+	 * Returns the first element that goes after the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E higher(E value){
+		return isComparable(value) ? elements.higher(value) : null;
+	}
+
+	/**
+	 * Returns the first element in the tree order.
+	 *
+	 * @return the first element, or null if the tree is empty
+	 */
+	public E first(){
+		E info = null;
+
+		try{
+			info = elements.first();
+		}
+		catch(NoSuchElementException e){
+			//El arbol esta vacio
+		}
+
+		return info;
+	}
+
+	/**
+	 * Returns the last element in the tree order.
+	 *
+	 * @return the last element, or null if the tree is empty
+	 */
+	public E last(){
+		E info = null;
+
+		try{
+			info = elements.last();
+		}
+		catch(NoSuchElementException e){
+			//El arbol esta vacio
+		}
+
+		return info;
+	}
+
+	/**
+	 * Returns the number of elements in the tree. The count is kept on every insertion and
+	 * deletion, so it is returned in constant time. A change to the elements and the update
+	 * of the count are not atomic together, so while other threads modify the tree the
+	 * result is only an estimate: it may not include their latest changes.
+	 *
+	 * @return the number of elements, never negative
+	 */
+	public int totalNodes(){
+		long total = count.sum();
+
+		//Una eliminacion puede descontarse antes que la insercion que la precede
+		return (int)Math.max(0, Math.min(total, Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Checks if the tree is empty.
+	 *
+	 * @return true if the tree has no elements, false otherwise
+	 */
+	public boolean isEmpty(){
+		return elements.isEmpty();
+	}
+
+	/**
+	 * Deletes all the elements of the tree.
+	 */
+	public void clear(){
+		Iterator<E> iter = iterator();
+
+		while(iter.hasNext()){
+			iter.next();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the elements in the tree order.
+	 *
+	 * @return list of the elements
+	 */
+	public LinkedList<E> getOrderedItems(){
+		return new LinkedList<E>(elements);
+	}
+
+	/**
+	 * Returns a weakly consistent iterator over the elements in the tree order, like
+	 * the {@link cu.edu.cujae.ceis.tree.iterators.binary.SymmetricIterator} of
+	 * {@link LexicographicTree}. Its remove operation deletes the last returned element.
+	 *
+	 * @return in-order iterator
+	 */
+	public Iterator<E> iterator(){
+		final Iterator<E> iter = elements.iterator();
+
+		return new Iterator<E>(){
+			private E current = null;
+
+			public boolean hasNext(){
+				return iter.hasNext();
+			}
+
+			public E next(){
+				current = iter.next();
+
+				return current;
+			}
+
+			public void remove(){
+				if(current == null)
+					throw new IllegalStateException();
+
+				if(elements.remove(current))
+					count.decrement();
+
+				current = null;
+			}
+		};
+	}
+
+	/**
+	 * Returns a weakly consistent spliterator over the elements in the tree order.
+	 *
+	 * @return sorted, distinct and concurrent spliterator
+	 */
+	public Spliterator<E> spliterator(){
+		return elements.spliterator();
+	}
+
+	/**
+	 * Returns a sequential stream over the elements in the tree order.
+	 *
+	 * @return a sequential stream of the elements
+	 */
+	public Stream<E> stream(){
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Returns a parallel stream over the elements in the tree order.
+	 *
+	 * @return a parallel stream of the elements
+	 */
+	public Stream<E> parallelStream(){
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	private boolean isComparable(Object obj){
+		return obj != null && (comparator != null || obj instanceof Comparable);
+	}
+
+	//Prepara la lista con el comparador del arbol, invertido si el orden es DESC
+	@SuppressWarnings("unchecked")
+	private void init(){
+		Comparator<? super E> ascending = comparator;
+
+		if(ascending == null)
+			ascending = (Comparator<? super E>)Comparator.naturalOrder();
+
+		elements = new ConcurrentSkipListSet<E>((order == Order.DESC) ? Collections.reverseOrder(ascending) : ascending);
+		count = new LongAdder();
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException{
+		out.defaultWriteObject();
+
+		LinkedList<E> items = getOrderedItems();
+
+		out.writeInt(items.size());
+
+		for(E item : items)
+			out.writeObject(item);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException{
+		in.defaultReadObject();
+
+		init();
+
+		int size = in.readInt();
+
+		for(int i = 0; i < size; i++){
+			elements.add((E)in.readObject());
+			count.increment();
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package cu.edu.cujae.ceis.tree.lexicographical;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Lexicographic tree of double keys. Like a {@link LexicographicTree} with AVL balance, but the
+ * keys are stored in a double array instead of boxed in nodes, so a key takes 17 bytes of heap
+ * and comparisons do not go through {@link Comparable}. Keys are compared with
+ * {@link Double#compare(double, double)}, so -0.0 goes before 0.0 and NaN after every other
+ * key. Equal keys are stored once.
+ */
+public class DoubleLexicographicTree extends PrimitiveLexicographicTree {
+
+	private double[] keys;
+
+	/**
+	 * Constructs an empty tree in ascending order.
+	 */
+	public DoubleLexicographicTree() {
+		this(Order.ASC);
+	}
+
+	/**
+	 * Constructs an empty tree with the specified order.
+	 *
+	 * @param order the order of the keys in the tree
+	 */
+	public DoubleLexicographicTree(Order order) {
+		this(order, 0);
+	}
+
+	/**
+	 * Constructs an empty tree with the specified order and room for the specified number of
+	 * keys before its arrays grow.
+	 *
+	 * @param order the order of the keys in the tree
+	 * @param initialCapacity the initial capacity
+	 */
+	public DoubleLexicographicTree(Order order, int initialCapacity) {
+		super(order, initialCapacity);
+	}
+
+	/**
+	 * Inserts the key in the tree if it is not already stored.
+	 *
+	 * @param key the key to insert
+	 * @return true if the key was inserted, false if it was already in the tree
+	 */
+	public boolean insert(double key) {
+		return insertKey(toSortable(key));
+	}
+
+	/**
+	 * Deletes the key from the tree.
+	 *
+	 * @param key the key to delete
+	 * @return true if the key was deleted, false if it was not in the tree
+	 */
+	public boolean delete(double key) {
+		return deleteKey(toSortable(key));
+	}
+
+	/**
+	 * Checks if the tree contains the key.
+	 *
+	 * @param key the key to search
+	 * @return true if the key is in the tree, false otherwise
+	 */
+	public boolean contains(double key) {
+		return findKey(toSortable(key)) != NIL;
+	}
+
+	/**
+	 * Returns the first key in the tree order.
+	 *
+	 * @return the first key, or an empty optional if the tree is empty
+	 */
+	public OptionalDouble first() {
+		return keyOf(firstNode());
+	}
+
+	/**
+	 * Returns the last key in the tree order.
+	 *
+	 * @return the last key, or an empty optional if the tree is empty
+	 */
+	public OptionalDouble last() {
+		return keyOf(lastNode());
+	}
+
+	/**
+	 * Returns the last key that does not go after the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalDouble floor(double value) {
+		return keyOf(searchBefore(toSortable(value), true));
+	}
+
+	/**
+	 * Returns the last key that goes before the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalDouble lower(double value) {
+		return keyOf(searchBefore(toSortable(value), false));
+	}
+
+	/**
+	 * Returns the first key that does not go before the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalDouble ceiling(double value) {
+		return keyOf(searchAfter(toSortable(value), true));
+	}
+
+	/**
+	 * Returns the first key that goes after the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalDouble higher(double value) {
+		return keyOf(searchAfter(toSortable(value), false));
+	}
+
+	/**
+	 * Returns an iterator over the keys in the tree order.
+	 *
+	 * @return in-order iterator
+	 */
+	public PrimitiveIterator.OfDouble iterator() {
+		return new PrimitiveIterator.OfDouble() {
+			private final NodeCursor cursor = new NodeCursor();
+
+			public boolean hasNext() {
+				return cursor.hasNext();
+			}
+
+			public double nextDouble() {
+				return keys[cursor.nextNode()];
+			}
+		};
+	}
+
+	/**
+	 * Performs the action for every key in the tree order.
+	 *
+	 * @param action the action to perform
+	 */
+	public void forEach(DoubleConsumer action) {
+		NodeCursor cursor = new NodeCursor();
+
+		while(cursor.hasNext())
+			action.accept(keys[cursor.nextNode()]);
+	}
+
+	/**
+	 * Returns a sequential stream over the keys in the tree order.
+	 *
+	 * @return a sequential stream of the keys
+	 */
+	public DoubleStream stream() {
+		return StreamSupport.doubleStream(Spliterators.spliterator(iterator(), totalNodes(), characteristics()), false);
+	}
+
+	/**
+	 * Returns the keys in the tree order.
+	 *
+	 * @return array of the keys
+	 */
+	public double[] toArray() {
+		double[] array = new double[totalNodes()];
+		NodeCursor cursor = new NodeCursor();
+
+		for(int i = 0; cursor.hasNext(); i++)
+			array[i] = keys[cursor.nextNode()];
+
+		return array;
+	}
+
+	@Override
+	void resizeKeys(int capacity) {
+		keys = (keys == null) ? new double[capacity] : Arrays.copyOf(keys, capacity);
+	}
+
+	@Override
+	void copyKey(int from, int to) {
+		keys[to] = keys[from];
+	}
+
+	@Override
+	long keyAt(int node) {
+		return toSortable(keys[node]);
+	}
+
+	@Override
+	void storeKey(int node, long key) {
+		keys[node] = Double.longBitsToDouble(flipNegative(key));
+	}
+
+	//Bits de la clave ordenados como Double.compare: los negativos invierten todo menos el signo
+	private static long toSortable(double key) {
+		return flipNegative(Double.doubleToLongBits(key));
+	}
+
+	//La transformacion es su propia inversa
+	private static long flipNegative(long bits) {
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	private OptionalDouble keyOf(int node) {
+		return (node != NIL) ? OptionalDouble.of(keys[node]) : OptionalDouble.empty();
+	}
+}
@@ -1,8 +1,22 @@
 package cu.edu.cujae.ceis.tree.lexicographical;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Function;
 import cu.edu.cujae.ceis.tree.binary.BinaryTree;
 import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+import cu.edu.cujae.ceis.tree.iterators.TreeSpliterator;
 import cu.edu.cujae.ceis.tree.iterators.binary.SymmetricIterator;
 /**
  * 
@@ -20,39 +34,149 @@ public class LexicographicTree<E> extends BinaryTree<E>{
 
 	public enum Order {ASC, DESC};
 
+	/**
+	 * Estrategia de balanceo del arbol. NONE inserta sin reestructurar el arbol,
+	 * AVL lo rebalancea tras cada insercion y eliminacion manteniendo la altura en O(log n).
+	 */
+	public enum Balance {NONE, AVL};
+
 	private Order order;
+	
+	private Balance balance;
 
-	public LexicographicTree(){
-		super();
+	//Comparador indicado al construir el arbol, null si se usa la interfaz Comparable
+	private Comparator<? super E> comparator;
 
-		this.order = Order.ASC;
+	//Comparador que se usa en el arbol, ya invertido si el orden es DESC
+	private transient Comparator<? super E> treeComparator;
+
+	//Funcion que calcula la clave de findNodeByKey, null si la busqueda por clave no esta activa
+	private transient Function<? super E, ?> keyFunction;
+
+	//true si la clave es el propio elemento y se busca por el orden del arbol
+	private transient boolean keyIsInfo;
+
+	public LexicographicTree(){
+		this(Order.ASC);
 	}
 
 	public LexicographicTree(Order order){
+		this(order, Balance.NONE);
+	}
+
+	/**
+	 * Constructs an empty lexicographic tree with the specified order and balance strategy.
+	 * 
+	 * @param order the order of the elements in the tree
+	 * @param balance the balance strategy applied on insertions and deletions
+	 */
+	public LexicographicTree(Order order, Balance balance){
+		this(order, balance, (Comparator<? super E>)null);
+	}
+
+	/**
+	 * Constructs an empty lexicographic tree in ascending order that compares its elements
+	 * with the specified comparator. The elements do not need to implement Comparable.
+	 * 
+	 * @param comparator the comparator that defines the ascending order of the elements
+	 */
+	public LexicographicTree(Comparator<? super E> comparator){
+		this(Order.ASC, Balance.NONE, comparator);
+	}
+
+	/**
+	 * Constructs an empty lexicographic tree that compares its elements with the specified
+	 * comparator. The elements do not need to implement Comparable.
+	 * 
+	 * @param order the order of the elements in the tree
+	 * @param balance the balance strategy applied on insertions and deletions
+	 * @param comparator the comparator that defines the ascending order of the elements, 
+	 * or null to use the Comparable interface of the elements
+	 */
+	public LexicographicTree(Order order, Balance balance, Comparator<? super E> comparator){
 		super();
 
 		this.order = order;
+		this.balance = balance;
+		this.comparator = comparator;
+
+		initComparator();
+	}
+
+	/**
+	 * Creates an empty lexicographic tree for elements that implement Comparable.
+	 * The element type is checked by the compiler, so the tree does not check
+	 * the values on every insertion, deletion or search.
+	 * 
+	 * @param <T> the type of elements stored in the tree
+	 * @param order the order of the elements in the tree
+	 * @param balance the balance strategy applied on insertions and deletions
+	 * @return the new empty tree
+	 */
+	public static <T extends Comparable<? super T>> LexicographicTree<T> ofComparable(Order order, Balance balance){
+		return new LexicographicTree<T>(order, balance, Comparator.<T>naturalOrder());
 	}
 
 	public LexicographicTree(Order order, E rootInfo) throws DoesNotImplementsComparable{
-		super();
+		this(order, Balance.NONE, rootInfo);
+	}
 
-		this.order = order;
+	/**
+	 * Constructs a lexicographic tree with the specified order, balance strategy and root value.
+	 * 
+	 * @param order the order of the elements in the tree
+	 * @param balance the balance strategy applied on insertions and deletions
+	 * @param rootInfo the value stored in the root
+	 * @throws DoesNotImplementsComparable if the value does not implement Comparable
+	 */
+	public LexicographicTree(Order order, Balance balance, E rootInfo) throws DoesNotImplementsComparable{
+		this(order, balance);
 
-		if(implementsComparable(rootInfo))
-			setRoot(new BinaryTreeNode<E>(rootInfo));		
+		if(isComparable(rootInfo))
+			setRoot(createNode(rootInfo));		
 		else
 			throw new DoesNotImplementsComparable("El objeto que se intenta insertar no implementa la interfaz Comparable");
 	}
 
+	/**
+	 * Returns the order of the elements in the tree.
+	 * 
+	 * @return the order of the tree
+	 */
+	public Order getOrder() {
+		return order;
+	}
+
+	/**
+	 * Returns the balance strategy of the tree.
+	 * 
+	 * @return the balance strategy
+	 */
+	public Balance getBalance() {
+		return balance;
+	}
+
+	/**
+	 * Returns the comparator used to order the elements, without the inversion of the DESC order.
+	 * 
+	 * @return the comparator, or null if the elements are compared through the Comparable interface
+	 */
+	public Comparator<? super E> getComparator() {
+		return comparator;
+	}
+
 	public void insertValueRecursive(E info) throws DoesNotImplementsComparable {
-		if(implementsComparable(info)){
-			BinaryTreeNode<E> node = new BinaryTreeNode<E>(info);
+		if(isComparable(info)){
+			if(balance == Balance.AVL)
+				setRoot(insertBalanced((BinaryTreeNode<E>)root, info));
+			else{
+				BinaryTreeNode<E> node = createNode(info);
 
-			if (isEmpty())
-				root = node;
-			else {
-				insertInTree((BinaryTreeNode<E>)root, node);
+				if (isEmpty())
+					setRoot(node);
+				else {
+					insertInTree((BinaryTreeNode<E>)root, node);
+				}
 			}
 		}
 		else
@@ -62,225 +186,143 @@ public class LexicographicTree<E> extends BinaryTree<E>{
 	// Devuelve null si no el elemento no esta en el arbol
 
 	public E deleteNode(E info) throws  DoesNotImplementsComparable{
-		BinaryTreeNode<E> cursor;
-		boolean delete = false;
-		BinaryTreeNode<E> nodeToDelete= new BinaryTreeNode<E>();
-		E deleteInfo = null;
-		if(search(info)){
+		return deleteValue(info);
+	}
 
-			if(((Comparable) ((BinaryTreeNode<E>)root).getInfo()).compareTo(info)==0){
-				if(((BinaryTreeNode<E>)root).getLeft() == null && ((BinaryTreeNode<E>)root).getRight() ==null){
-					setRoot(null);
-				}
-				else{
-					if(((BinaryTreeNode<E>)root).getLeft() != null && ((BinaryTreeNode<E>)root).getRight() ==null){
-						setRoot(((BinaryTreeNode<E>)root).getLeft());
-					}
-					else{
-						if(((BinaryTreeNode<E>)root).getLeft() == null && ((BinaryTreeNode<E>)root).getRight() !=null){
-							setRoot(((BinaryTreeNode<E>)root).getRight());
-						}
-						else{
+	//Elimina el valor del arbol y lo devuelve, o null si no esta
+	private E deleteValue(E info){
+		BinaryTreeNode<E> cursor = null;
+		BinaryTreeNode<E> father = null;
+		E deleteInfo = null;
 
-							nodeToDelete = (BinaryTreeNode<E>)root;
-							deleteInfo = delete(nodeToDelete,(BinaryTreeNode<E>)root).getInfo();
+		if(root != null && isComparable(info)){
+			cursor = (BinaryTreeNode<E>)root;
+			int compare = compare(cursor.getInfo(), info);
 
-						}
+			//Se recuerda el padre durante el descenso para no buscarlo despues
+			while(compare != 0 && cursor != null){
+				father = cursor;
+				cursor = (compare < 0) ? cursor.getRight() : cursor.getLeft();
 
-					}
-				}
+				if(cursor != null)
+					compare = compare(cursor.getInfo(), info);
 			}
+		}
 
-			else{
-
-				cursor = (BinaryTreeNode<E>) this.getRoot();
-				int compare;
-
-				while(!delete){
-					compare = ((Comparable)cursor.getInfo()).compareTo(info);
+		if(cursor != null){
+			deleteInfo = cursor.getInfo();
 
-					if(this.order == Order.DESC){
-						compare = compare*-1;
-					}
-					if(compare<0){
-						cursor = cursor.getRight();
-					}
-					if(compare >0){
-						cursor = cursor.getLeft();
-					}
-					if(compare==0){
-						nodeToDelete = cursor;
-						delete=true;
-					}
-				}
-				deleteInfo = delete(nodeToDelete,getFather(nodeToDelete)).getInfo();
+			if(balance == Balance.AVL)
+				setRoot(deleteBalanced((BinaryTreeNode<E>)root, info));
+			else if(father == null){
+				if(cursor.getLeft() != null && cursor.getRight() != null)
+					delete(cursor, cursor);
+				else
+					setRoot((cursor.getLeft() != null) ? cursor.getLeft() : cursor.getRight());
 			}
+			else
+				delete(cursor, father);
 		}
 
 		return deleteInfo;
 	}	
 
-	//Busca el menor elemento en un subarbol
-	private BinaryTreeNode<E> searchMinor(BinaryTreeNode<E> subTreeRoot) {
-
-		if(this.order == Order.ASC){
-			while(subTreeRoot.getLeft()!=null){
-				subTreeRoot = subTreeRoot.getLeft();
-			}
-		}
+	//Devuelve la nueva raiz del subarbol sin su primer elemento segun el orden del arbol.
+	//Se desciende por la izquierda sin recursion y solo se enlaza el padre del primero
+	private BinaryTreeNode<E> deleteMin(BinaryTreeNode<E> subTreeRoot){
+		if(subTreeRoot.getLeft() == null)
+			subTreeRoot = subTreeRoot.getRight();
 		else{
-			while(subTreeRoot.getRight()!=null){
+			BinaryTreeNode<E> father = subTreeRoot;
 
-				subTreeRoot = subTreeRoot.getRight();
-			}
+			while(father.getLeft().getLeft() != null)
+				father = father.getLeft();
+
+			father.setLeft(father.getLeft().getRight());
 		}
+
 		return subTreeRoot;
 	}
 
-	//Devuelve la nueva raiz del arbol
-	private BinaryTreeNode<E> deleteMin(BinaryTreeNode<E> subTreeRoot){
+	//Elimina el nodo del subarbol y devuelve la nueva raiz del subarbol. Se desciende
+	//recordando el padre en lugar de recursar por cada nivel
+	private BinaryTreeNode<E> delete(BinaryTreeNode<E> nodeToDelete,BinaryTreeNode<E> subTreeRoot){
+		BinaryTreeNode<E> father = null;
+		BinaryTreeNode<E> cursor = subTreeRoot;
+		int compare = compare(nodeToDelete.getInfo(), cursor.getInfo());
+
+		while(compare != 0){
+			father = cursor;
+			cursor = (compare < 0) ? cursor.getLeft() : cursor.getRight();
+			compare = compare(nodeToDelete.getInfo(), cursor.getInfo());
+		}
 
-		if(this.order == Order.ASC){
-			if(subTreeRoot.getLeft() != null){
-				subTreeRoot.setLeft(deleteMin(subTreeRoot.getLeft()));
-			}
-			else
-				subTreeRoot = subTreeRoot.getRight();
+		if(cursor.getLeft()!=null && cursor.getRight()!=null){//Dos hijos
+			cursor.setInfo(searchFirst(cursor.getRight()).getInfo());
+			cursor.setRight(deleteMin(cursor.getRight()));
 		}
-		else{
-			if(subTreeRoot.getRight() != null){
-				subTreeRoot.setRight(deleteMin(subTreeRoot.getRight()));
-			}
+		else{//Cambio de raiz
+			BinaryTreeNode<E> child = (cursor.getLeft() !=null) ? cursor.getLeft():cursor.getRight();
+
+			if(father == null)
+				subTreeRoot = child;
+			else if(father.getLeft() == cursor)
+				father.setLeft(child);
 			else
-				subTreeRoot = subTreeRoot.getLeft();
+				father.setRight(child);
 		}
+
 		return subTreeRoot;
 	}
 
-	private BinaryTreeNode<E> delete(BinaryTreeNode<E> nodeToDelete,BinaryTreeNode<E> subTreeRoot) throws DoesNotImplementsComparable{
-		if(implementsComparable(nodeToDelete.getInfo())){
+	private void insertInTree(BinaryTreeNode<E> root, BinaryTreeNode<E> node){
+		BinaryTreeNode<E> cursor = root;
+		boolean inserted = false;
 
-			if(this.order == Order.ASC){
-				if(((Comparable)nodeToDelete.getInfo()).compareTo(subTreeRoot.getInfo())<0){
-					subTreeRoot.setLeft(delete(nodeToDelete,subTreeRoot.getLeft()));
+		while(!inserted){
+			if(compare(cursor.getInfo(), node.getInfo()) < 0){
+				if(cursor.getRight() != null)
+					cursor = cursor.getRight();
+				else{
+					cursor.setRight(node);
+					inserted = true;
 				}
-				else
-					if(((Comparable)nodeToDelete.getInfo()).compareTo(subTreeRoot.getInfo())>0){
-						subTreeRoot.setRight(delete(nodeToDelete,subTreeRoot.getRight()));
-					}
-					else
-						if(subTreeRoot.getLeft()!=null && subTreeRoot.getRight()!=null){//Dos hijos
-							subTreeRoot.setInfo(searchMinor(subTreeRoot.getRight()).getInfo());
-							subTreeRoot.setRight(deleteMin(subTreeRoot.getRight()));
-						}
-						else{//Cambio de raiz
-							subTreeRoot = (subTreeRoot.getLeft() !=null) ? subTreeRoot.getLeft():subTreeRoot.getRight();
-
-						}
 			}
 			else{
-				if(((Comparable)nodeToDelete.getInfo()).compareTo(subTreeRoot.getInfo())<0){
-					subTreeRoot.setRight(delete(nodeToDelete,subTreeRoot.getRight()));
-				}
-				else
-					if(((Comparable)nodeToDelete.getInfo()).compareTo(subTreeRoot.getInfo())>0){
-						subTreeRoot.setLeft(delete(nodeToDelete,subTreeRoot.getLeft()));
-					}
-					else
-						if(subTreeRoot.getLeft()!=null && subTreeRoot.getRight()!=null){//Dos hijos
-							subTreeRoot.setInfo(searchMinor(subTreeRoot.getLeft()).getInfo());
-							subTreeRoot.setLeft(deleteMin(subTreeRoot.getLeft()));
-						}
-						else{//Cambio de raiz
-							subTreeRoot = (subTreeRoot.getRight() !=null) ? subTreeRoot.getRight():subTreeRoot.getLeft();
-
-						}
-			}
-		}
-		else{
-			throw new DoesNotImplementsComparable("El objeto que se intenta insertar no implementa la interfaz Comparable");
-		}
-		return subTreeRoot;
-	}
-
-	//Busca un valor en el arbol
-
-	private boolean search(E value){
-
-		BinaryTreeNode<E> cursor;
-		boolean found = false;
-		BinaryTreeNode<E> nodeToInsert= new BinaryTreeNode<E>();
-		nodeToInsert.setInfo(value);
-		if(root != null && implementsComparable(value)){
-
-			cursor = (BinaryTreeNode<E>) this.getRoot();
-			int compare;
-			while(!found && cursor !=null){
-				compare = ((Comparable)cursor.getInfo()).compareTo(value);
-
-				if(this.order == Order.DESC){
-					compare = compare*-1;
-				}
-				if(compare<0)
-					cursor = cursor.getRight();
-				if(compare >0){
+				if(cursor.getLeft() != null)
 					cursor = cursor.getLeft();
-				}
-				if(compare==0){
-					found = true;
+				else{
+					cursor.setLeft(node);
+					inserted = true;
 				}
 			}
 		}
-		return found;
-	}
-
-	private void insertInTree(BinaryTreeNode<E> root, BinaryTreeNode<E> node){
-		int compareValue = ((Comparable)root.getInfo()).compareTo(node.getInfo());
-
-		if(order == Order.ASC)
-			compareValue = compareValue * -1; //Invertir el orden
-
-		if(compareValue < 0){
-			if(root.getRight() != null)
-				insertInTree(root.getRight(), node);
-			else
-				root.setRight(node);
-		}
-		else{
-			if(root.getLeft() != null)
-				insertInTree(root.getLeft(), node);
-			else
-				root.setLeft(node);
-		}
 	}
 
 	public void insertValue(E value) throws DoesNotImplementsComparable {
 
 		BinaryTreeNode<E> cursor;
 		boolean insert = false;
-		BinaryTreeNode<E> nodeToInsert= new BinaryTreeNode<E>();
-		nodeToInsert.setInfo(value);
-		if(!implementsComparable(value)){
+		if(!isComparable(value)){
 			throw new DoesNotImplementsComparable("El objeto que se intenta insertar no implementa la interfaz Comparable");
 		}
+		else if(balance == Balance.AVL){
+			setRoot(insertBalanced((BinaryTreeNode<E>)root, value));
+		}
 		else{
 			if(root == null){
 
-				this.setRoot(nodeToInsert);
+				this.setRoot(createNode(value));
 			}
 			else{
 				cursor = (BinaryTreeNode<E>) this.getRoot();
 				int compare;
 				while(!insert){
-					compare = ((Comparable)cursor.getInfo()).compareTo(value);
-
-					if(this.order == Order.DESC){
-						compare = compare*-1;
-					}
+					compare = compare(cursor.getInfo(), value);
 
 					if(compare<0){
 						if(cursor.getRight() == null){
-							cursor.setRight(nodeToInsert);
+							cursor.setRight(createNode(value));
 							insert=true;
 						}
 						else{
@@ -289,18 +331,172 @@ public class LexicographicTree<E> extends BinaryTree<E>{
 					}
 					if(compare >0){
 						if(cursor.getLeft() == null){
-							cursor.setLeft(nodeToInsert);
+							cursor.setLeft(createNode(value));
 							insert=true;
 						}
 						else{
 							cursor = cursor.getLeft();
 						}
 					}
+					if(compare==0){//El valor ya esta en el arbol
+						insert=true;
+					}
 				}
 			}
 		}
+	}
 
+	/**
+	 * Replaces the elements of the tree with the specified elements, which must be sorted in
+	 * the order of the tree. The tree is built bottom-up in O(n), without searching for the
+	 * position of each element, and is perfectly balanced whatever the balance strategy.
+	 * Consecutive equal elements are stored once.
+	 * 
+	 * @param sorted the elements in the order of the tree
+	 * @throws DoesNotImplementsComparable if an element does not implement Comparable
+	 * @throws IllegalArgumentException if the elements are not sorted in the order of the tree,
+	 * in which case the tree does not change
+	 */
+	public void loadSorted(Collection<? extends E> sorted) throws DoesNotImplementsComparable{
+		E[] elements = sorted.toArray(newArray(sorted.size()));
 
+		setRoot(buildBalanced(elements, 0, checkSorted(elements)));
+	}
+
+	/**
+	 * Replaces the elements of the tree with the elements of the iterator, which must be
+	 * sorted in the order of the tree, as {@link #loadSorted(Collection)}.
+	 * 
+	 * @param sorted iterator over the elements in the order of the tree
+	 * @throws DoesNotImplementsComparable if an element does not implement Comparable
+	 * @throws IllegalArgumentException if the elements are not sorted in the order of the tree,
+	 * in which case the tree does not change
+	 */
+	public void loadSorted(Iterator<? extends E> sorted) throws DoesNotImplementsComparable{
+		ArrayList<E> elements = new ArrayList<E>();
+
+		while(sorted.hasNext())
+			elements.add(sorted.next());
+
+		loadSorted(elements);
+	}
+
+	/**
+	 * Inserts all the specified elements, in any order. When the m new elements are many
+	 * compared to the n elements of the tree, they are sorted and merged with the elements of
+	 * the tree, and the tree is rebuilt balanced in O(n + m log m) instead of searching for the
+	 * position of each one. When m log n is less than n, each element is inserted as by
+	 * {@link #insertValue(Object)}. Elements equal to an element of the tree, or to a previous
+	 * element of the collection, are not inserted.
+	 * 
+	 * @param values the elements to insert
+	 * @return the number of elements inserted
+	 * @throws DoesNotImplementsComparable if an element does not implement Comparable,
+	 * in which case the tree does not change
+	 */
+	public int insertAll(Collection<? extends E> values) throws DoesNotImplementsComparable{
+		if(values.isEmpty())
+			return 0;
+
+		E[] added = values.toArray(newArray(values.size()));
+
+		for(E value : added)
+			if(!isComparable(value))
+				throw new DoesNotImplementsComparable("El objeto que se intenta insertar no implementa la interfaz Comparable");
+
+		int size = size((BinaryTreeNode<E>)root);
+
+		//Con pocos elementos nuevos es mas barato buscar la posicion de cada uno que
+		//reconstruir el arbol completo
+		if((long)added.length * (Integer.SIZE - Integer.numberOfLeadingZeros(size)) < size){
+			for(E value : added)
+				insertValue(value);
+
+			return size((BinaryTreeNode<E>)root) - size;
+		}
+
+		//El ordenamiento es estable, asi de los elementos iguales queda el primero
+		Arrays.sort(added, treeComparator);
+
+		int addedCount = removeRepeated(added);
+		E[] current = newArray(size);
+		SymmetricIterator<E> iter = symmetricIterator();
+
+		for(int i = 0; iter.hasNext(); i++)
+			current[i] = iter.next();
+
+		//Mezcla de los dos arreglos ordenados, de los elementos iguales queda el del arbol
+		E[] merged = newArray(current.length + addedCount);
+		int i = 0;
+		int j = 0;
+		int count = 0;
+
+		while(i < current.length || j < addedCount){
+			if(j == addedCount)
+				merged[count++] = current[i++];
+			else if(i == current.length)
+				merged[count++] = added[j++];
+			else{
+				int compare = compare(current[i], added[j]);
+
+				if(compare <= 0){
+					merged[count++] = current[i++];
+
+					if(compare == 0)
+						j++;
+				}
+				else
+					merged[count++] = added[j++];
+			}
+		}
+
+		setRoot(buildBalanced(merged, 0, count));
+
+		return count - current.length;
+	}
+
+	//Comprueba que los elementos esten ordenados y deja uno de cada grupo de iguales al
+	//principio del arreglo, devolviendo la cantidad que queda
+	private int checkSorted(E[] elements) throws DoesNotImplementsComparable{
+		for(E element : elements)
+			if(!isComparable(element))
+				throw new DoesNotImplementsComparable("El objeto que se intenta insertar no implementa la interfaz Comparable");
+
+		for(int i = 1; i < elements.length; i++)
+			if(compare(elements[i - 1], elements[i]) > 0)
+				throw new IllegalArgumentException("Los elementos no estan ordenados segun el orden del arbol");
+
+		return removeRepeated(elements);
+	}
+
+	//Deja el primero de cada grupo de elementos iguales consecutivos al principio del arreglo
+	//y devuelve la cantidad que queda
+	private int removeRepeated(E[] elements){
+		int count = 0;
+
+		for(int i = 0; i < elements.length; i++)
+			if(count == 0 || compare(elements[count - 1], elements[i]) != 0)
+				elements[count++] = elements[i];
+
+		return count;
+	}
+
+	//Construye de abajo hacia arriba un subarbol perfectamente balanceado con los elementos
+	//ordenados del rango [from, to). Cada nodo se enlaza con sus hijos antes de tener padre,
+	//asi los nodos aumentados solo se recalculan a si mismos. La recursion tiene profundidad
+	//logaritmica
+	private BinaryTreeNode<E> buildBalanced(E[] elements, int from, int to){
+		BinaryTreeNode<E> node = null;
+
+		if(from < to){
+			int middle = (from + to) >>> 1;
+
+			node = createNode(elements[middle]);
+			node.setLeft(buildBalanced(elements, from, middle));
+			node.setRight(buildBalanced(elements, middle + 1, to));
+		}
+
+		return node;
 	}
 
 	public LinkedList<E> getOrderedItems(){
@@ -314,6 +510,331 @@ public class LexicographicTree<E> extends BinaryTree<E>{
 		return orderedItems;
 	}
 
+	/**
+	 * Returns an iterator over the elements of the tree in the order of the tree.
+	 * 
+	 * @return in-order iterator
+	 */
+	@Override
+	public Iterator<E> iterator(){
+		return symmetricIterator();
+	}
+
+	/**
+	 * Returns a spliterator over the elements of the tree in the order of the tree.
+	 * It is sized, since the nodes keep the size of their subtrees, and sorted by the
+	 * comparator of the tree.
+	 * 
+	 * @return sorted spliterator
+	 */
+	@Override
+	public Spliterator<E> spliterator(){
+		Comparator<? super E> sortComparator = (comparator == null && order == Order.ASC) ? null : treeComparator;
+
+		return new TreeSpliterator<E>((BinaryTreeNode<E>)root, TreeSpliterator.Traversal.SYMMETRIC, sortComparator);
+	}
+
+	/**
+	 * Checks if the tree contains an element equal to the specified value.
+	 * 
+	 * @param value the value to search
+	 * @return true if the value is in the tree, false otherwise or if the value can not be compared
+	 */
+	public boolean contains(E value){
+		return searchNode(value) != null;
+	}
+
+	/**
+	 * Returns the element of the tree equal to the specified value.
+	 * 
+	 * @param value the value to search
+	 * @return the element stored in the tree, or null if the value is not in the tree
+	 */
+	public E get(E value){
+		return infoOf(searchNode(value));
+	}
+
+	/**
+	 * Returns the node that stores an element equal to the specified value, found through the
+	 * order of the tree in O(log n) for balanced trees.
+	 * 
+	 * @param info the value to search
+	 * @return the node, or null if the value is not in the tree or can not be compared
+	 */
+	@Override
+	public BinaryTreeNode<E> findNode(E info){
+		return searchNode(info);
+	}
+
+	/**
+	 * Checks if the specified node belongs to the tree, searching its element through the
+	 * order of the tree.
+	 * 
+	 * @param node the node to check
+	 * @return true if the node is in the tree, false otherwise
+	 */
+	@Override
+	public boolean containsNode(BinaryTreeNode<E> node){
+		return node != null && searchNode(node.getInfo()) == node;
+	}
+
+	/**
+	 * Enables the search of the nodes by their elements with {@link #findNodeByKey(Object)}.
+	 * The key is searched through the order of the tree in O(log n) for balanced trees.
+	 */
+	@Override
+	public void enableIndex(){
+		enableIndex(Function.identity());
+		keyIsInfo = true;
+	}
+
+	/**
+	 * Enables the search of the nodes by a key computed from their elements with
+	 * {@link #findNodeByKey(Object)}. The rotations and deletions of the tree move the
+	 * elements between nodes, so no map from the keys to the nodes is kept: the key is
+	 * searched with a traversal of the tree in its order, in O(n). The tree already finds its
+	 * nodes through its order with {@link #findNode(Object)} and
+	 * {@link #containsNode(BinaryTreeNode)}, and {@link #rebuildIndex()} is never needed.
+	 * 
+	 * @param keyFunction the function that computes the key of the element of a node
+	 * @throws IllegalArgumentException if the key function is null
+	 */
+	@Override
+	public void enableIndex(Function<? super E, ?> keyFunction){
+		if(keyFunction == null)
+			throw new IllegalArgumentException("The key function can not be null");
+
+		this.keyFunction = keyFunction;
+		this.keyIsInfo = false;
+	}
+
+	@Override
+	public void disableIndex(){
+		keyFunction = null;
+		keyIsInfo = false;
+	}
+
+	@Override
+	public boolean isIndexed(){
+		return keyFunction != null;
+	}
+
+	/**
+	 * Returns a node of the tree whose element has the specified key, the first one in the
+	 * order of the tree if there are several.
+	 * 
+	 * @param key the key to search
+	 * @return a node with the key, or null if there is none or the search is not enabled
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public BinaryTreeNode<E> findNodeByKey(Object key){
+		BinaryTreeNode<E> found = null;
+
+		if(keyIsInfo){
+			try{
+				found = searchNode((E)key);
+			}catch(ClassCastException e){
+				//La clave no es comparable con los elementos del arbol
+			}
+		}
+		else if(keyFunction != null){
+			NodeStack<E> pending = new NodeStack<E>();
+			BinaryTreeNode<E> cursor = (BinaryTreeNode<E>)root;
+
+			while(found == null && (cursor != null || !pending.isEmpty())){
+				if(cursor != null){
+					pending.push(cursor);
+					cursor = cursor.getLeft();
+				}
+				else{
+					cursor = pending.pop();
+
+					if(Objects.equals(key, keyFunction.apply(cursor.getInfo())))
+						found = cursor;
+					else
+						cursor = cursor.getRight();
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the last element that does not go after the specified value in the tree order.
+	 * With ASC order it is the greatest element less than or equal to the value.
+	 * 
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E floor(E value){
+		return infoOf(searchBefore(value, true));
+	}
+
+	/**
+	 * Returns the last element that goes before the specified value in the tree order.
+	 * With ASC order it is the greatest element strictly less than the value.
+	 * 
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E lower(E value){
+		return infoOf(searchBefore(value, false));
+	}
+
+	/**
+	 * Returns the first element that does not go before the specified value in the tree order.
+	 * With ASC order it is the least element greater than or equal to the value.
+	 * 
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E ceiling(E value){
+		return infoOf(searchAfter(value, true));
+	}
+
+	/**
+	 * Returns the first element that goes after the specified value in the tree order.
+	 * With ASC order it is the least element strictly greater than the value.
+	 * 
+	 * @param value the value to compare
+	 * @return the element, or null if there is no such element
+	 */
+	public E higher(E value){
+		return infoOf(searchAfter(value, false));
+	}
+
+	//Ultimo nodo anterior al valor, o igual si inclusive es true
+	private BinaryTreeNode<E> searchBefore(E value, boolean inclusive){
+		BinaryTreeNode<E> candidate = null;
+		BinaryTreeNode<E> cursor = isComparable(value) ? (BinaryTreeNode<E>)root : null;
+
+		while(cursor != null){
+			int compare = compare(cursor.getInfo(), value);
+
+			if(compare < 0 || (compare == 0 && inclusive)){
+				candidate = cursor;
+				cursor = (compare == 0) ? null : cursor.getRight();
+			}
+			else
+				cursor = cursor.getLeft();
+		}
+
+		return candidate;
+	}
+
+	//Primer nodo posterior al valor, o igual si inclusive es true
+	private BinaryTreeNode<E> searchAfter(E value, boolean inclusive){
+		BinaryTreeNode<E> candidate = null;
+		BinaryTreeNode<E> cursor = isComparable(value) ? (BinaryTreeNode<E>)root : null;
+
+		while(cursor != null){
+			int compare = compare(cursor.getInfo(), value);
+
+			if(compare > 0 || (compare == 0 && inclusive)){
+				candidate = cursor;
+				cursor = (compare == 0) ? null : cursor.getLeft();
+			}
+			else
+				cursor = cursor.getRight();
+		}
+
+		return candidate;
+	}
+
+	private E infoOf(BinaryTreeNode<E> node){
+		return (node != null) ? node.getInfo() : null;
+	}
+
+	/**
+	 * Returns the element at the specified position of the tree order, the same position
+	 * it has in {@link #getOrderedItems()}. With ASC order position 0 is the smallest element,
+	 * with DESC order it is the largest one.
+	 * 
+	 * @param position the position of the element, starting at 0
+	 * @return the element at the position, or null if the position is out of range
+	 */
+	public E select(int position){
+		E info = null;
+		BinaryTreeNode<E> cursor = (BinaryTreeNode<E>)root;
+		boolean found = false;
+
+		if(position >= 0 && position < totalNodes()){
+			while(!found){
+				int leftSize = size(cursor.getLeft());
+
+				if(position < leftSize)
+					cursor = cursor.getLeft();
+				else if(position == leftSize){
+					info = cursor.getInfo();
+					found = true;
+				}
+				else{
+					position = position - leftSize - 1;
+					cursor = cursor.getRight();
+				}
+			}
+		}
+
+		return info;
+	}
+
+	/**
+	 * Returns the number of elements that go before the specified value in the tree order,
+	 * which is the position the value has or would have in {@link #getOrderedItems()}.
+	 * 
+	 * @param value the value to locate
+	 * @return the number of elements before the value
+	 * @throws DoesNotImplementsComparable if the value does not implement Comparable
+	 */
+	public int rank(E value) throws DoesNotImplementsComparable{
+		if(!isComparable(value))
+			throw new DoesNotImplementsComparable("El objeto que se intenta buscar no implementa la interfaz Comparable");
+
+		return countUntil(value, false);
+	}
+
+	/**
+	 * Returns the number of elements between the specified values, both included, following
+	 * the tree order. With DESC order the first value must be the largest one.
+	 * 
+	 * @param from the first value of the range
+	 * @param to the last value of the range
+	 * @return the number of elements in the range, 0 if from goes after to
+	 * @throws DoesNotImplementsComparable if a value does not implement Comparable
+	 */
+	public int countInRange(E from, E to) throws DoesNotImplementsComparable{
+		if(!isComparable(from) || !isComparable(to))
+			throw new DoesNotImplementsComparable("El objeto que se intenta buscar no implementa la interfaz Comparable");
+
+		int count = 0;
+
+		if(compare(from, to) <= 0)
+			count = countUntil(to, true) - countUntil(from, false);
+
+		return count;
+	}
+
+	//Cuenta los elementos anteriores al valor, incluyendolo si inclusive es true
+	private int countUntil(E value, boolean inclusive){
+		int count = 0;
+		BinaryTreeNode<E> cursor = (BinaryTreeNode<E>)root;
+
+		while(cursor != null){
+			int compare = compare(value, cursor.getInfo());
+
+			if(compare < 0 || (compare == 0 && !inclusive))
+				cursor = cursor.getLeft();
+			else{
+				count += size(cursor.getLeft()) + 1;
+				cursor = cursor.getRight();
+			}
+		}
+
+		return count;
+	}
+
 	public boolean insertNode(BinaryTreeNode<E> node, char type, BinaryTreeNode<E> father) {		
 		boolean inserted = false;
 
@@ -332,22 +853,191 @@ public class LexicographicTree<E> extends BinaryTree<E>{
 		return inserted;
 	}
 
-	private boolean implementsComparable(Object object){
-		boolean doesImplements = false;
+	/**
+	 * Deletes the element stored in the specified node, like {@link #deleteNode(Object)}. The
+	 * node must be one of the nodes of the tree, not just hold an equal element. Unlike
+	 * {@link BinaryTree#deleteNode(BinaryTreeNode)} the rest of the subtree of the node stays
+	 * in the tree, in both balancing modes, so the tree keeps all its other elements in order.
+	 * 
+	 * @param node the node to delete
+	 * @return the information stored in the deleted node, or null if the node is not in the tree
+	 */
+	@Override
+	public E deleteNode(BinaryTreeNode<E> node) {
+		E deleteInfo = null;
+
+		if(containsNode(node))
+			deleteInfo = deleteValue(node.getInfo());
+
+		return deleteInfo;
+	}
+
+	//Compara dos valores segun el orden del arbol, negativo si first va antes que second
+	private int compare(E first, E second){
+		return treeComparator.compare(first, second);
+	}
+
+	//Prepara el comparador del arbol, invirtiendolo si el orden es DESC
+	private void initComparator(){
+		Comparator<? super E> ascending = comparator;
+
+		if(ascending == null){
+			@SuppressWarnings("unchecked")
+			Comparator<? super E> natural = (Comparator<? super E>)Comparator.naturalOrder();
+
+			ascending = natural;
+		}
+
+		treeComparator = (order == Order.DESC) ? Collections.reverseOrder(ascending) : ascending;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException{
+		in.defaultReadObject();
+
+		initComparator();
+	}
+
+	//Crea un nodo con referencia al padre, tamanno y altura del subarbol
+	private BinaryTreeNode<E> createNode(E info){
+		return new AugmentedBinaryTreeNode<E>(info);
+	}
+
+	//Arreglo para los elementos del arbol. Su tipo real es Object[], lo que basta porque
+	//nunca sale de la clase
+	@SuppressWarnings("unchecked")
+	private E[] newArray(int length){
+		return (E[])new Object[length];
+	}
+
+	//Cantidad de nodos del subarbol, 0 si es vacio
+	private int size(BinaryTreeNode<E> node){
+		return node != null ? ((AugmentedBinaryTreeNode<E>)node).getSize() : 0;
+	}
+
+	//Altura del subarbol, -1 si es vacio
+	private int height(BinaryTreeNode<E> node){
+		return node != null ? ((AugmentedBinaryTreeNode<E>)node).getHeight() : -1;
+	}
+
+	//Devuelve el nodo que contiene el valor, o null si no esta en el arbol
+	private BinaryTreeNode<E> searchNode(E value){
+		BinaryTreeNode<E> cursor = null;
+
+		if(root != null && isComparable(value)){
+			cursor = (BinaryTreeNode<E>)root;
+			int compare = compare(value, cursor.getInfo());
+
+			while(compare != 0 && cursor != null){
+				cursor = (compare < 0) ? cursor.getLeft() : cursor.getRight();
+
+				if(cursor != null)
+					compare = compare(value, cursor.getInfo());
+			}
+		}
+
+		return cursor;
+	}
+
+	//Inserta en el subarbol y devuelve su nueva raiz balanceada
+	private BinaryTreeNode<E> insertBalanced(BinaryTreeNode<E> subTreeRoot, E value){
+		if(subTreeRoot == null)
+			return createNode(value);
+
+		int compare = compare(value, subTreeRoot.getInfo());
 
-		Class[] classes = object.getClass().getInterfaces();
+		if(compare < 0)
+			subTreeRoot.setLeft(insertBalanced(subTreeRoot.getLeft(), value));
+		else if(compare > 0)
+			subTreeRoot.setRight(insertBalanced(subTreeRoot.getRight(), value));
+		else
+			return subTreeRoot;//El valor ya esta en el arbol
+
+		return rebalance(subTreeRoot);
+	}
 
-		int pos = 0;
+	//Elimina el valor del subarbol y devuelve su nueva raiz balanceada
+	private BinaryTreeNode<E> deleteBalanced(BinaryTreeNode<E> subTreeRoot, E value){
+		if(subTreeRoot == null)
+			return null;
 
-		while(pos < classes.length && !doesImplements){
-			if(classes[pos].getCanonicalName().equals("java.lang.Comparable"))
-				doesImplements = true;
+		int compare = compare(value, subTreeRoot.getInfo());
 
-			pos++;
-		}			
+		if(compare < 0)
+			subTreeRoot.setLeft(deleteBalanced(subTreeRoot.getLeft(), value));
+		else if(compare > 0)
+			subTreeRoot.setRight(deleteBalanced(subTreeRoot.getRight(), value));
+		else{
+			if(subTreeRoot.getLeft() == null)
+				return subTreeRoot.getRight();
+			if(subTreeRoot.getRight() == null)
+				return subTreeRoot.getLeft();
+
+			//Dos hijos, se sustituye por el sucesor
+			subTreeRoot.setInfo(searchFirst(subTreeRoot.getRight()).getInfo());
+			subTreeRoot.setRight(deleteFirstBalanced(subTreeRoot.getRight()));
+		}
 
-		return doesImplements;
+		return rebalance(subTreeRoot);
 	}
 
+	//Busca el primer elemento de un subarbol segun el orden del arbol
+	private BinaryTreeNode<E> searchFirst(BinaryTreeNode<E> subTreeRoot){
+		while(subTreeRoot.getLeft() != null)
+			subTreeRoot = subTreeRoot.getLeft();
 
+		return subTreeRoot;
+	}
+
+	//Elimina el primer elemento del subarbol y devuelve su nueva raiz balanceada
+	private BinaryTreeNode<E> deleteFirstBalanced(BinaryTreeNode<E> subTreeRoot){
+		if(subTreeRoot.getLeft() == null)
+			return subTreeRoot.getRight();
+
+		subTreeRoot.setLeft(deleteFirstBalanced(subTreeRoot.getLeft()));
+
+		return rebalance(subTreeRoot);
+	}
+
+	//Rota el nodo si esta desbalanceado, las alturas las mantienen los nodos aumentados
+	private BinaryTreeNode<E> rebalance(BinaryTreeNode<E> node){
+		int balanceFactor = height(node.getLeft()) - height(node.getRight());
+
+		if(balanceFactor > 1){
+			if(height(node.getLeft().getLeft()) < height(node.getLeft().getRight()))
+				node.setLeft(rotateLeft(node.getLeft()));
+
+			node = rotateRight(node);
+		}
+		else if(balanceFactor < -1){
+			if(height(node.getRight().getRight()) < height(node.getRight().getLeft()))
+				node.setRight(rotateRight(node.getRight()));
+
+			node = rotateLeft(node);
+		}
+
+		return node;
+	}
+
+	private BinaryTreeNode<E> rotateRight(BinaryTreeNode<E> node){
+		BinaryTreeNode<E> newRoot = node.getLeft();
+
+		node.setLeft(newRoot.getRight());
+		newRoot.setRight(node);
+
+		return newRoot;
+	}
+
+	private BinaryTreeNode<E> rotateLeft(BinaryTreeNode<E> node){
+		BinaryTreeNode<E> newRoot = node.getRight();
+
+		node.setRight(newRoot.getLeft());
+		newRoot.setLeft(node);
+
+		return newRoot;
+	}
+
+	//Con un comparador cualquier valor se puede comparar, sin el debe implementar Comparable
+	private boolean isComparable(Object object){
+		return comparator != null || object instanceof Comparable;
+	}
 }
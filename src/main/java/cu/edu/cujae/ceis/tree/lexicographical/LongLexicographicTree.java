@@ -0,0 +1,215 @@
+package cu.edu.cujae.ceis.tree.lexicographical;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Lexicographic tree of long keys. Like a {@link LexicographicTree} with AVL balance, but the
+ * keys are stored in a long array instead of boxed in nodes, so a key takes 17 bytes of heap
+ * and comparisons do not go through {@link Comparable}. Equal keys are stored once.
+ */
+public class LongLexicographicTree extends PrimitiveLexicographicTree {
+
+	private long[] keys;
+
+	/**
+	 * Constructs an empty tree in ascending order.
+	 */
+	public LongLexicographicTree() {
+		this(Order.ASC);
+	}
+
+	/**
+	 * Constructs an empty tree with the specified order.
+	 *
+	 * @param order the order of the keys in the tree
+	 */
+	public LongLexicographicTree(Order order) {
+		this(order, 0);
+	}
+
+	/**
+	 * Constructs an empty tree with the specified order and room for the specified number of
+	 * keys before its arrays grow.
+	 *
+	 * @param order the order of the keys in the tree
+	 * @param initialCapacity the initial capacity
+	 */
+	public LongLexicographicTree(Order order, int initialCapacity) {
+		super(order, initialCapacity);
+	}
+
+	/**
+	 * Inserts the key in the tree if it is not already stored.
+	 *
+	 * @param key the key to insert
+	 * @return true if the key was inserted, false if it was already in the tree
+	 */
+	public boolean insert(long key) {
+		return insertKey(key);
+	}
+
+	/**
+	 * Deletes the key from the tree.
+	 *
+	 * @param key the key to delete
+	 * @return true if the key was deleted, false if it was not in the tree
+	 */
+	public boolean delete(long key) {
+		return deleteKey(key);
+	}
+
+	/**
+	 * Checks if the tree contains the key.
+	 *
+	 * @param key the key to search
+	 * @return true if the key is in the tree, false otherwise
+	 */
+	public boolean contains(long key) {
+		return findKey(key) != NIL;
+	}
+
+	/**
+	 * Returns the first key in the tree order.
+	 *
+	 * @return the first key, or an empty optional if the tree is empty
+	 */
+	public OptionalLong first() {
+		return keyOf(firstNode());
+	}
+
+	/**
+	 * Returns the last key in the tree order.
+	 *
+	 * @return the last key, or an empty optional if the tree is empty
+	 */
+	public OptionalLong last() {
+		return keyOf(lastNode());
+	}
+
+	/**
+	 * Returns the last key that does not go after the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalLong floor(long value) {
+		return keyOf(searchBefore(value, true));
+	}
+
+	/**
+	 * Returns the last key that goes before the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalLong lower(long value) {
+		return keyOf(searchBefore(value, false));
+	}
+
+	/**
+	 * Returns the first key that does not go before the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalLong ceiling(long value) {
+		return keyOf(searchAfter(value, true));
+	}
+
+	/**
+	 * Returns the first key that goes after the specified value in the tree order.
+	 *
+	 * @param value the value to compare
+	 * @return the key, or an empty optional if there is no such key
+	 */
+	public OptionalLong higher(long value) {
+		return keyOf(searchAfter(value, false));
+	}
+
+	/**
+	 * Returns an iterator over the keys in the tree order.
+	 *
+	 * @return in-order iterator
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+			private final NodeCursor cursor = new NodeCursor();
+
+			public boolean hasNext() {
+				return cursor.hasNext();
+			}
+
+			public long nextLong() {
+				return keys[cursor.nextNode()];
+			}
+		};
+	}
+
+	/**
+	 * Performs the action for every key in the tree order.
+	 *
+	 * @param action the action to perform
+	 */
+	public void forEach(LongConsumer action) {
+		NodeCursor cursor = new NodeCursor();
+
+		while(cursor.hasNext())
+			action.accept(keys[cursor.nextNode()]);
+	}
+
+	/**
+	 * Returns a sequential stream over the keys in the tree order.
+	 *
+	 * @return a sequential stream of the keys
+	 */
+	public LongStream stream() {
+		return StreamSupport.longStream(Spliterators.spliterator(iterator(), totalNodes(), characteristics()), false);
+	}
+
+	/**
+	 * Returns the keys in the tree order.
+	 *
+	 * @return array of the keys
+	 */
+	public long[] toArray() {
+		long[] array = new long[totalNodes()];
+		NodeCursor cursor = new NodeCursor();
+
+		for(int i = 0; cursor.hasNext(); i++)
+			array[i] = keys[cursor.nextNode()];
+
+		return array;
+	}
+
+	@Override
+	void resizeKeys(int capacity) {
+		keys = (keys == null) ? new long[capacity] : Arrays.copyOf(keys, capacity);
+	}
+
+	@Override
+	void copyKey(int from, int to) {
+		keys[to] = keys[from];
+	}
+
+	@Override
+	long keyAt(int node) {
+		return keys[node];
+	}
+
+	@Override
+	void storeKey(int node, long key) {
+		keys[node] = key;
+	}
+
+	private OptionalLong keyOf(int node) {
+		return (node != NIL) ? OptionalLong.of(keys[node]) : OptionalLong.empty();
+	}
+}
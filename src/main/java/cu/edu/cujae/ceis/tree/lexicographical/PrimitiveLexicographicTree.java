@@ -0,0 +1,494 @@
+package cu.edu.cujae.ceis.tree.lexicographical;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+import cu.edu.cujae.ceis.tree.lexicographical.LexicographicTree.Order;
+
+/**
+ * Base of the lexicographic trees of primitive keys. The tree is an AVL tree whose nodes are
+ * indexes into parallel arrays: the children and heights are kept here and the keys in the
+ * array of each subclass, so no object is created per key. Index 0 is the empty subtree, and
+ * the indexes of deleted nodes are reused by later insertions.
+ * <p>
+ * The searches, insertions and deletions are done here on keys given as a long whose signed
+ * order is the ascending order of the keys, so no key is boxed. A subclass only stores the
+ * keys in its array and converts them to and from that long.
+ */
+public abstract class PrimitiveLexicographicTree {
+
+	static final int NIL = 0;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	//La altura de un arbol AVL de 2^31 nodos es menor que 64
+	private static final int MAX_HEIGHT = 64;
+
+	final Order order;
+
+	final boolean descending;
+
+	int[] left;
+	int[] right;
+	byte[] height;
+	int root;
+
+	//Camino desde la raiz hasta el nodo buscado, reutilizado en cada insercion y eliminacion
+	final int[] path;
+
+	private int size;
+	private int next;
+	private int free;
+
+	PrimitiveLexicographicTree(Order order, int initialCapacity) {
+		int capacity = (initialCapacity > 0 ? initialCapacity : DEFAULT_CAPACITY) + 1;
+
+		this.order = order;
+		this.descending = order == Order.DESC;
+		this.left = new int[capacity];
+		this.right = new int[capacity];
+		this.height = new byte[capacity];
+		this.path = new int[MAX_HEIGHT];
+
+		resizeKeys(capacity);
+		clear();
+	}
+
+	/**
+	 * Returns the order of the keys in the tree.
+	 *
+	 * @return the order of the tree
+	 */
+	public Order getOrder() {
+		return order;
+	}
+
+	/**
+	 * Returns the number of keys in the tree.
+	 *
+	 * @return the number of keys
+	 */
+	public int totalNodes() {
+		return size;
+	}
+
+	/**
+	 * Checks if the tree is empty.
+	 *
+	 * @return true if the tree has no keys, false otherwise
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the height of the tree.
+	 *
+	 * @return the tree height, or -1 if the tree is empty
+	 */
+	public int treeHeight() {
+		return height[root] - 1;
+	}
+
+	/**
+	 * Deletes all the keys of the tree. The arrays keep their capacity.
+	 */
+	public void clear() {
+		root = NIL;
+		size = 0;
+		next = 1;
+		free = NIL;
+	}
+
+	/**
+	 * Resizes the array of keys to the specified capacity, keeping its keys. Called from the
+	 * constructor of this class, so the array of the subclass must not have an initializer.
+	 */
+	abstract void resizeKeys(int capacity);
+
+	/**
+	 * Copies the key of a node to another node.
+	 */
+	abstract void copyKey(int from, int to);
+
+	/**
+	 * Returns the key of the node as a long whose signed order is the ascending order of the
+	 * keys.
+	 */
+	abstract long keyAt(int node);
+
+	/**
+	 * Stores in the node the key given as returned by {@link #keyAt(int)}.
+	 */
+	abstract void storeKey(int node, long key);
+
+	/**
+	 * Inserts the key if it is not already stored.
+	 *
+	 * @return true if the key was inserted, false if it was already in the tree
+	 */
+	boolean insertKey(long key) {
+		int depth = 0;
+		int cursor = root;
+		int compare = 0;
+
+		while(cursor != NIL && (compare = compare(key, cursor)) != 0){
+			path[depth++] = cursor;
+			cursor = (compare < 0) ? left[cursor] : right[cursor];
+		}
+
+		boolean inserted = cursor == NIL;
+
+		if(inserted){
+			int node = allocate();
+
+			storeKey(node, key);
+			link(depth, node, compare < 0);
+		}
+
+		return inserted;
+	}
+
+	/**
+	 * Deletes the key.
+	 *
+	 * @return true if the key was deleted, false if it was not in the tree
+	 */
+	boolean deleteKey(long key) {
+		int depth = 0;
+		int cursor = root;
+		boolean found = false;
+
+		while(cursor != NIL && !found){
+			path[depth++] = cursor;
+
+			int compare = compare(key, cursor);
+
+			if(compare == 0)
+				found = true;
+			else
+				cursor = (compare < 0) ? left[cursor] : right[cursor];
+		}
+
+		if(found)
+			unlink(depth);
+
+		return found;
+	}
+
+	/**
+	 * Finds the node with the key.
+	 *
+	 * @return the node, or NIL if the key is not in the tree
+	 */
+	int findKey(long key) {
+		int cursor = root;
+		int compare;
+
+		while(cursor != NIL && (compare = compare(key, cursor)) != 0)
+			cursor = (compare < 0) ? left[cursor] : right[cursor];
+
+		return cursor;
+	}
+
+	/**
+	 * Finds the node with the last key that goes before the key in the tree order, or is
+	 * equal to it if inclusive.
+	 *
+	 * @return the node, or NIL if there is none
+	 */
+	int searchBefore(long key, boolean inclusive) {
+		int found = NIL;
+		int cursor = root;
+
+		while(cursor != NIL){
+			int compare = compare(key, cursor);
+
+			if(compare > 0 || (inclusive && compare == 0)){
+				found = cursor;
+				cursor = right[cursor];
+			}
+			else
+				cursor = left[cursor];
+		}
+
+		return found;
+	}
+
+	/**
+	 * Finds the node with the first key that goes after the key in the tree order, or is
+	 * equal to it if inclusive.
+	 *
+	 * @return the node, or NIL if there is none
+	 */
+	int searchAfter(long key, boolean inclusive) {
+		int found = NIL;
+		int cursor = root;
+
+		while(cursor != NIL){
+			int compare = compare(key, cursor);
+
+			if(compare < 0 || (inclusive && compare == 0)){
+				found = cursor;
+				cursor = left[cursor];
+			}
+			else
+				cursor = right[cursor];
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the characteristics of the spliterators over the keys.
+	 */
+	int characteristics() {
+		return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | (descending ? 0 : Spliterator.SORTED);
+	}
+
+	/**
+	 * Returns a new node without children, reusing the index of a deleted node if there is one.
+	 */
+	int allocate() {
+		int node;
+
+		if(free != NIL){
+			node = free;
+			free = left[node];
+		}
+		else{
+			if(next == left.length){
+				int capacity = left.length + (left.length >> 1);
+
+				if(capacity < 0)
+					capacity = Integer.MAX_VALUE - 8;
+
+				left = Arrays.copyOf(left, capacity);
+				right = Arrays.copyOf(right, capacity);
+				height = Arrays.copyOf(height, capacity);
+				resizeKeys(capacity);
+			}
+
+			node = next++;
+		}
+
+		left[node] = NIL;
+		right[node] = NIL;
+		height[node] = 1;
+
+		return node;
+	}
+
+	/**
+	 * Links a new node as a child of the last node of the path and rebalances the path.
+	 *
+	 * @param depth the number of nodes in the path
+	 * @param node the new node
+	 * @param asLeft true to link it as left child, false as right child
+	 */
+	void link(int depth, int node, boolean asLeft) {
+		if(depth == 0)
+			root = node;
+		else if(asLeft)
+			left[path[depth - 1]] = node;
+		else
+			right[path[depth - 1]] = node;
+
+		size++;
+		rebalancePath(depth);
+	}
+
+	/**
+	 * Deletes the last node of the path and rebalances the path. A node with two children
+	 * takes the key of its successor, which is deleted instead.
+	 *
+	 * @param depth the number of nodes in the path, including the node to delete
+	 */
+	void unlink(int depth) {
+		int node = path[depth - 1];
+
+		if(left[node] != NIL && right[node] != NIL){
+			int successor = right[node];
+
+			path[depth++] = successor;
+
+			while(left[successor] != NIL){
+				successor = left[successor];
+				path[depth++] = successor;
+			}
+
+			copyKey(successor, node);
+			node = successor;
+		}
+
+		int child = (left[node] != NIL) ? left[node] : right[node];
+
+		depth--;
+		replaceChild(depth, node, child);
+
+		left[node] = free;
+		right[node] = NIL;
+		height[node] = 0;
+		free = node;
+		size--;
+
+		rebalancePath(depth);
+	}
+
+	/**
+	 * Finds the node with the first key in the order of the tree.
+	 *
+	 * @return the node, or NIL if the tree is empty
+	 */
+	int firstNode() {
+		int node = root;
+
+		while(node != NIL && left[node] != NIL)
+			node = left[node];
+
+		return node;
+	}
+
+	/**
+	 * Finds the node with the last key in the order of the tree.
+	 *
+	 * @return the node, or NIL if the tree is empty
+	 */
+	int lastNode() {
+		int node = root;
+
+		while(node != NIL && right[node] != NIL)
+			node = right[node];
+
+		return node;
+	}
+
+	//Compara la clave con la del nodo segun el orden del arbol, negativo si la clave va antes
+	private int compare(long key, int node) {
+		int compare = Long.compare(key, keyAt(node));
+
+		return descending ? -compare : compare;
+	}
+
+	//Recalcula alturas y rota desde el final del camino hasta la raiz, parando cuando un
+	//subarbol no cambia de raiz ni de altura
+	private void rebalancePath(int depth) {
+		boolean changed = true;
+
+		for(int i = depth - 1; i >= 0 && changed; i--){
+			int node = path[i];
+			int oldHeight = height[node];
+			int newRoot = rebalance(node);
+
+			changed = newRoot != node || height[newRoot] != oldHeight;
+
+			if(newRoot != node)
+				replaceChild(i, node, newRoot);
+		}
+	}
+
+	//Sustituye el hijo del nodo en la posicion depth - 1 del camino, o la raiz si depth es 0
+	private void replaceChild(int depth, int oldChild, int newChild) {
+		if(depth == 0)
+			root = newChild;
+		else{
+			int father = path[depth - 1];
+
+			if(left[father] == oldChild)
+				left[father] = newChild;
+			else
+				right[father] = newChild;
+		}
+	}
+
+	//Rota el nodo si esta desbalanceado y devuelve la nueva raiz del subarbol
+	private int rebalance(int node) {
+		int balanceFactor = height[left[node]] - height[right[node]];
+
+		if(balanceFactor > 1){
+			if(height[left[left[node]]] < height[right[left[node]]])
+				left[node] = rotateLeft(left[node]);
+
+			node = rotateRight(node);
+		}
+		else if(balanceFactor < -1){
+			if(height[right[right[node]]] < height[left[right[node]]])
+				right[node] = rotateRight(right[node]);
+
+			node = rotateLeft(node);
+		}
+		else
+			updateHeight(node);
+
+		return node;
+	}
+
+	private int rotateRight(int node) {
+		int newRoot = left[node];
+
+		left[node] = right[newRoot];
+		right[newRoot] = node;
+
+		updateHeight(node);
+		updateHeight(newRoot);
+
+		return newRoot;
+	}
+
+	private int rotateLeft(int node) {
+		int newRoot = right[node];
+
+		right[node] = left[newRoot];
+		left[newRoot] = node;
+
+		updateHeight(node);
+		updateHeight(newRoot);
+
+		return newRoot;
+	}
+
+	private void updateHeight(int node) {
+		int leftHeight = height[left[node]];
+		int rightHeight = height[right[node]];
+
+		height[node] = (byte)(((leftHeight >= rightHeight) ? leftHeight : rightHeight) + 1);
+	}
+
+	/**
+	 * In-order traversal of the node indexes, used by the iterators of the subclasses.
+	 * The stack keeps the nodes whose left subtree is being visited.
+	 */
+	class NodeCursor {
+		private final int[] stack;
+		private int top;
+
+		NodeCursor() {
+			stack = new int[MAX_HEIGHT];
+			top = 0;
+			pushLeftPath(root);
+		}
+
+		boolean hasNext() {
+			return top > 0;
+		}
+
+		int nextNode() {
+			if(top == 0)
+				throw new NoSuchElementException();
+
+			int node = stack[--top];
+
+			pushLeftPath(right[node]);
+
+			return node;
+		}
+
+		private void pushLeftPath(int node) {
+			while(node != NIL){
+				stack[top++] = node;
+				node = left[node];
+			}
+		}
+	}
+}
@@ -0,0 +1,615 @@
+package cu.edu.cujae.ceis.tree.parallel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import cu.edu.cujae.ceis.tree.Tree;
+import cu.edu.cujae.ceis.tree.TreeNode;
+import cu.edu.cujae.ceis.tree.binary.AugmentedBinaryTreeNode;
+import cu.edu.cujae.ceis.tree.binary.BinaryTree;
+import cu.edu.cujae.ceis.tree.binary.BinaryTreeNode;
+import cu.edu.cujae.ceis.tree.general.GeneralTree;
+import cu.edu.cujae.ceis.tree.iterators.NodeStack;
+
+/**
+ * Aggregates over binary and general trees computed in parallel with fork/join tasks.
+ * Every task walks its part of the tree in pre-order with an explicit stack, and each time
+ * it has visited the threshold number of nodes it splits: the pending subtrees that come
+ * first are forked and the task goes on with the last one, or, when a single chain of
+ * children is pending, the first threshold nodes of the chain are forked and the task goes
+ * on below them. For a general tree the left subtree of a node holds its descendants and
+ * the right subtree its next brothers, so a long list of sons is split in threshold-sized
+ * batches, and the same holds for degenerate trees. The work is split by node count, so the
+ * threshold applies whatever the shape of the tree or the type of its nodes.
+ * <p>
+ * The trees must not be modified while an operation runs.
+ */
+public class ParallelTreeOperations {
+
+	/**
+	 * Default number of nodes a task visits before it forks part of its work.
+	 */
+	public static final int DEFAULT_THRESHOLD = 8192;
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	/**
+	 * Constructs the operations over the common pool with the default threshold.
+	 */
+	public ParallelTreeOperations() {
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Constructs the operations over the specified pool with the specified threshold.
+	 *
+	 * @param pool the pool that runs the tasks
+	 * @param threshold the number of nodes a task visits before it forks part of its work
+	 * @throws IllegalArgumentException if the pool is null or the threshold is less than 1
+	 */
+	public ParallelTreeOperations(ForkJoinPool pool, int threshold) {
+		if(pool == null || threshold < 1)
+			throw new IllegalArgumentException("Invalid pool or threshold");
+
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Returns the number of nodes a task visits before it forks part of its work, so trees
+	 * with fewer nodes are processed sequentially.
+	 *
+	 * @return the sequential threshold
+	 */
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Returns the total number of nodes of the tree, counting every node reachable from the
+	 * root as {@link Tree#totalNodes()} does.
+	 *
+	 * @param tree the tree
+	 * @return the total number of nodes
+	 */
+	public <E> int totalNodes(Tree<E> tree) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		int count = 0;
+
+		if(root instanceof AugmentedBinaryTreeNode)
+			count = ((AugmentedBinaryTreeNode<E>)root).getSize();
+		else if(root != null)
+			count = pool.invoke(new CountTask<E>(this, root, null, 0));
+
+		return count;
+	}
+
+	/**
+	 * Returns the height of a binary tree.
+	 *
+	 * @param tree the binary tree
+	 * @return the tree height, or -1 if the tree is empty
+	 */
+	public <E> int treeHeight(BinaryTree<E> tree) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		int height = -1;
+
+		if(root instanceof AugmentedBinaryTreeNode)
+			height = ((AugmentedBinaryTreeNode<E>)root).getHeight();
+		else if(root != null)
+			height = pool.invoke(new HeightTask<E>(this, root, 0, 1, null, 0));
+
+		return height;
+	}
+
+	/**
+	 * Returns the height of a general tree, measured from the root through its sons.
+	 *
+	 * @param tree the general tree
+	 * @return the tree height, or -1 if the tree is empty
+	 */
+	public <E> int treeHeight(GeneralTree<E> tree) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		int height = -1;
+
+		if(root != null){
+			BinaryTreeNode<E> firstSon = root.getLeft();
+
+			if(firstSon == null)
+				height = 0;
+			else if(firstSon instanceof AugmentedBinaryTreeNode)
+				height = ((AugmentedBinaryTreeNode<E>)firstSon).getGeneralHeight() + 1;
+			else
+				height = pool.invoke(new HeightTask<E>(this, firstSon, 1, 0, null, 0));
+		}
+
+		return height;
+	}
+
+	/**
+	 * Returns the leaves of a binary tree, the nodes without children, in pre-order.
+	 *
+	 * @param tree the binary tree
+	 * @return list of leaf nodes
+	 */
+	public <E> List<TreeNode<E>> getLeaves(BinaryTree<E> tree) {
+		return leaves(tree, false);
+	}
+
+	/**
+	 * Returns the leaves of a general tree, the nodes without sons, in depth-first order.
+	 *
+	 * @param tree the general tree
+	 * @return list of leaf nodes
+	 */
+	public <E> List<TreeNode<E>> getLeaves(GeneralTree<E> tree) {
+		return leaves(tree, true);
+	}
+
+	/**
+	 * Maps every element of the tree and reduces the results with an associative function.
+	 * The result is the same as combining the mapped elements in pre-order, starting with the
+	 * identity, but the elements are combined in parallel in no particular grouping.
+	 *
+	 * @param tree the tree
+	 * @param identity the identity value of the combiner
+	 * @param mapper the function applied to every element
+	 * @param combiner the associative function that combines two results
+	 * @return the combined result, or the identity if the tree is empty
+	 */
+	public <E, R> R fold(Tree<E> tree, R identity, Function<? super E, ? extends R> mapper, BinaryOperator<R> combiner) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		R result = identity;
+
+		if(root != null)
+			result = pool.invoke(new FoldTask<E, R>(this, root, null, 0, identity, mapper, combiner));
+
+		return result;
+	}
+
+	/**
+	 * Returns the first node in pre-order whose element matches the predicate.
+	 *
+	 * @param tree the tree
+	 * @param predicate the condition to match
+	 * @return the first matching node, or null if there is none
+	 */
+	public <E> BinaryTreeNode<E> findFirst(Tree<E> tree, Predicate<? super E> predicate) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		BinaryTreeNode<E> found = null;
+
+		if(root != null)
+			found = pool.invoke(new FindFirstTask<E>(this, root, null, 0, predicate));
+
+		return found;
+	}
+
+	/**
+	 * Returns any node whose element matches the predicate. The search stops in every task as
+	 * soon as one of them finds a match, so it is usually faster than {@link #findFirst}.
+	 *
+	 * @param tree the tree
+	 * @param predicate the condition to match
+	 * @return a matching node, or null if there is none
+	 */
+	public <E> BinaryTreeNode<E> findAny(Tree<E> tree, Predicate<? super E> predicate) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		AtomicReference<BinaryTreeNode<E>> found = new AtomicReference<BinaryTreeNode<E>>();
+
+		if(root != null)
+			pool.invoke(new FindAnyTask<E>(this, root, null, 0, predicate, found));
+
+		return found.get();
+	}
+
+	private <E> List<TreeNode<E>> leaves(Tree<E> tree, boolean general) {
+		BinaryTreeNode<E> root = (BinaryTreeNode<E>)tree.getRoot();
+		List<TreeNode<E>> leaves = new ArrayList<TreeNode<E>>();
+
+		if(root != null)
+			leaves = pool.invoke(new LeavesTask<E>(this, root, null, 0, general));
+
+		return leaves;
+	}
+
+	/**
+	 * Base of the tasks. A task visits in pre-order the binary subtree of its start node,
+	 * except the subtree of its stop node, which belongs to another task. When it splits,
+	 * the pending work that comes first in pre-order is forked and the task goes on with the
+	 * rest as a continuation in the same thread, so following a long chain or a long list of
+	 * brothers does not nest joins. The results of the parts and of the
+	 * tasks they forked are merged into the task in pre-order.
+	 */
+	private abstract static class SubtreeTask<E, R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+
+		//Tasks forked from tasks this many times deep do not split, to bound the joins run inside other joins
+		private static final int MAX_LEVEL = 64;
+
+		protected final ParallelTreeOperations operations;
+		private final BinaryTreeNode<E> start;
+		private final int startDepth;
+		private final int rightStep;
+		private final BinaryTreeNode<E> stop;
+		protected final int level;
+		private final List<SubtreeTask<E, R>> forks;
+
+		/**
+		 * @param start the first node of the task
+		 * @param startDepth the depth of the first node
+		 * @param rightStep the depth added by a right link: 1 for binary trees and 0 for the
+		 * brothers of a general tree
+		 * @param stop the node whose subtree is left out, or null
+		 * @param level the number of forks that led to this task
+		 */
+		protected SubtreeTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, int startDepth, int rightStep, BinaryTreeNode<E> stop, int level) {
+			this.operations = operations;
+			this.start = start;
+			this.startDepth = startDepth;
+			this.rightStep = rightStep;
+			this.stop = stop;
+			this.level = level;
+			this.forks = new ArrayList<SubtreeTask<E, R>>();
+		}
+
+		//Creates the task for the subtree of the start node, without the subtree of stop
+		protected abstract SubtreeTask<E, R> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level);
+
+		//Adds a node to the result of the task
+		protected abstract void visit(BinaryTreeNode<E> node, int depth);
+
+		//Adds the result of nodes that come later in pre-order
+		protected abstract void merge(R later);
+
+		protected abstract R result();
+
+		//True when the task does not need to visit more nodes
+		protected boolean isFinished() {
+			return false;
+		}
+
+		@Override
+		protected R compute() {
+			List<SubtreeTask<E, R>> parts = new ArrayList<SubtreeTask<E, R>>();
+			SubtreeTask<E, R> part = this;
+
+			while(part != null){
+				parts.add(part);
+				part = part.walk();
+			}
+
+			for(int i = 0; i < parts.size(); i++){
+				part = parts.get(i);
+
+				if(i > 0 && !isFinished())
+					merge(part.result());
+
+				for(SubtreeTask<E, R> fork : part.forks){
+					if(isFinished())
+						fork.cancel(false);
+					else
+						merge(fork.join());
+				}
+			}
+
+			return result();
+		}
+
+		/**
+		 * Visits the nodes of the task until it has visited the threshold number of nodes and
+		 * can split. When the stack holds several pending subtrees, all of them but the bottom
+		 * one are forked. With a single one, the chain of single children below it is walked,
+		 * and if it is as long as the threshold, that part of the chain is forked.
+		 *
+		 * @return the continuation with the rest of the work, or null if the task is complete
+		 */
+		private SubtreeTask<E, R> walk() {
+			SubtreeTask<E, R> next = null;
+			NodeStack<E> stack = new NodeStack<E>();
+			int[] depths = new int[16];
+			int budget = operations.threshold;
+
+			stack.push(start);
+			depths[0] = startDepth;
+
+			while(next == null && !stack.isEmpty() && !isFinished()){
+				if(budget <= 0 && level < MAX_LEVEL){
+					if(stack.size() > 1){
+						while(stack.size() > 1){
+							int depth = depths[stack.size() - 1];
+
+							fork(stack.pop(), depth, stop);
+						}
+
+						next = create(stack.pop(), depths[0], stop, level);
+					}
+					else{
+						BinaryTreeNode<E> cursor = stack.peek();
+						BinaryTreeNode<E> child = onlyChild(cursor);
+						int depth = depths[0];
+						int steps = 0;
+
+						while(child != null && steps < operations.threshold){
+							depth += (child == cursor.getLeft()) ? 1 : rightStep;
+							cursor = child;
+							child = onlyChild(cursor);
+							steps++;
+						}
+
+						if(steps == operations.threshold){
+							fork(stack.pop(), depths[0], cursor);
+							next = create(cursor, depth, stop, level);
+						}
+						else //the chain ends before, try again when it has been visited
+							budget = steps + 1;
+					}
+				}
+
+				if(next == null){
+					int depth = depths[stack.size() - 1];
+					BinaryTreeNode<E> cursor = stack.pop();
+
+					visit(cursor, depth);
+					budget--;
+
+					if(stack.size() + 2 > depths.length)
+						depths = Arrays.copyOf(depths, depths.length << 1);
+
+					if(cursor.getRight() != null && cursor.getRight() != stop){
+						depths[stack.size()] = depth + rightStep;
+						stack.push(cursor.getRight());
+					}
+
+					if(cursor.getLeft() != null && cursor.getLeft() != stop){
+						depths[stack.size()] = depth + 1;
+						stack.push(cursor.getLeft());
+					}
+				}
+			}
+
+			return next;
+		}
+
+		private void fork(BinaryTreeNode<E> node, int depth, BinaryTreeNode<E> forkStop) {
+			SubtreeTask<E, R> task = create(node, depth, forkStop, level + 1);
+
+			forks.add(task);
+			task.fork();
+		}
+
+		//The only child of the node inside the task, or null if it has none or two
+		private BinaryTreeNode<E> onlyChild(BinaryTreeNode<E> node) {
+			BinaryTreeNode<E> left = (node.getLeft() != stop) ? node.getLeft() : null;
+			BinaryTreeNode<E> right = (node.getRight() != stop) ? node.getRight() : null;
+
+			return (left == null) ? right : ((right == null) ? left : null);
+		}
+	}
+
+	private static class CountTask<E> extends SubtreeTask<E, Integer> {
+		private static final long serialVersionUID = 1L;
+
+		private int count;
+
+		CountTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, BinaryTreeNode<E> stop, int level) {
+			super(operations, start, 0, 1, stop, level);
+			this.count = 0;
+		}
+
+		@Override
+		protected SubtreeTask<E, Integer> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level) {
+			return new CountTask<E>(operations, start, stop, level);
+		}
+
+		@Override
+		protected void visit(BinaryTreeNode<E> node, int depth) {
+			count++;
+		}
+
+		@Override
+		protected void merge(Integer later) {
+			count += later;
+		}
+
+		@Override
+		protected Integer result() {
+			return count;
+		}
+	}
+
+	/**
+	 * Computes the deepest node of a subtree, where moving to a left child adds one level and
+	 * moving to a right child adds {@code rightStep} levels: 1 for binary trees and 0 for the
+	 * brothers of a general tree.
+	 */
+	private static class HeightTask<E> extends SubtreeTask<E, Integer> {
+		private static final long serialVersionUID = 1L;
+
+		private final int rightStep;
+		private int height;
+
+		HeightTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, int depth, int rightStep, BinaryTreeNode<E> stop, int level) {
+			super(operations, start, depth, rightStep, stop, level);
+			this.rightStep = rightStep;
+			this.height = depth;
+		}
+
+		@Override
+		protected SubtreeTask<E, Integer> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level) {
+			return new HeightTask<E>(operations, start, depth, rightStep, stop, level);
+		}
+
+		@Override
+		protected void visit(BinaryTreeNode<E> node, int depth) {
+			if(depth > height)
+				height = depth;
+		}
+
+		@Override
+		protected void merge(Integer later) {
+			if(later > height)
+				height = later;
+		}
+
+		@Override
+		protected Integer result() {
+			return height;
+		}
+	}
+
+	private static class LeavesTask<E> extends SubtreeTask<E, List<TreeNode<E>>> {
+		private static final long serialVersionUID = 1L;
+
+		private final boolean general;
+		private final List<TreeNode<E>> leaves;
+
+		LeavesTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, BinaryTreeNode<E> stop, int level, boolean general) {
+			super(operations, start, 0, 1, stop, level);
+			this.general = general;
+			this.leaves = new ArrayList<TreeNode<E>>();
+		}
+
+		@Override
+		protected SubtreeTask<E, List<TreeNode<E>>> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level) {
+			return new LeavesTask<E>(operations, start, stop, level, general);
+		}
+
+		@Override
+		protected void visit(BinaryTreeNode<E> node, int depth) {
+			if(node.getLeft() == null && (general || node.getRight() == null))
+				leaves.add(node);
+		}
+
+		@Override
+		protected void merge(List<TreeNode<E>> later) {
+			leaves.addAll(later);
+		}
+
+		@Override
+		protected List<TreeNode<E>> result() {
+			return leaves;
+		}
+	}
+
+	private static class FoldTask<E, R> extends SubtreeTask<E, R> {
+		private static final long serialVersionUID = 1L;
+
+		private final R identity;
+		private final Function<? super E, ? extends R> mapper;
+		private final BinaryOperator<R> combiner;
+		private R result;
+
+		FoldTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, BinaryTreeNode<E> stop, int level, R identity, Function<? super E, ? extends R> mapper, BinaryOperator<R> combiner) {
+			super(operations, start, 0, 1, stop, level);
+			this.identity = identity;
+			this.mapper = mapper;
+			this.combiner = combiner;
+			this.result = identity;
+		}
+
+		@Override
+		protected SubtreeTask<E, R> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level) {
+			return new FoldTask<E, R>(operations, start, stop, level, identity, mapper, combiner);
+		}
+
+		@Override
+		protected void visit(BinaryTreeNode<E> node, int depth) {
+			result = combiner.apply(result, mapper.apply(node.getInfo()));
+		}
+
+		@Override
+		protected void merge(R later) {
+			result = combiner.apply(result, later);
+		}
+
+		@Override
+		protected R result() {
+			return result;
+		}
+	}
+
+	private static class FindFirstTask<E> extends SubtreeTask<E, BinaryTreeNode<E>> {
+		private static final long serialVersionUID = 1L;
+
+		private final Predicate<? super E> predicate;
+		private BinaryTreeNode<E> found;
+
+		FindFirstTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, BinaryTreeNode<E> stop, int level, Predicate<? super E> predicate) {
+			super(operations, start, 0, 1, stop, level);
+			this.predicate = predicate;
+			this.found = null;
+		}
+
+		@Override
+		protected SubtreeTask<E, BinaryTreeNode<E>> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level) {
+			return new FindFirstTask<E>(operations, start, stop, level, predicate);
+		}
+
+		@Override
+		protected void visit(BinaryTreeNode<E> node, int depth) {
+			if(predicate.test(node.getInfo()))
+				found = node;
+		}
+
+		@Override
+		protected void merge(BinaryTreeNode<E> later) {
+			found = later;
+		}
+
+		@Override
+		protected BinaryTreeNode<E> result() {
+			return found;
+		}
+
+		@Override
+		protected boolean isFinished() {
+			return found != null;
+		}
+	}
+
+	private static class FindAnyTask<E> extends SubtreeTask<E, Void> {
+		private static final long serialVersionUID = 1L;
+
+		private final Predicate<? super E> predicate;
+		private final AtomicReference<BinaryTreeNode<E>> found;
+
+		FindAnyTask(ParallelTreeOperations operations, BinaryTreeNode<E> start, BinaryTreeNode<E> stop, int level, Predicate<? super E> predicate, AtomicReference<BinaryTreeNode<E>> found) {
+			super(operations, start, 0, 1, stop, level);
+			this.predicate = predicate;
+			this.found = found;
+		}
+
+		@Override
+		protected SubtreeTask<E, Void> create(BinaryTreeNode<E> start, int depth, BinaryTreeNode<E> stop, int level) {
+			return new FindAnyTask<E>(operations, start, stop, level, predicate, found);
+		}
+
+		@Override
+		protected void visit(BinaryTreeNode<E> node, int depth) {
+			if(predicate.test(node.getInfo()))
+				found.compareAndSet(null, node);
+		}
+
+		@Override
+		protected void merge(Void later) {
+		}
+
+		@Override
+		protected Void result() {
+			return null;
+		}
+
+		@Override
+		protected boolean isFinished() {
+			return found.get() != null;
+		}
+	}
+}